@@ -1,9 +1,12 @@
 package com.example.crm;
 
+import com.example.crm.repository.SliceableJpaRepository;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = SliceableJpaRepository.class)
 public class CrmApplication {
 
 	public static void main(String[] args) {
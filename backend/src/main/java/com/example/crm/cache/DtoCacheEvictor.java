@@ -0,0 +1,41 @@
+package com.example.crm.cache;
+
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.model.Note;
+import com.example.crm.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the cached DTOs that show an entity's state: the entity's own detail DTO and, for a customer,
+ * the owning user's DTO, which lists the user's customers.
+ */
+@Component
+public class DtoCacheEvictor {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public void evict(Object entity) {
+        switch (entity) {
+            case Customer customer -> {
+                evict(DtoCaches.CUSTOMERS, customer.getId());
+                if (customer.getUser() != null) {
+                    evict(DtoCaches.USERS, customer.getUser().getId());
+                }
+            }
+            case Deal deal -> evict(DtoCaches.DEALS, deal.getId());
+            case Note note -> evict(DtoCaches.NOTES, note.getId());
+            case User user -> evict(DtoCaches.USERS, user.getId());
+            default -> throw new IllegalArgumentException("No cached DTO for " + entity.getClass());
+        }
+    }
+
+    private void evict(String cacheName, Long id) {
+        if (id != null) {
+            cacheManager.getCache(cacheName).evict(id);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.crm.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static com.example.crm.util.TransactionCallbacks.afterCommit;
+
+/**
+ * JPA entity listener that invalidates cached DTOs when an entity is created, updated or deleted, including
+ * rows removed by cascade. Entries are dropped after the transaction commits, so the next read loads the
+ * committed state and a rolled-back write leaves the cache alone. A read that loaded the old row just before
+ * the commit can still put it back; the cache's TTL bounds how long that lasts.
+ */
+public class DtoCacheListener {
+
+    // Absent in JPA test slices, which run without the DTO caches
+    @Autowired(required = false)
+    private DtoCacheEvictor dtoCacheEvictor;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (dtoCacheEvictor != null) {
+            afterCommit(() -> dtoCacheEvictor.evict(entity));
+        }
+    }
+}
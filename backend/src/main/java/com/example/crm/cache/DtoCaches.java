@@ -0,0 +1,20 @@
+package com.example.crm.cache;
+
+import java.util.List;
+
+/**
+ * Names of the caches that hold mapped detail DTOs by entity id. Each one is sized and expired on its own
+ * through crm.cache.dto.&lt;name&gt;.max-size and crm.cache.dto.&lt;name&gt;.ttl.
+ */
+public final class DtoCaches {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String DEALS = "deals";
+    public static final String NOTES = "notes";
+    public static final String USERS = "users";
+
+    public static final List<String> ALL = List.of(CUSTOMERS, DEALS, NOTES, USERS);
+
+    private DtoCaches() {
+    }
+}
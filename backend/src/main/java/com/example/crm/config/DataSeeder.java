@@ -1,80 +1,69 @@
 package com.example.crm.config;
 
-import com.example.crm.model.*;
-import com.example.crm.repository.*;
+import com.example.crm.metrics.PipelineMetricsInitializer;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.seed.SeedSettings;
+import com.example.crm.seed.SyntheticDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.password.PasswordEncoder;
-
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Set;
-import com.example.crm.model.Role;
-
 
+/**
+ * Fills an empty database with synthetic data at startup when crm.seed.enabled=true. The crm.seed.*
+ * properties set the size and shape of the dataset; a database that already has customers is left alone.
+ */
 @Configuration
 public class DataSeeder {
-/*
-    @Bean
-    public CommandLineRunner seedDatabase(UserRepository userRepo, CustomerRepository customerRepo, 
-                                          DealRepository dealRepo, TaskRepository taskRepo, 
-                                          ContactRepository contactRepo, NoteRepository noteRepo,
-                                          PasswordEncoder passwordEncoder) {
-        return args -> {
-           User admin = new User();
-           admin.setUsername("manager1");
-           admin.setEmail("manager1@example.com");
-           admin.setPassword(passwordEncoder.encode("password"));
-           admin.setRoles(Set.of(Role.ADMIN));
-           userRepo.save(admin);
 
-            Customer customer = new Customer();
-            customer.setName("John Doe");
-            customer.setEmail("john@example.com");
-            customer.setPhone("1234567890");
-            customer.setCompanyName("Doe Inc.");
-            customer.setCity("New York");
-            customer.setState("NY");
-            customer.setCountry("USA");
-            customer.setPostalCode("10001");
-            customer.setCreatedDate(LocalDateTime.now());
-            customer.setLastUpdated(LocalDateTime.now());
-            customer.setUser(admin);
-            customerRepo.save(customer);
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    @Value("${crm.seed.seed:42}")
+    private long seed;
+
+    @Value("${crm.seed.users:500}")
+    private int users;
+
+    @Value("${crm.seed.customers:200000}")
+    private int customers;
 
-            Deal deal = new Deal();
-            deal.setDealName("Website Development");
-            deal.setAmount(5000.0);
-            deal.setStage("Negotiation");
-            deal.setDealDate(LocalDate.now());
-            deal.setPriority("High");
-            deal.setCustomer(customer);
-            dealRepo.save(deal);
+    @Value("${crm.seed.contacts-per-customer:2}")
+    private double contactsPerCustomer;
 
-            Task task = new Task();
-            task.setDescription("Follow up with John");
-            task.setDueDate(LocalDate.now().plusDays(5));
-            task.setStatus("Pending");
-            task.setPriority("High");
-            task.setCustomer(customer);
-            taskRepo.save(task);
+    @Value("${crm.seed.deals-per-customer:3}")
+    private double dealsPerCustomer;
 
-            Contact contact = new Contact();
-            contact.setName("Jane Smith");
-            contact.setEmail("jane@example.com");
-            contact.setPhone("0987654321");
-            contact.setPosition("Manager");
-            contact.setCustomer(customer);
-            contactRepo.save(contact);
+    @Value("${crm.seed.tasks-per-customer:2}")
+    private double tasksPerCustomer;
 
-            Note note = new Note();
-            note.setContent("Met with John to discuss requirements.");
-            note.setCreatedAt(LocalDateTime.now());
-            note.setCustomer(customer);
-            note.setDeal(deal);
-            noteRepo.save(note);
+    @Value("${crm.seed.notes-per-customer:3}")
+    private double notesPerCustomer;
+
+    @Value("${crm.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${crm.seed.threads:4}")
+    private int threads;
+
+    @Value("${crm.seed.user-password:password}")
+    private String userPassword;
+
+    @Bean
+    @ConditionalOnProperty(name = "crm.seed.enabled", havingValue = "true")
+    public CommandLineRunner seedDatabase(SyntheticDataGenerator generator, CustomerRepository customerRepository,
+                                         PipelineMetricsInitializer pipelineMetricsInitializer) {
+        return args -> {
+            if (customerRepository.count() > 0) {
+                logger.info("Database already has customers, not generating synthetic data");
+                return;
+            }
+            generator.generate(new SeedSettings(seed, users, customers, contactsPerCustomer, dealsPerCustomer,
+                    tasksPerCustomer, notesPerCustomer, batchSize, threads, userPassword));
+            // The metrics were read before this runner; the search index is built after it, on ApplicationReadyEvent
+            pipelineMetricsInitializer.afterSingletonsInstantiated();
         };
-    }*/
-}
\ No newline at end of file
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.crm.config;
+
+import com.example.crm.cache.DtoCaches;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-through caches for the detail DTOs returned by the services' get-by-id methods. The caching advice
+ * runs outside the transactional advice, so a hit costs neither a transaction nor a connection.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class DtoCacheConfig {
+
+    private static final long DEFAULT_MAX_SIZE = 10_000;
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    @Autowired
+    private Environment environment;
+
+    /**
+     * One bounded Caffeine cache per entity, sized and expired by crm.cache.dto.&lt;name&gt;.max-size and .ttl
+     * (max-size 0 turns caching off for that entity). Caches not listed in {@link DtoCaches} are not created
+     * on demand, so a misspelt cache name fails instead of growing without bound.
+     */
+    @Bean
+    public CacheManager dtoCacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of());
+        for (String name : DtoCaches.ALL) {
+            String prefix = "crm.cache.dto." + name;
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumSize(environment.getProperty(prefix + ".max-size", Long.class, DEFAULT_MAX_SIZE))
+                    .expireAfterWrite(environment.getProperty(prefix + ".ttl", Duration.class, DEFAULT_TTL))
+                    .recordStats()
+                    .build());
+        }
+        return cacheManager;
+    }
+}
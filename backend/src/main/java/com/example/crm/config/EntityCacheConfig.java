@@ -0,0 +1,71 @@
+package com.example.crm.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed regions for Hibernate's second-level cache. Entities that are looked up by id far more often
+ * than they change (customers and users: every deal, note, contact and task points at them) are kept in memory
+ * between transactions, bounded by entry count and evicted a fixed time after they were loaded or updated.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    private static final String CUSTOMERS_REGION = "customers";
+    private static final String USERS_REGION = "users";
+
+    @Value("${crm.cache.entity.customers.max-size:10000}")
+    private long customersMaxSize;
+
+    @Value("${crm.cache.entity.customers.ttl:10m}")
+    private Duration customersTtl;
+
+    @Value("${crm.cache.entity.users.max-size:1000}")
+    private long usersMaxSize;
+
+    @Value("${crm.cache.entity.users.ttl:10m}")
+    private Duration usersTtl;
+
+    /**
+     * A cache manager of its own rather than the provider's shared default, because Hibernate closes the
+     * manager when the persistence unit shuts down.
+     */
+    @Bean(name = "entityCacheManager")
+    public CacheManager entityCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("crm-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(CUSTOMERS_REGION, region(customersMaxSize, customersTtl));
+        cacheManager.createCache(USERS_REGION, region(usersMaxSize, usersTtl));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            // Every cached entity names one of the regions above; an unknown region is a mapping mistake
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.crm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+@Configuration
+public class SearchExecutorConfig {
+
+    @Value("${crm.search.executor.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    @Value("${crm.search.executor.pool-size:6}")
+    private int poolSize;
+
+    @Value("${crm.search.max-concurrent-queries:4}")
+    private int maxConcurrentQueries;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    /**
+     * Executor used by the global search to query every entity type at the same time.
+     * Virtual threads by default; set crm.search.executor.virtual-threads=false to use a bounded pool instead.
+     */
+    @Bean(name = "searchExecutor", destroyMethod = "shutdown")
+    public ExecutorService searchExecutor() {
+        if (virtualThreads) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(poolSize);
+    }
+
+    /**
+     * Permits for global search queries shared by all requests. Each entity search holds a connection
+     * while it runs, so at least one connection is always left for the rest of the API.
+     */
+    @Bean(name = "searchPermits")
+    public Semaphore searchPermits() {
+        return new Semaphore(Math.max(1, Math.min(maxConcurrentQueries, connectionPoolSize - 1)), true);
+    }
+}
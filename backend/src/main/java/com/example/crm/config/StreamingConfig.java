@@ -0,0 +1,38 @@
+package com.example.crm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class StreamingConfig implements WebMvcConfigurer {
+
+    @Value("${crm.export.executor.pool-size:4}")
+    private int poolSize;
+
+    @Value("${crm.export.executor.queue-capacity:50}")
+    private int queueCapacity;
+
+    /**
+     * Executor that writes the MVC async responses (the exports). Each running export holds a
+     * database connection until the client has read it all, so the pool stays well below the connection
+     * pool size; further exports queue, and are rejected once the queue is full.
+     */
+    @Bean(name = "streamingExecutor")
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("streaming-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor());
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.crm.controller;
 
 import com.example.crm.dto.ContactDTO;
+import com.example.crm.dto.ContactFilterDTO;
+import com.example.crm.dto.PageDTO;
 import com.example.crm.service.ContactService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +29,7 @@ public class ContactController {
         return new ResponseEntity<>(createdContact, HttpStatus.CREATED);
     }
 
+    @Deprecated
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/allContact")
     public ResponseEntity<List<ContactDTO>> getAllContacts() {
@@ -31,6 +37,15 @@ public class ContactController {
         return new ResponseEntity<>(contacts, HttpStatus.OK);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
+    @GetMapping("/page")
+    public ResponseEntity<PageDTO<ContactDTO>> getContactPage(ContactFilterDTO filter,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        Slice<ContactDTO> contacts = contactService.getContacts(filter, pageable, withTotal);
+        return new ResponseEntity<>(PageDTO.of(contacts), HttpStatus.OK);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT', 'USER')")
 @GetMapping("/{id}")
     public ResponseEntity<ContactDTO> getContactById(@PathVariable Long id) {
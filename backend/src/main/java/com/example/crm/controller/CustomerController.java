@@ -1,8 +1,13 @@
 package com.example.crm.controller;
 
 import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.CustomerFilterDTO;
+import com.example.crm.dto.PageDTO;
 import com.example.crm.service.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +29,7 @@ public class CustomerController {
         return new ResponseEntity<>(createdCustomer, HttpStatus.CREATED);
     }
 
+    @Deprecated
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/allCustomers")
     public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
@@ -31,6 +37,15 @@ public class CustomerController {
         return new ResponseEntity<>(customers, HttpStatus.OK);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
+    @GetMapping("/page")
+    public ResponseEntity<PageDTO<CustomerDTO>> getCustomerPage(CustomerFilterDTO filter,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        Slice<CustomerDTO> customers = customerService.getCustomers(filter, pageable, withTotal);
+        return new ResponseEntity<>(PageDTO.of(customers), HttpStatus.OK);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT', 'USER')")
     @GetMapping("/getByCustomerId/{id}")
     public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable Long id) {
@@ -55,14 +70,14 @@ public class CustomerController {
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/searchByName")
     public ResponseEntity<List<CustomerDTO>> searchCustomersByName(@RequestParam String name) {
-        List<CustomerDTO> customers = customerService.searchCustomersByName(name);
+        List<CustomerDTO> customers = customerService.searchByName(name);
         return new ResponseEntity<>(customers, HttpStatus.OK);
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/search/global")
     public ResponseEntity<List<CustomerDTO>> globalSearch(@RequestParam String query) {
-        List<CustomerDTO> customers = customerService.searchCustomersByName(query);
+        List<CustomerDTO> customers = customerService.searchByName(query);
         return new ResponseEntity<>(customers, HttpStatus.OK);
     }
 
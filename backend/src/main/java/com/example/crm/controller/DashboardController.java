@@ -0,0 +1,34 @@
+package com.example.crm.controller;
+
+import com.example.crm.dto.DashboardSummaryDTO;
+import com.example.crm.dto.PipelineMetricsDTO;
+import com.example.crm.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDTO> getSummary() {
+        DashboardSummaryDTO summary = dashboardService.getSummary();
+        return new ResponseEntity<>(summary, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
+    @GetMapping("/pipeline")
+    public ResponseEntity<PipelineMetricsDTO> getPipeline() {
+        PipelineMetricsDTO pipeline = dashboardService.getPipeline();
+        return new ResponseEntity<>(pipeline, HttpStatus.OK);
+    }
+}
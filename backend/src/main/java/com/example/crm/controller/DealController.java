@@ -1,8 +1,14 @@
 package com.example.crm.controller;
 
+import com.example.crm.dto.CursorPageDTO;
 import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.DealFilterDTO;
+import com.example.crm.dto.PageDTO;
 import com.example.crm.service.DealService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +30,7 @@ public class DealController {
         return new ResponseEntity<>(createdDeal, HttpStatus.CREATED);
     }
 
+    @Deprecated
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/getAllDeals")
     public ResponseEntity<List<DealDTO>> getAllDeals(
@@ -33,17 +40,35 @@ public class DealController {
         
         List<DealDTO> deals;
         
-        if (customerId != null) {
+        if (sortBy != null && sortOrder != null) {
+            deals = dealService.getSortedDeals(customerId, sortBy, sortOrder);
+        } else if (customerId != null) {
             deals = dealService.getDealsByCustomerId(customerId);
         } else {
             deals = dealService.getAllDeals();
         }
         
-        // Handle sorting
-        if (sortBy != null && sortOrder != null) {
-            deals = dealService.sortDeals(deals, sortBy, sortOrder);
-        }
-        
+        return new ResponseEntity<>(deals, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
+    @GetMapping("/page")
+    public ResponseEntity<PageDTO<DealDTO>> getDealPage(DealFilterDTO filter,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        Slice<DealDTO> deals = dealService.getDeals(filter, pageable, withTotal);
+        return new ResponseEntity<>(PageDTO.of(deals), HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
+    @GetMapping("/seek")
+    public ResponseEntity<CursorPageDTO<DealDTO>> getDealsAfter(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(defaultValue = "dealDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        CursorPageDTO<DealDTO> deals = dealService.getDealsAfter(customerId, sortBy, sortOrder, size, cursor);
         return new ResponseEntity<>(deals, HttpStatus.OK);
     }
 
@@ -0,0 +1,82 @@
+package com.example.crm.controller;
+
+import com.example.crm.exception.BadRequestException;
+import com.example.crm.exporter.ExportFormat;
+import com.example.crm.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+/**
+ * Full-table exports as CSV (default) or NDJSON (?format=ndjson). The body is written on the MVC async
+ * executor while rows are read from the database, so the response starts before the export is complete.
+ * A download may take up to crm.export.timeout; other async requests keep the server's default timeout.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${crm.export.timeout:1h}")
+    private Duration timeout;
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/customers")
+    public WebAsyncTask<Void> exportCustomers(@RequestParam(defaultValue = "csv") String format,
+                                              HttpServletResponse response) {
+        ExportFormat exportFormat = parseFormat(format);
+        return stream("customers", exportFormat, response, out -> exportService.exportCustomers(exportFormat, out));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/deals")
+    public WebAsyncTask<Void> exportDeals(@RequestParam(defaultValue = "csv") String format,
+                                          HttpServletResponse response) {
+        ExportFormat exportFormat = parseFormat(format);
+        return stream("deals", exportFormat, response, out -> exportService.exportDeals(exportFormat, out));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/notes")
+    public WebAsyncTask<Void> exportNotes(@RequestParam(defaultValue = "csv") String format,
+                                          HttpServletResponse response) {
+        ExportFormat exportFormat = parseFormat(format);
+        return stream("notes", exportFormat, response, out -> exportService.exportNotes(exportFormat, out));
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (exportFormat == null) {
+            throw new BadRequestException("Unsupported export format: " + format + " (expected csv or ndjson)");
+        }
+        return exportFormat;
+    }
+
+    // A WebAsyncTask rather than a StreamingResponseBody return value so the timeout applies to this request only
+    private WebAsyncTask<Void> stream(String name, ExportFormat format, HttpServletResponse response,
+                                      StreamingResponseBody body) {
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build()
+                .toString());
+        return new WebAsyncTask<>(timeout.toMillis(), () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.crm.controller;
 
+import com.example.crm.dto.CompletionDTO;
+import com.example.crm.dto.GlobalSearchDTO;
+import com.example.crm.dto.SearchPageDTO;
 import com.example.crm.service.GlobalSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -18,11 +21,34 @@ public class GlobalSearchController {
 
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT', 'USER')")
     @GetMapping("/global")
-    public ResponseEntity<List<Object>> globalSearch(@RequestParam String query) {
-        List<Object> results = globalSearchService.globalSearch(query);
+    public ResponseEntity<GlobalSearchDTO> globalSearch(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "50") int perTypeLimit) {
+        GlobalSearchDTO results = globalSearchService.globalSearch(query, perTypeLimit);
         return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT', 'USER')")
+    @GetMapping("/ranked")
+    public ResponseEntity<SearchPageDTO> rankedSearch(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "50") int perTypeLimit,
+            @RequestParam(required = false) String cursor) {
+        SearchPageDTO page = globalSearchService.rankedSearch(query, limit, perTypeLimit, cursor);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    // Typeahead over customer names, company names and contact names and emails
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT', 'USER')")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<CompletionDTO>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<CompletionDTO> completions = globalSearchService.autocomplete(prefix, limit);
+        return new ResponseEntity<>(completions, HttpStatus.OK);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT', 'USER')")
     @GetMapping("/customers")
     public ResponseEntity<List<?>> searchCustomers(@RequestParam String query) {
@@ -0,0 +1,92 @@
+package com.example.crm.controller;
+
+import com.example.crm.dto.ImportResultDTO;
+import com.example.crm.importer.ImportFormat;
+import com.example.crm.service.BulkImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Bulk imports. Each endpoint streams the request body as a JSON array, NDJSON or CSV (with a header line
+ * naming the DTO properties), picked by Content-Type, so the upload is never held in memory.
+ * Progress of a running import and the full list of rejected rows are available under /jobs.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PostMapping(value = "/customers", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            ImportFormat.X_NDJSON_VALUE, ImportFormat.CSV_VALUE})
+    public ResponseEntity<ImportResultDTO> importCustomers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) {
+        ImportResultDTO result = bulkImportService.importCustomers(body, ImportFormat.fromContentType(contentType));
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PostMapping(value = "/contacts", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            ImportFormat.X_NDJSON_VALUE, ImportFormat.CSV_VALUE})
+    public ResponseEntity<ImportResultDTO> importContacts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          InputStream body) {
+        ImportResultDTO result = bulkImportService.importContacts(body, ImportFormat.fromContentType(contentType));
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PostMapping(value = "/deals", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            ImportFormat.X_NDJSON_VALUE, ImportFormat.CSV_VALUE})
+    public ResponseEntity<ImportResultDTO> importDeals(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                       InputStream body) {
+        ImportResultDTO result = bulkImportService.importDeals(body, ImportFormat.fromContentType(contentType));
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PostMapping(value = "/tasks", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            ImportFormat.X_NDJSON_VALUE, ImportFormat.CSV_VALUE})
+    public ResponseEntity<ImportResultDTO> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                       InputStream body) {
+        ImportResultDTO result = bulkImportService.importTasks(body, ImportFormat.fromContentType(contentType));
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/jobs")
+    public ResponseEntity<List<ImportResultDTO>> getImports() {
+        List<ImportResultDTO> imports = bulkImportService.getImports();
+        return new ResponseEntity<>(imports, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ImportResultDTO> getImport(@PathVariable String jobId) {
+        ImportResultDTO result = bulkImportService.getImport(jobId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/jobs/{jobId}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String jobId) {
+        Resource errors = new FileSystemResource(bulkImportService.getImportErrors(jobId));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(ImportFormat.CSV_VALUE));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("import-" + jobId + "-errors.csv").build());
+        return new ResponseEntity<>(errors, headers, HttpStatus.OK);
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.crm.controller;
 
 import com.example.crm.dto.NoteDTO;
+import com.example.crm.dto.NoteFilterDTO;
+import com.example.crm.dto.PageDTO;
 import com.example.crm.service.NoteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +29,7 @@ public class NoteController {
         return new ResponseEntity<>(createdNote, HttpStatus.CREATED);
     }
 
+    @Deprecated
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/getAllNotes")
     public ResponseEntity<List<NoteDTO>> getAllNotes() {
@@ -31,6 +37,15 @@ public class NoteController {
         return new ResponseEntity<>(notes, HttpStatus.OK);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
+    @GetMapping("/page")
+    public ResponseEntity<PageDTO<NoteDTO>> getNotePage(NoteFilterDTO filter,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        Slice<NoteDTO> notes = noteService.getNotes(filter, pageable, withTotal);
+        return new ResponseEntity<>(PageDTO.of(notes), HttpStatus.OK);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/{id}")
     public ResponseEntity<NoteDTO> getNoteById(@PathVariable Long id) {
@@ -0,0 +1,28 @@
+package com.example.crm.controller;
+
+import com.example.crm.dto.QueryBudgetDTO;
+import com.example.crm.service.QueryBudgetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sql/budgets")
+public class QueryBudgetController {
+
+    @Autowired
+    private QueryBudgetService queryBudgetService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<List<QueryBudgetDTO>> getQueryBudgets() {
+        List<QueryBudgetDTO> budgets = queryBudgetService.getQueryBudgets();
+        return new ResponseEntity<>(budgets, HttpStatus.OK);
+    }
+}
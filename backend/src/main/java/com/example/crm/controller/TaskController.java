@@ -1,8 +1,13 @@
 package com.example.crm.controller;
 
 import com.example.crm.dto.TaskDTO;
+import com.example.crm.dto.TaskFilterDTO;
+import com.example.crm.dto.PageDTO;
 import com.example.crm.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,6 +29,7 @@ public class TaskController {
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
+    @Deprecated
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/getAllTask")
     public ResponseEntity<List<TaskDTO>> getAllTasks() {
@@ -31,6 +37,15 @@ public class TaskController {
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
+    @GetMapping("/page")
+    public ResponseEntity<PageDTO<TaskDTO>> getTaskPage(TaskFilterDTO filter,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        Slice<TaskDTO> tasks = taskService.getTasks(filter, pageable, withTotal);
+        return new ResponseEntity<>(PageDTO.of(tasks), HttpStatus.OK);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'SUPPORT')")
     @GetMapping("/getTaskById/{id}")
     public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
@@ -0,0 +1,14 @@
+package com.example.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionDTO {
+    private String entityType; // "Customer" or "Contact"
+    private Long id;
+    private String label; // the completed value: a name, company name or email
+}
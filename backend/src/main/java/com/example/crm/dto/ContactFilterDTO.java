@@ -0,0 +1,11 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+
+@Data
+public class ContactFilterDTO {
+    private String name;
+    private String email;
+    private String position;
+    private Long customerId;
+}
@@ -0,0 +1,13 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+
+@Data
+public class CustomerFilterDTO {
+    private String name;
+    private String companyName;
+    private String city;
+    private String state;
+    private String country;
+    private Long userId;
+}
@@ -0,0 +1,28 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class DashboardSummaryDTO {
+    private long totalCustomers;
+    private long totalContacts;
+    private long totalDeals;
+    private long openDeals;
+    private double pipelineValue;
+    private long totalTasks;
+    private long pendingTasks;
+
+    private Map<String, Long> dealsByStage = new LinkedHashMap<>();
+    private Map<String, Double> pipelineValueByStage = new LinkedHashMap<>();
+    private Map<String, Long> tasksByStatus = new LinkedHashMap<>();
+    private Map<String, Long> tasksByPriority = new LinkedHashMap<>();
+
+    // When these figures were read from the database; may be up to the cache TTL old
+    private LocalDateTime generatedAt;
+}
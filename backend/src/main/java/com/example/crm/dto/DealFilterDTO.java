@@ -0,0 +1,22 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class DealFilterDTO {
+    private String dealName;
+    private String stage;
+    private String priority;
+    private Long customerId;
+    private Double minAmount;
+    private Double maxAmount;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dealDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dealDateTo;
+}
@@ -0,0 +1,21 @@
+package com.example.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GlobalSearchDTO {
+    private List<SearchResultDTO> results;
+
+    // Entity types missing from the results because their search ran out of time or failed
+    private List<String> timedOut;
+    private List<String> failed;
+
+    // Entity types with more matches than the per-type limit; only the first perTypeLimit are in the results
+    private List<String> truncated;
+}
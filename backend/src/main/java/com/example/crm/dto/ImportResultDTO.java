@@ -0,0 +1,26 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportResultDTO {
+    private String jobId;
+    private String entityType;
+    private String format;
+    private String status;
+    private String message;
+    private long received;
+    private long imported;
+    private long failed;
+    private long bytesRead;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Only the first errors are kept here; the job's error file lists all of them
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+}
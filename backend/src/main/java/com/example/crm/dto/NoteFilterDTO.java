@@ -0,0 +1,10 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+
+@Data
+public class NoteFilterDTO {
+    private String content;
+    private Long customerId;
+    private Long dealId;
+}
@@ -0,0 +1,19 @@
+package com.example.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PipelineMetricsDTO {
+    private Map<String, PipelineTotalDTO> byStage;
+    private Map<Long, PipelineTotalDTO> byCustomer;
+
+    // Keyed by deal month, e.g. "2024-03"; deals without a date are not counted here
+    private Map<YearMonth, PipelineTotalDTO> byMonth;
+}
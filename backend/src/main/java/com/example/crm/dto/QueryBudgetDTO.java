@@ -0,0 +1,20 @@
+package com.example.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryBudgetDTO {
+    private String endpoint;
+    private int budget;
+    private long requests;
+    private double meanStatements;
+    private long maxStatements;
+    private double meanSqlMillis;
+    private long overBudget;
+    private long suspectedNPlusOne;
+    private long slowStatements;
+}
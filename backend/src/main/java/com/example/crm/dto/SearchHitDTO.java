@@ -0,0 +1,15 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+
+@Data
+public class SearchHitDTO {
+    private String entityType; // e.g., "Customer", "Deal", "Note"
+    private Long id;
+    private String label;
+    private double score;
+
+    // Matched range within label, end exclusive
+    private int highlightStart;
+    private int highlightEnd;
+}
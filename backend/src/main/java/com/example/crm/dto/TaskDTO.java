@@ -2,9 +2,11 @@ package com.example.crm.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class TaskDTO {
     private Long id;
 
@@ -23,4 +25,16 @@ public class TaskDTO {
     
     private Long assignedUserId;
     private String assignedUserName;
+
+    // Used by the JPQL constructor projections in TaskRepository
+    public TaskDTO(Long id, String description, LocalDate dueDate, String status, String priority,
+                   Long customerId, String customerName) {
+        this.id = id;
+        this.description = description;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.priority = priority;
+        this.customerId = customerId;
+        this.customerName = customerName;
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class TaskFilterDTO {
+    private String description;
+    private String status;
+    private String priority;
+    private Long customerId;
+    private Long assignedUserId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueDateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueDateTo;
+}
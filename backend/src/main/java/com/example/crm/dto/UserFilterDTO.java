@@ -0,0 +1,9 @@
+package com.example.crm.dto;
+
+import lombok.Data;
+
+@Data
+public class UserFilterDTO {
+    private String username;
+    private String email;
+}
@@ -0,0 +1,37 @@
+package com.example.crm.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// CSV with a header line naming the DTO properties; empty cells are read as missing values
+class CsvRowReader implements ImportRowReader {
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build();
+
+    private final MappingIterator<JsonNode> rows;
+
+    CsvRowReader(InputStream in) throws IOException {
+        rows = CSV_MAPPER.readerFor(JsonNode.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(in);
+    }
+
+    @Override
+    public Row next() throws IOException {
+        return rows.hasNextValue() ? new Row(rows.nextValue(), null) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        rows.close();
+    }
+}
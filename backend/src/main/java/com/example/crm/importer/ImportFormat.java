@@ -0,0 +1,39 @@
+package com.example.crm.importer;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Upload formats accepted by the bulk import endpoints, chosen by the request's Content-Type.
+ */
+public enum ImportFormat {
+    JSON,
+    NDJSON,
+    CSV;
+
+    public static final String CSV_VALUE = "text/csv";
+    public static final String X_NDJSON_VALUE = "application/x-ndjson";
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return JSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                || mediaType.isCompatibleWith(MediaType.parseMediaType(X_NDJSON_VALUE))) {
+            return NDJSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))) {
+            return CSV;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.crm.importer;
+
+import com.example.crm.dto.ImportErrorDTO;
+import com.example.crm.dto.ImportResultDTO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import. Written by the request thread doing the import and read by
+ * anyone polling the job, so every counter is safe to read while the import runs.
+ * Rejected rows are appended to a CSV error file (row,message) as they are found; only the
+ * first few are also kept in memory for the response.
+ */
+public class ImportJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        // Stopped on input that could not be read past; rows before it were imported
+        ABORTED,
+        FAILED
+    }
+
+    static final int MAX_INLINE_ERRORS = 100;
+
+    private final String id;
+    private final String entityType;
+    private final ImportFormat format;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final Path errorFile;
+    private final Writer errorWriter;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final List<ImportErrorDTO> inlineErrors = new ArrayList<>();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    ImportJob(String id, String entityType, ImportFormat format, Path errorFile) throws IOException {
+        this.id = id;
+        this.entityType = entityType;
+        this.format = format;
+        this.errorFile = errorFile;
+        this.errorWriter = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8);
+        errorWriter.write("row,message\n");
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Path getErrorFile() {
+        return errorFile;
+    }
+
+    /**
+     * Wraps the upload so bytesRead follows the import through the body.
+     */
+    public InputStream track(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesRead.incrementAndGet();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    bytesRead.addAndGet(n);
+                }
+                return n;
+            }
+        };
+    }
+
+    /**
+     * Counts a record read from the upload and returns its 1-based row number.
+     */
+    public long nextRow() {
+        return received.incrementAndGet();
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getImported() {
+        return imported.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public void imported(int rows) {
+        imported.addAndGet(rows);
+    }
+
+    public void reject(long row, String message) {
+        failed.incrementAndGet();
+        synchronized (inlineErrors) {
+            if (inlineErrors.size() < MAX_INLINE_ERRORS) {
+                inlineErrors.add(new ImportErrorDTO(row, message));
+            }
+        }
+        try {
+            errorWriter.write(row + "," + csvField(message) + "\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void finish(Status status, String message) {
+        try {
+            errorWriter.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public ImportResultDTO toResult() {
+        ImportResultDTO result = new ImportResultDTO();
+        result.setJobId(id);
+        result.setEntityType(entityType);
+        result.setFormat(format.name());
+        result.setStatus(status.name());
+        result.setMessage(message);
+        result.setReceived(received.get());
+        result.setImported(imported.get());
+        result.setFailed(failed.get());
+        result.setBytesRead(bytesRead.get());
+        result.setStartedAt(startedAt);
+        result.setFinishedAt(finishedAt);
+        synchronized (inlineErrors) {
+            List<ImportErrorDTO> errors = new ArrayList<>(inlineErrors);
+            errors.sort(Comparator.comparingLong(ImportErrorDTO::getRow));
+            result.setErrors(errors);
+        }
+        return result;
+    }
+
+    void deleteErrorFile() {
+        try {
+            Files.deleteIfExists(errorFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String csvField(String value) {
+        return "\"" + value.replace("\"", "\"\"").replace('\n', ' ').replace('\r', ' ') + "\"";
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.crm.importer;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Running and recently finished bulk imports, so progress and error files can be fetched
+ * from other requests. Only the last crm.import.retained-jobs finished jobs are kept;
+ * older ones are dropped together with their error files.
+ */
+@Component
+public class ImportJobRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobRegistry.class);
+
+    @Value("${crm.import.retained-jobs:20}")
+    private int retainedJobs;
+
+    // Insertion order is start order, so the oldest finished jobs are evicted first
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public ImportJob start(String entityType, ImportFormat format) {
+        String id = UUID.randomUUID().toString();
+        ImportJob job;
+        try {
+            job = new ImportJob(id, entityType, format, Files.createTempFile("crm-import-" + id + "-", ".csv"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        synchronized (jobs) {
+            jobs.put(id, job);
+            evictFinished();
+        }
+        return job;
+    }
+
+    public Optional<ImportJob> find(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    public List<ImportJob> list() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    private void evictFinished() {
+        long finished = jobs.values().stream().filter(ImportJob::isFinished).count();
+        Iterator<ImportJob> iterator = jobs.values().iterator();
+        while (finished > retainedJobs && iterator.hasNext()) {
+            ImportJob job = iterator.next();
+            if (job.isFinished()) {
+                iterator.remove();
+                job.deleteErrorFile();
+                finished--;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void deleteErrorFiles() {
+        synchronized (jobs) {
+            for (ImportJob job : jobs.values()) {
+                try {
+                    job.deleteErrorFile();
+                } catch (UncheckedIOException ex) {
+                    logger.warn("Could not delete import error file {}: {}", job.getErrorFile(), ex.getMessage());
+                }
+            }
+            jobs.clear();
+        }
+    }
+}
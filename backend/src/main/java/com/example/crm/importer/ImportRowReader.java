@@ -0,0 +1,36 @@
+package com.example.crm.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads an upload one record at a time, so only the current row is ever held in memory.
+ * Rows come back as JSON trees whatever the format, ready to bind onto the entity's DTO.
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * A record from the upload: the parsed row, or the reason a single record could not be parsed
+     * when the format allows reading on past it.
+     */
+    record Row(JsonNode node, String error) {
+    }
+
+    /**
+     * Returns the next row, or null at the end of the input.
+     * Throws JsonProcessingException when the input is malformed in a way nothing after it can be read.
+     */
+    Row next() throws IOException;
+
+    static ImportRowReader open(ImportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case JSON -> new JsonArrayRowReader(in, objectMapper);
+            case NDJSON -> new NdjsonRowReader(in, objectMapper);
+            case CSV -> new CsvRowReader(in);
+        };
+    }
+}
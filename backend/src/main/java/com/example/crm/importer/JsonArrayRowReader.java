@@ -0,0 +1,42 @@
+package com.example.crm.importer;
+
+import com.example.crm.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// A single JSON array of row objects
+class JsonArrayRowReader implements ImportRowReader {
+
+    private final JsonParser parser;
+
+    JsonArrayRowReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        parser = objectMapper.createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new BadRequestException("Expected a JSON array of rows");
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token == null) {
+            throw new JsonEOFException(parser, null, "Unexpected end of input");
+        }
+        // Reading each element as a tree keeps the parser in place even if the row later fails to bind
+        return new Row(parser.readValueAsTree(), null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
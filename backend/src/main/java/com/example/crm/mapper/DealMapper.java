@@ -13,6 +13,7 @@ public interface DealMapper {
     DealDTO toDto(Deal deal);
     
     @Mapping(source = "customerId", target = "customer.id")
+    @Mapping(target = "pipelineFacts", ignore = true)
     Deal toEntity(DealDTO dealDTO);
 
 }
@@ -0,0 +1,13 @@
+package com.example.crm.metrics;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the deal columns {@link PipelineMetrics} aggregates on, so seeding does not load whole entities.
+ */
+public interface PipelineFacts {
+    String getStage();
+    Long getCustomerId();
+    LocalDate getDealDate();
+    Double getAmount();
+}
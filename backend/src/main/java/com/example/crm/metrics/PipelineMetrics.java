@@ -0,0 +1,130 @@
+package com.example.crm.metrics;
+
+import com.example.crm.dto.PipelineTotalDTO;
+import com.example.crm.model.Deal;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deal count and amount totals per stage, per customer and per month, kept in memory.
+ * Seeded once from the database and then adjusted on every deal create, update and delete
+ * ({@link PipelineMetricsListener}, cascades included) and bulk import, so pipeline reports never scan the
+ * deals table. Updates are lock-free adders; a reader may briefly
+ * see a count and sum from either side of a concurrent update.
+ */
+@Component
+public class PipelineMetrics {
+
+    static final String UNSET_STAGE = "Unspecified";
+
+    private final Map<String, Totals> byStage = new ConcurrentHashMap<>();
+    private final Map<Long, Totals> byCustomer = new ConcurrentHashMap<>();
+    private final Map<YearMonth, Totals> byMonth = new ConcurrentHashMap<>();
+
+    /**
+     * The parts of a deal the metrics are keyed on. Capture it before changing a deal,
+     * since the entity is mutated in place.
+     */
+    public record DealFacts(String stage, Long customerId, YearMonth month, double amount) {
+
+        public static DealFacts of(Deal deal) {
+            return of(deal.getStage(), deal.getCustomer() == null ? null : deal.getCustomer().getId(),
+                    deal.getDealDate(), deal.getAmount());
+        }
+
+        public static DealFacts of(String stage, Long customerId, LocalDate dealDate, Double amount) {
+            return new DealFacts(stage == null ? UNSET_STAGE : stage, customerId,
+                    dealDate == null ? null : YearMonth.from(dealDate), amount == null ? 0.0 : amount);
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder amount = new DoubleAdder();
+
+        void apply(int sign, double value) {
+            count.add(sign);
+            amount.add(sign * value);
+        }
+
+        PipelineTotalDTO snapshot() {
+            return new PipelineTotalDTO(count.sum(), amount.sum());
+        }
+    }
+
+    public void add(DealFacts deal) {
+        apply(deal, 1);
+    }
+
+    public void remove(DealFacts deal) {
+        apply(deal, -1);
+    }
+
+    public void replace(DealFacts before, DealFacts after) {
+        remove(before);
+        add(after);
+    }
+
+    public PipelineTotalDTO stage(String stage) {
+        return snapshot(byStage.get(stage));
+    }
+
+    public PipelineTotalDTO customer(Long customerId) {
+        return snapshot(byCustomer.get(customerId));
+    }
+
+    public PipelineTotalDTO month(YearMonth month) {
+        return snapshot(byMonth.get(month));
+    }
+
+    public Map<String, PipelineTotalDTO> byStage() {
+        return snapshot(byStage);
+    }
+
+    public Map<Long, PipelineTotalDTO> byCustomer() {
+        return snapshot(byCustomer);
+    }
+
+    public Map<YearMonth, PipelineTotalDTO> byMonth() {
+        return snapshot(byMonth);
+    }
+
+    void clear() {
+        byStage.clear();
+        byCustomer.clear();
+        byMonth.clear();
+    }
+
+    private void apply(DealFacts deal, int sign) {
+        byStage.computeIfAbsent(deal.stage(), key -> new Totals()).apply(sign, deal.amount());
+        if (deal.customerId() != null) {
+            byCustomer.computeIfAbsent(deal.customerId(), key -> new Totals()).apply(sign, deal.amount());
+        }
+        if (deal.month() != null) {
+            byMonth.computeIfAbsent(deal.month(), key -> new Totals()).apply(sign, deal.amount());
+        }
+    }
+
+    private static PipelineTotalDTO snapshot(Totals totals) {
+        return totals == null ? new PipelineTotalDTO(0, 0.0) : totals.snapshot();
+    }
+
+    // Sorted by key; buckets whose deals have all gone are left out
+    private static <K extends Comparable<K>> Map<K, PipelineTotalDTO> snapshot(Map<K, Totals> totals) {
+        Map<K, PipelineTotalDTO> result = new TreeMap<>();
+        totals.forEach((key, value) -> {
+            PipelineTotalDTO total = value.snapshot();
+            if (total.getCount() > 0) {
+                result.put(key, total);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.crm.metrics;
+
+import com.example.crm.metrics.PipelineMetrics.DealFacts;
+import com.example.crm.repository.DealRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Seeds {@link PipelineMetrics} from the deals table. Runs once all singletons exist but before the
+ * web server starts, so no deal can be written through the API while the seed query is being read.
+ */
+@Component
+public class PipelineMetricsInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineMetricsInitializer.class);
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        List<PipelineFacts> deals = dealRepository.findAllPipelineFacts();
+        pipelineMetrics.clear();
+        deals.forEach(deal -> pipelineMetrics.add(
+                DealFacts.of(deal.getStage(), deal.getCustomerId(), deal.getDealDate(), deal.getAmount())));
+        logger.info("Pipeline metrics seeded from {} deals in {} ms", deals.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.crm.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * Times every call into a repository as crm.repository{repository, method, exception} and records how many
+ * rows it returned as crm.repository.rows{repository, method}. Covers the Spring Data interfaces and the
+ * JDBC/JPQL classes annotated with @Repository. Row counts are only recorded for results that can be
+ * counted without reading them: scalars (counts, sums, booleans) and streams are timed but not counted,
+ * and a stream's time covers opening the cursor, not reading it.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<MeterKey, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    @Around("execution(public * *(..)) && (target(org.springframework.data.repository.Repository) "
+            + "|| @within(org.springframework.stereotype.Repository))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        if (joinPoint.getSignature().getDeclaringType() == Object.class) {
+            return joinPoint.proceed();
+        }
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(),
+                type -> repositoryName(joinPoint.getTarget()));
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            boolean returnsValue = ((MethodSignature) joinPoint.getSignature()).getReturnType() != void.class;
+            long rows = returnsValue ? rows(result) : -1;
+            if (rows >= 0) {
+                rowSummaries.computeIfAbsent(new MeterKey(repository, method, null), this::rowSummary).record(rows);
+            }
+            return result;
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            timers.computeIfAbsent(new MeterKey(repository, method, exception), this::timer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MeterKey key) {
+        return Timer.builder("crm.repository")
+                .description("Repository method execution time")
+                .tag("repository", key.repository())
+                .tag("method", key.method())
+                .tag("exception", key.exception())
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary rowSummary(MeterKey key) {
+        return DistributionSummary.builder("crm.repository.rows")
+                .description("Rows returned by a repository method")
+                .baseUnit("rows")
+                .tag("repository", key.repository())
+                .tag("method", key.method())
+                .register(meterRegistry);
+    }
+
+    // exception is null for the row summaries, which are not tagged with it
+    private record MeterKey(String repository, String method, String exception) {
+    }
+
+    // Spring Data repositories are JDK proxies: name them after the interface the application declared
+    private static String repositoryName(Object target) {
+        if (Proxy.isProxyClass(target.getClass())) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(target);
+            if (interfaces.length > 0) {
+                return interfaces[0].getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(AopUtils.getTargetClass(target)).getSimpleName();
+    }
+
+    // -1 when the result is not a set of rows (a count, an update count, a stream still to be read);
+    // a single entity counts as one row and a missing one as none
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Iterable<?>
+                || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.crm.model;
 
+import com.example.crm.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,6 +9,7 @@ import lombok.*;
 
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Data
 @Table(name = "contacts")
 @NoArgsConstructor
@@ -31,7 +33,7 @@ public class Contact {
 
     private String position; // e.g., "Manager"
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 }
\ No newline at end of file
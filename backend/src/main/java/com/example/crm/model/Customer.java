@@ -1,17 +1,23 @@
 package com.example.crm.model;
 
+import com.example.crm.cache.DtoCacheListener;
+import com.example.crm.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customers")
+@EntityListeners({SearchIndexListener.class, DtoCacheListener.class})
 @Data
 @Table(name = "customers")
 @NoArgsConstructor
@@ -49,7 +55,7 @@ public class Customer {
     private LocalDateTime createdDate;
     private LocalDateTime lastUpdated;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonIgnore
     private User user;
@@ -1,5 +1,9 @@
 package com.example.crm.model;
 
+import com.example.crm.cache.DtoCacheListener;
+import com.example.crm.metrics.PipelineMetrics.DealFacts;
+import com.example.crm.metrics.PipelineMetricsListener;
+import com.example.crm.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -10,8 +14,19 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@EntityListeners({SearchIndexListener.class, DtoCacheListener.class, PipelineMetricsListener.class})
 @Data
-@Table(name = "deals")
+@Table(name = "deals", indexes = {
+        @Index(name = "idx_deals_amount_id", columnList = "amount, id"),
+        @Index(name = "idx_deals_deal_name_id", columnList = "dealName, id"),
+        @Index(name = "idx_deals_deal_date_id", columnList = "dealDate, id"),
+        @Index(name = "idx_deals_stage_id", columnList = "stage, id"),
+        // The same orders within one customer's deals (/api/deals/seek?customerId=)
+        @Index(name = "idx_deals_customer_amount_id", columnList = "customer_id, amount, id"),
+        @Index(name = "idx_deals_customer_deal_name_id", columnList = "customer_id, dealName, id"),
+        @Index(name = "idx_deals_customer_deal_date_id", columnList = "customer_id, dealDate, id"),
+        @Index(name = "idx_deals_customer_stage_id", columnList = "customer_id, stage, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Setter
@@ -36,10 +51,16 @@ public class Deal {
 
     private String priority; // e.g., "High", "Medium", "Low"
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
     @OneToMany(mappedBy = "deal", cascade = CascadeType.ALL)
     private List<Note> notes;
+
+    // What PipelineMetrics counted for this deal as of its last load or write (see PipelineMetricsListener)
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private DealFacts pipelineFacts;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.crm.model;
 
+import com.example.crm.cache.DtoCacheListener;
+import com.example.crm.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
@@ -7,6 +9,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners({SearchIndexListener.class, DtoCacheListener.class})
 @Data
 @Table(name = "notes")
 @NoArgsConstructor
@@ -24,11 +27,11 @@ public class Note {
 
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = true)
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "deal_id", nullable = true)
     private Deal deal;
 
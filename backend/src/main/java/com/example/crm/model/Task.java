@@ -1,6 +1,7 @@
 package com.example.crm.model;
 
 import com.example.crm.dto.TaskDTO;
+import com.example.crm.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
@@ -8,6 +9,7 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "tasks")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,11 +32,11 @@ public class Task {
 
     private String priority; // e.g., "High", "Medium", "Low"
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_user_id")
     private User assignedUser;
 }
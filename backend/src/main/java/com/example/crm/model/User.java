@@ -1,7 +1,11 @@
 package com.example.crm.model;
 
+import com.example.crm.cache.DtoCacheListener;
+import com.example.crm.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Email;
@@ -13,6 +17,8 @@ import java.util.Set;
 import com.example.crm.util.PasswordUtil;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@EntityListeners({SearchIndexListener.class, DtoCacheListener.class})
 @Data
 @Table(name = "users", uniqueConstraints = {
     @UniqueConstraint(columnNames = "username"),
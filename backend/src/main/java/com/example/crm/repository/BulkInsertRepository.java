@@ -0,0 +1,171 @@
+package com.example.crm.repository;
+
+import com.example.crm.model.Contact;
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.model.Note;
+import com.example.crm.model.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Multi-row inserts for the bulk import endpoints and for seeding test data. Entities use IDENTITY keys,
+ * which Hibernate cannot batch, so rows are written as plain JDBC batches (one round trip per batch,
+ * rewritten into multi-row INSERTs by the MySQL driver) and the generated keys are read back in row order.
+ * Nothing here goes through the persistence context, so entity listeners do not fire: callers must
+ * update the search index and pipeline metrics themselves.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    private static final String INSERT_CUSTOMER = "INSERT INTO customers (name, email, phone, company_name, address, "
+            + "city, state, country, postal_code, created_date, last_updated, user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CONTACT = "INSERT INTO contacts (name, email, phone, position, customer_id) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_DEAL = "INSERT INTO deals (deal_name, amount, stage, deal_date, priority, customer_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TASK = "INSERT INTO tasks (description, due_date, status, priority, customer_id, "
+            + "assigned_user_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_NOTE = "INSERT INTO notes (content, created_at, customer_id, deal_id) "
+            + "VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+
+    public List<Long> insertCustomers(List<Customer> customers) {
+        return insert(INSERT_CUSTOMER, customers, (ps, customer) -> {
+            ps.setString(1, customer.getName());
+            ps.setString(2, customer.getEmail());
+            ps.setString(3, customer.getPhone());
+            ps.setString(4, customer.getCompanyName());
+            ps.setString(5, customer.getAddress());
+            ps.setString(6, customer.getCity());
+            ps.setString(7, customer.getState());
+            ps.setString(8, customer.getCountry());
+            ps.setString(9, customer.getPostalCode());
+            setTimestamp(ps, 10, customer.getCreatedDate());
+            setTimestamp(ps, 11, customer.getLastUpdated());
+            setLong(ps, 12, customer.getUser() != null ? customer.getUser().getId() : null);
+        });
+    }
+
+    public List<Long> insertContacts(List<Contact> contacts) {
+        return insert(INSERT_CONTACT, contacts, (ps, contact) -> {
+            ps.setString(1, contact.getName());
+            ps.setString(2, contact.getEmail());
+            ps.setString(3, contact.getPhone());
+            ps.setString(4, contact.getPosition());
+            setLong(ps, 5, contact.getCustomer() != null ? contact.getCustomer().getId() : null);
+        });
+    }
+
+    public List<Long> insertDeals(List<Deal> deals) {
+        return insert(INSERT_DEAL, deals, (ps, deal) -> {
+            ps.setString(1, deal.getDealName());
+            ps.setObject(2, deal.getAmount(), Types.DOUBLE);
+            ps.setString(3, deal.getStage());
+            setDate(ps, 4, deal.getDealDate());
+            ps.setString(5, deal.getPriority());
+            setLong(ps, 6, deal.getCustomer() != null ? deal.getCustomer().getId() : null);
+        });
+    }
+
+    public List<Long> insertTasks(List<Task> tasks) {
+        return insert(INSERT_TASK, tasks, (ps, task) -> {
+            ps.setString(1, task.getDescription());
+            setDate(ps, 2, task.getDueDate());
+            ps.setString(3, task.getStatus());
+            ps.setString(4, task.getPriority());
+            setLong(ps, 5, task.getCustomer() != null ? task.getCustomer().getId() : null);
+            setLong(ps, 6, task.getAssignedUser() != null ? task.getAssignedUser().getId() : null);
+        });
+    }
+
+    public List<Long> insertNotes(List<Note> notes) {
+        return insert(INSERT_NOTE, notes, (ps, note) -> {
+            ps.setString(1, note.getContent());
+            setTimestamp(ps, 2, note.getCreatedAt());
+            setLong(ps, 3, note.getCustomer() != null ? note.getCustomer().getId() : null);
+            setLong(ps, 4, note.getDeal() != null ? note.getDeal().getId() : null);
+        });
+    }
+
+    public Set<Long> findExistingCustomerIds(Collection<Long> ids) {
+        return findExistingIds("SELECT id FROM customers WHERE id IN (:ids)", ids);
+    }
+
+    public Set<Long> findExistingUserIds(Collection<Long> ids) {
+        return findExistingIds("SELECT id FROM users WHERE id IN (:ids)", ids);
+    }
+
+    private Set<Long> findExistingIds(String sql, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(sql, Map.of("ids", ids), Long.class));
+    }
+
+    // Runs on the transaction's connection when called inside one, so the batch commits or rolls back with it
+    private <T> List<Long> insert(String sql, List<T> rows, RowBinder<T> binder) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (T row : rows) {
+                    binder.bind(ps, row);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != rows.size()) {
+                    throw new SQLException("Expected " + rows.size() + " generated keys but got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate value) throws SQLException {
+        ps.setDate(index, value != null ? Date.valueOf(value) : null);
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        ps.setTimestamp(index, value != null ? Timestamp.valueOf(value) : null);
+    }
+}
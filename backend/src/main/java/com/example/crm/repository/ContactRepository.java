@@ -1,12 +1,19 @@
 package com.example.crm.repository;
 
+import com.example.crm.dto.ContactDTO;
 import com.example.crm.model.Contact;
+import com.example.crm.search.CompletionDocument;
+import com.example.crm.search.SearchDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
-public interface ContactRepository extends JpaRepository<Contact, Long> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact>,
+        SliceSpecificationExecutor<Contact> {
     
     @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.customer")
     List<Contact> findAllWithCustomer();
@@ -17,5 +24,20 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
     List<Contact> findByCustomerId(Long customerId);
 
     @Query("SELECT c FROM Contact c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Contact> searchByName(@Param("name") String name);
+    List<Contact> searchByName(@Param("name") String name, Pageable pageable);
+
+    List<Contact> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT c.id AS id, c.name AS text FROM Contact c")
+    List<SearchDocument> findAllSearchDocuments();
+
+    @Query("SELECT c.id AS id, c.name AS name, c.email AS detail FROM Contact c")
+    List<CompletionDocument> findAllCompletionDocuments();
+
+    // Read-only listings selected straight into DTOs, without hydrating or tracking entities
+    @Query("SELECT new com.example.crm.dto.ContactDTO(c.id, c.name, c.email, c.phone, c.position, c.customer.id) FROM Contact c")
+    List<ContactDTO> findAllDtos(Pageable pageable);
+
+    @Query("SELECT new com.example.crm.dto.ContactDTO(c.id, c.name, c.email, c.phone, c.position, c.customer.id) FROM Contact c WHERE c.customer.id = :customerId")
+    List<ContactDTO> findDtosByCustomerId(@Param("customerId") Long customerId);
 }
@@ -1,14 +1,21 @@
 package com.example.crm.repository;
 
+import com.example.crm.dto.CustomerDTO;
 import com.example.crm.model.Customer;
+import com.example.crm.search.CompletionDocument;
+import com.example.crm.search.SearchDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer>,
+        SliceSpecificationExecutor<Customer> {
     List<Customer> findByUserId(Long userId);
 
     List<Customer> findByCity(String city);
@@ -16,9 +23,27 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findByCountry(String country);
 
     @Query("SELECT c FROM Customer c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Customer> searchByName(@Param("name") String name);
+    List<Customer> searchByName(@Param("name") String name, Pageable pageable);
 
     @Query("SELECT c FROM Customer c WHERE c.createdDate BETWEEN :startDate AND :endDate")
     List<Customer> findByCreatedDateRange(@Param("startDate") LocalDateTime startDate,
                                           @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+
+    List<Customer> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT c.id AS id, c.name AS text FROM Customer c")
+    List<SearchDocument> findAllSearchDocuments();
+
+    @Query("SELECT c.id AS id, c.name AS name, c.companyName AS detail FROM Customer c")
+    List<CompletionDocument> findAllCompletionDocuments();
+
+    // Read-only listings selected straight into DTOs, without hydrating or tracking entities
+    @Query("SELECT new com.example.crm.dto.CustomerDTO(c.id, c.name, c.email, c.phone, c.companyName, c.address, "
+            + "c.city, c.state, c.country, c.postalCode, c.createdDate, c.lastUpdated, c.user.id) FROM Customer c")
+    List<CustomerDTO> findAllDtos(Pageable pageable);
+
+    @Query("SELECT new com.example.crm.dto.CustomerDTO(c.id, c.name, c.email, c.phone, c.companyName, c.address, "
+            + "c.city, c.state, c.country, c.postalCode, c.createdDate, c.lastUpdated, c.user.id) FROM Customer c "
+            + "WHERE c.user.id = :userId")
+    List<CustomerDTO> findDtosByUserId(@Param("userId") Long userId);
+}
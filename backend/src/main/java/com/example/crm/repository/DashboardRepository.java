@@ -0,0 +1,48 @@
+package com.example.crm.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Dashboard aggregates. All counts and group totals come back from a single UNION ALL statement,
+ * one row per (metric, bucket), so the dashboard costs one database round trip.
+ */
+@Repository
+public class DashboardRepository {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String CONTACTS = "contacts";
+    public static final String DEAL_STAGE = "deal_stage";
+    public static final String TASK_STATUS = "task_status";
+    public static final String TASK_PRIORITY = "task_priority";
+
+    private static final String SUMMARY_SQL =
+            "SELECT '" + CUSTOMERS + "' AS metric, NULL AS bucket, COUNT(*) AS cnt, NULL AS total FROM customers "
+            + "UNION ALL SELECT '" + CONTACTS + "', NULL, COUNT(*), NULL FROM contacts "
+            + "UNION ALL SELECT '" + DEAL_STAGE + "', stage, COUNT(*), SUM(amount) FROM deals GROUP BY stage "
+            + "UNION ALL SELECT '" + TASK_STATUS + "', status, COUNT(*), NULL FROM tasks GROUP BY status "
+            + "UNION ALL SELECT '" + TASK_PRIORITY + "', priority, COUNT(*), NULL FROM tasks GROUP BY priority";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public record SummaryRow(String metric, String bucket, long count, double total) {
+    }
+
+    @SuppressWarnings("unchecked")
+    @Transactional(readOnly = true)
+    public List<SummaryRow> findSummaryRows() {
+        List<Object[]> rows = entityManager.createNativeQuery(SUMMARY_SQL).getResultList();
+        return rows.stream()
+                .map(row -> new SummaryRow(
+                        (String) row[0],
+                        (String) row[1],
+                        ((Number) row[2]).longValue(),
+                        row[3] == null ? 0.0 : ((Number) row[3]).doubleValue()))
+                .toList();
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.crm.repository;
 
+import com.example.crm.dto.DealDTO;
+import com.example.crm.metrics.PipelineFacts;
 import com.example.crm.model.Deal;
+import com.example.crm.search.SearchDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
-public interface DealRepository extends JpaRepository<Deal, Long> {
+public interface DealRepository extends JpaRepository<Deal, Long>, JpaSpecificationExecutor<Deal>,
+        SliceSpecificationExecutor<Deal>, DealRepositoryCustom {
     List<Deal> findByCustomerId(Long customerId);
+    List<Deal> findByCustomerId(Long customerId, Sort sort);
     List<Deal> findByStage(String stage);
 
     @Query("SELECT d FROM Deal d WHERE d.amount >= :minAmount")
@@ -20,5 +29,23 @@ public interface DealRepository extends JpaRepository<Deal, Long> {
                                    @Param("endDate") LocalDate endDate);
 
     @Query("SELECT d FROM Deal d WHERE LOWER(d.dealName) LIKE LOWER(CONCAT('%', :dealName, '%'))")
-    List<Deal> searchByTitle(@Param("dealName") String dealName);
-}
\ No newline at end of file
+    List<Deal> searchByTitle(@Param("dealName") String dealName, Pageable pageable);
+
+    List<Deal> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT d.id AS id, d.dealName AS text FROM Deal d")
+    List<SearchDocument> findAllSearchDocuments();
+
+    @Query("SELECT d.stage AS stage, d.customer.id AS customerId, d.dealDate AS dealDate, d.amount AS amount FROM Deal d")
+    List<PipelineFacts> findAllPipelineFacts();
+
+    // Read-only listings selected straight into DTOs, without hydrating or tracking entities
+    @Query("SELECT new com.example.crm.dto.DealDTO(d.id, d.dealName, d.amount, d.stage, d.dealDate, d.priority, d.customer.id) FROM Deal d")
+    List<DealDTO> findAllDtos(Pageable pageable);
+
+    @Query("SELECT new com.example.crm.dto.DealDTO(d.id, d.dealName, d.amount, d.stage, d.dealDate, d.priority, d.customer.id) FROM Deal d WHERE d.customer.id = :customerId")
+    List<DealDTO> findDtosByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT new com.example.crm.dto.DealDTO(d.id, d.dealName, d.amount, d.stage, d.dealDate, d.priority, d.customer.id) FROM Deal d WHERE d.stage = :stage")
+    List<DealDTO> findDtosByStage(@Param("stage") String stage);
+}
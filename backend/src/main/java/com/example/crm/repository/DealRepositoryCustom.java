@@ -0,0 +1,16 @@
+package com.example.crm.repository;
+
+import com.example.crm.model.Deal;
+
+import java.util.List;
+
+public interface DealRepositoryCustom {
+
+    /**
+     * Seek-method pagination: returns up to {@code limit} deals ordered by {@code sortField} then id,
+     * starting strictly after the row identified by ({@code lastValue}, {@code lastId}).
+     * Pass a null {@code lastId} for the first page. {@code customerId} is an optional filter.
+     */
+    List<Deal> findPageAfter(DealSortField sortField, boolean ascending, Long customerId,
+                             Object lastValue, Long lastId, int limit);
+}
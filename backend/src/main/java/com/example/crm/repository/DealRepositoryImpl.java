@@ -0,0 +1,71 @@
+package com.example.crm.repository;
+
+import com.example.crm.model.Deal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset pages over deals, ordered by one sortable column and then id. The "after the last row" condition
+ * is written out as {@code key > :value OR (key = :value AND id > :id)} rather than the row-value comparison
+ * {@code (key, id) > (:value, :id)}: JPA criteria cannot express row values, the null-key block needs its own
+ * branch anyway, and MySQL range-scans the (key, id) and (customer_id, key, id) indexes on the expanded form.
+ */
+public class DealRepositoryImpl implements DealRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Deal> findPageAfter(DealSortField sortField, boolean ascending, Long customerId,
+                                    Object lastValue, Long lastId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Deal> query = cb.createQuery(Deal.class);
+        Root<Deal> deal = query.from(Deal.class);
+        Path<?> key = deal.get(sortField.getAttribute());
+        Path<Long> id = deal.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (customerId != null) {
+            predicates.add(cb.equal(deal.get("customer").get("id"), customerId));
+        }
+        if (lastId != null) {
+            predicates.add(after(cb, deal, sortField.getAttribute(), ascending, lastValue, lastId));
+        }
+
+        query.select(deal)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // MySQL (and H2) sort NULL below every value, so the null block comes first ascending and last descending
+    @SuppressWarnings("unchecked")
+    private static <Y extends Comparable<? super Y>> Predicate after(CriteriaBuilder cb, Root<Deal> deal, String attribute,
+                                                                     boolean ascending, Object lastValue, Long lastId) {
+        Path<Y> key = deal.get(attribute);
+        Path<Long> id = deal.get("id");
+        Y value = (Y) lastValue;
+
+        if (value == null) {
+            return ascending
+                    ? cb.or(cb.isNotNull(key), cb.greaterThan(id, lastId))
+                    : cb.and(cb.isNull(key), cb.lessThan(id, lastId));
+        }
+        return ascending
+                ? cb.or(cb.greaterThan(key, value),
+                        cb.and(cb.equal(key, value), cb.greaterThan(id, lastId)))
+                : cb.or(cb.lessThan(key, value),
+                        cb.isNull(key),
+                        cb.and(cb.equal(key, value), cb.lessThan(id, lastId)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.crm.repository;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Columns deal listings can be sorted on. Each one is backed by a composite
+ * (column, id) index on the deals table so sorted pages are read straight off the index.
+ */
+public enum DealSortField {
+    AMOUNT("amount", Double::valueOf),
+    DEAL_NAME("dealName", Function.identity()),
+    DEAL_DATE("dealDate", LocalDate::parse),
+    STAGE("stage", Function.identity());
+
+    private final String attribute;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    DealSortField(String attribute, Function<String, ? extends Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.parser = parser;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    /**
+     * Matches the request parameter case-insensitively against the attribute name
+     * ("amount", "dealName", "dealDate", "stage"); returns null for anything else.
+     */
+    public static DealSortField from(String sortBy) {
+        if (sortBy == null) {
+            return null;
+        }
+        String key = sortBy.toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(field -> field.attribute.toLowerCase(Locale.ROOT).equals(key))
+                .findFirst()
+                .orElse(null);
+    }
+}
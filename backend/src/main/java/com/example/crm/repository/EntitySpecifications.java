@@ -0,0 +1,61 @@
+package com.example.crm.repository;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Building blocks for the optional field filters on the paged list endpoints.
+ * Every factory returns null for a missing value, which {@link Specification#where} and {@code and} skip,
+ * so callers can chain all filters unconditionally.
+ */
+public final class EntitySpecifications {
+
+    private EntitySpecifications() {
+    }
+
+    public static <T> Specification<T> equal(String path, Object value) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(path(root, path), value);
+    }
+
+    public static <T> Specification<T> containsIgnoreCase(String path, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(path(root, path)), pattern, '\\');
+    }
+
+    public static <T, Y extends Comparable<? super Y>> Specification<T> atLeast(String path, Y value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(path(root, path), value);
+    }
+
+    public static <T, Y extends Comparable<? super Y>> Specification<T> atMost(String path, Y value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(path(root, path), value);
+    }
+
+    // Resolves dotted paths such as "customer.id"
+    @SuppressWarnings("unchecked")
+    private static <Y> Path<Y> path(Root<?> root, String path) {
+        Path<?> current = root;
+        for (String attribute : path.split("\\.")) {
+            current = current.get(attribute);
+        }
+        return (Path<Y>) current;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
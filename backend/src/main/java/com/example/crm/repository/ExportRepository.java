@@ -0,0 +1,55 @@
+package com.example.crm.repository;
+
+import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.NoteDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Forward-only reads of whole tables for the exports. Only these statements get crm.export.fetch-size,
+ * so streaming rows from the database as the stream is consumed does not change how any other query
+ * reads its results. Callers must consume the stream inside a transaction and close it.
+ */
+@Repository
+public class ExportRepository {
+
+    private static final String CUSTOMERS = "SELECT new com.example.crm.dto.CustomerDTO(c.id, c.name, c.email, "
+            + "c.phone, c.companyName, c.address, c.city, c.state, c.country, c.postalCode, c.createdDate, "
+            + "c.lastUpdated, c.user.id) FROM Customer c ORDER BY c.id";
+
+    private static final String DEALS = "SELECT new com.example.crm.dto.DealDTO(d.id, d.dealName, d.amount, "
+            + "d.stage, d.dealDate, d.priority, d.customer.id) FROM Deal d ORDER BY d.id";
+
+    private static final String NOTES = "SELECT new com.example.crm.dto.NoteDTO(n.id, n.content, n.createdAt, "
+            + "n.customer.id, n.deal.id) FROM Note n ORDER BY n.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${crm.export.fetch-size:500}")
+    private int fetchSize;
+
+    public Stream<CustomerDTO> streamCustomers() {
+        return stream(CUSTOMERS, CustomerDTO.class);
+    }
+
+    public Stream<DealDTO> streamDeals() {
+        return stream(DEALS, DealDTO.class);
+    }
+
+    public Stream<NoteDTO> streamNotes() {
+        return stream(NOTES, NoteDTO.class);
+    }
+
+    private <T> Stream<T> stream(String jpql, Class<T> rowType) {
+        return entityManager.createQuery(jpql, rowType)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.crm.repository;
 
+import com.example.crm.dto.NoteDTO;
 import com.example.crm.model.Note;
+import com.example.crm.search.SearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface NoteRepository extends JpaRepository<Note, Long> {
+public interface NoteRepository extends JpaRepository<Note, Long>, JpaSpecificationExecutor<Note>,
+        SliceSpecificationExecutor<Note> {
     
     @Query("SELECT n FROM Note n WHERE n.customer.id = :customerId")
     List<Note> findByCustomerId(@Param("customerId") Long customerId);
@@ -15,5 +25,24 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     List<Note> findByDealId(@Param("dealId") Long dealId);
 
     @Query("SELECT n FROM Note n WHERE LOWER(n.content) LIKE LOWER(CONCAT('%', :content, '%'))")
-    List<Note> searchBySubject(@Param("content") String content);
+    List<Note> searchBySubject(@Param("content") String content, Pageable pageable);
+
+    List<Note> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT n.id AS id, n.content AS text FROM Note n")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<SearchDocument> streamSearchDocuments();
+
+    // Read-only listings selected straight into DTOs, without hydrating or tracking entities
+    @Query("SELECT new com.example.crm.dto.NoteDTO(n.id, n.content, n.createdAt, n.customer.id, n.deal.id) FROM Note n")
+    List<NoteDTO> findAllDtos(Pageable pageable);
+
+    @Query("SELECT new com.example.crm.dto.NoteDTO(n.id, n.content, n.createdAt, n.customer.id, n.deal.id) FROM Note n WHERE n.customer.id = :customerId")
+    List<NoteDTO> findDtosByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT new com.example.crm.dto.NoteDTO(n.id, n.content, n.createdAt, n.customer.id, n.deal.id) FROM Note n WHERE n.deal.id = :dealId")
+    List<NoteDTO> findDtosByDealId(@Param("dealId") Long dealId);
+
+    @Query("SELECT new com.example.crm.dto.NoteDTO(n.id, n.content, n.createdAt, n.customer.id, n.deal.id) FROM Note n WHERE n.id IN :ids")
+    List<NoteDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
 }
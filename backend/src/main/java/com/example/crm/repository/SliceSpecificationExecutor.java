@@ -0,0 +1,15 @@
+package com.example.crm.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specification paging without the count query {@code findAll(Specification, Pageable)} runs on every call.
+ * Implemented for every repository by {@link SliceableJpaRepository}; redeclare the method in a repository
+ * to put an {@code @EntityGraph} on it.
+ */
+public interface SliceSpecificationExecutor<T> {
+
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable);
+}
@@ -1,19 +1,73 @@
 package com.example.crm.repository;
 
+import com.example.crm.dto.TaskDTO;
 import com.example.crm.model.Task;
+import com.example.crm.search.SearchDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+// TaskDTO carries the customer name, so every list query fetches the customer in the same statement
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        SliceSpecificationExecutor<Task> {
+    @Override
+    @EntityGraph(attributePaths = "customer")
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "customer")
+    Page<Task> findAll(Specification<Task> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "customer")
+    Slice<Task> findSlice(Specification<Task> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = "customer")
     List<Task> findByCustomer_Id(Long customerId);
+
+    @EntityGraph(attributePaths = "customer")
     List<Task> findByStatus(String status);
+
+    @EntityGraph(attributePaths = "customer")
     List<Task> findByPriority(String priority);
+
+    @EntityGraph(attributePaths = "customer")
     List<Task> findByAssignedUser_Id(Long assignedUserId);
+
+    @EntityGraph(attributePaths = "customer")
     List<Task> findByDueDateBetween(Date startDate, Date endDate);
 
+    @EntityGraph(attributePaths = "customer")
     @Query("SELECT t FROM Task t WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', :description, '%'))")
-    List<Task> searchByTitle(@Param("description") String description);
+    List<Task> searchByTitle(@Param("description") String description, Pageable pageable);
+
+    @EntityGraph(attributePaths = "customer")
+    List<Task> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT t.id AS id, t.description AS text FROM Task t")
+    List<SearchDocument> findAllSearchDocuments();
+
+    // Read-only listings selected straight into DTOs, without hydrating or tracking entities
+    @Query("SELECT new com.example.crm.dto.TaskDTO(t.id, t.description, t.dueDate, t.status, t.priority, c.id, c.name) "
+            + "FROM Task t LEFT JOIN t.customer c")
+    List<TaskDTO> findAllDtos(Pageable pageable);
+
+    @Query("SELECT new com.example.crm.dto.TaskDTO(t.id, t.description, t.dueDate, t.status, t.priority, c.id, c.name) "
+            + "FROM Task t LEFT JOIN t.customer c "
+            + "WHERE c.id = :customerId")
+    List<TaskDTO> findDtosByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT new com.example.crm.dto.TaskDTO(t.id, t.description, t.dueDate, t.status, t.priority, c.id, c.name) "
+            + "FROM Task t LEFT JOIN t.customer c "
+            + "WHERE t.status = :status")
+    List<TaskDTO> findDtosByStatus(@Param("status") String status);
 }
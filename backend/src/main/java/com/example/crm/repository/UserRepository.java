@@ -1,26 +1,37 @@
 package com.example.crm.repository;
 
 import com.example.crm.model.User;
+import com.example.crm.search.SearchDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.Collection;
 import java.util.List;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>,
+        SliceSpecificationExecutor<User> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
 
+    @EntityGraph(attributePaths = "customers")
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role")
     List<User> findAllByRole(@Param("role") String role);
 
-    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.customers")
-    List<User> findAllWithCustomers();
-    
     @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.customers WHERE u.id = :id")
     Optional<User> findByIdWithCustomers(@Param("id") Long id);
 
+    // No customers entity graph: Hibernate would apply the row limit in memory to a collection fetch
     @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :username, '%'))")
-    List<User> searchByName(@Param("username") String username);
+    List<User> searchByName(@Param("username") String username, Pageable pageable);
+
+    @EntityGraph(attributePaths = "customers")
+    List<User> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.username AS text FROM User u")
+    List<SearchDocument> findAllSearchDocuments();
 }
@@ -0,0 +1,351 @@
+package com.example.crm.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory typeahead index: a radix trie keyed by the lower-cased value, and by every later word of it, so
+ * "cor" completes both "Corvid Ltd" and "Acme Corp". Completions come back in key order with prefix matches
+ * before longer keys, one per entity.
+ * The shape of the trie is copy-on-write: adding or dropping a key copies the path to it and swaps in a new
+ * root, so lookups take no lock. The completions at each key are updated in place. Writes are serialised.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+
+    // Past this many entities at one key, its completions move from an array to a skip list
+    private static final int MAX_SMALL_COMPLETIONS = 16;
+
+    private static final Comparator<Completion> COMPLETION_ORDER = Comparator
+            .comparing((Completion completion) -> completion.entityType().getName())
+            .thenComparing(Completion::id)
+            .thenComparing(Completion::text);
+
+    /**
+     * One indexed value of an entity, e.g. a customer's company name or a contact's email, as it was written.
+     */
+    public record Completion(Class<?> entityType, Long id, String text) {
+    }
+
+    private record EntityKey(Class<?> entityType, Long id) {
+    }
+
+    private volatile Node root = new Node("", NO_LABELS, NO_CHILDREN, new Completions());
+
+    // Current values of every indexed entity, so a re-index or remove can find the keys to unlink
+    private final Map<EntityKey, List<Completion>> entities = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Replaces the values an entity completes to. Null and blank values are skipped.
+     */
+    public synchronized void index(Class<?> entityType, Long id, String... values) {
+        if (id == null) {
+            return;
+        }
+        EntityKey owner = new EntityKey(entityType, id);
+        Node updated = unlink(root, owner);
+        List<Completion> completions = new ArrayList<>();
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            Completion completion = new Completion(entityType, id, value);
+            for (String key : keys(value)) {
+                updated = put(updated, key, 0, completion);
+            }
+            completions.add(completion);
+        }
+        if (completions.isEmpty()) {
+            entities.remove(owner);
+        } else {
+            entities.put(owner, completions);
+        }
+        root = updated;
+    }
+
+    public synchronized void remove(Class<?> entityType, Long id) {
+        if (id == null) {
+            return;
+        }
+        EntityKey owner = new EntityKey(entityType, id);
+        root = unlink(root, owner);
+        entities.remove(owner);
+    }
+
+    /**
+     * Returns at most {@code limit} completions of the prefix, case-insensitively, one per entity.
+     * Cost is the length of the prefix plus the part of the trie walked to fill the limit, whatever the index size.
+     */
+    public List<Completion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        int depth = 0;
+        while (depth < key.length()) {
+            int i = Arrays.binarySearch(node.labels, key.charAt(depth));
+            if (i < 0) {
+                return List.of();
+            }
+            Node child = node.children[i];
+            int common = commonPrefix(child.edge, key, depth);
+            if (depth + common == key.length()) {
+                // The prefix ends on or part-way along this edge: everything below it completes the prefix
+                node = child;
+                break;
+            }
+            if (common < child.edge.length()) {
+                return List.of();
+            }
+            node = child;
+            depth += common;
+        }
+        Map<EntityKey, Completion> found = new LinkedHashMap<>();
+        collect(node, found, limit);
+        return new ArrayList<>(found.values());
+    }
+
+    public synchronized int size() {
+        return entities.size();
+    }
+
+    private Node unlink(Node node, EntityKey owner) {
+        List<Completion> previous = entities.get(owner);
+        if (previous == null) {
+            return node;
+        }
+        for (Completion completion : previous) {
+            for (String key : keys(completion.text())) {
+                node = remove(node, key, 0, owner);
+            }
+        }
+        return node;
+    }
+
+    private static boolean collect(Node node, Map<EntityKey, Completion> found, int limit) {
+        for (Completion completion : node.completions.all()) {
+            found.putIfAbsent(new EntityKey(completion.entityType(), completion.id()), completion);
+            if (found.size() >= limit) {
+                return true;
+            }
+        }
+        for (Node child : node.children) {
+            if (collect(child, found, limit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // node's key ends at depth; returns the node with the completion added under key
+    private static Node put(Node node, String key, int depth, Completion completion) {
+        if (depth == key.length()) {
+            node.completions.add(completion);
+            return node;
+        }
+        char label = key.charAt(depth);
+        int i = Arrays.binarySearch(node.labels, label);
+        if (i < 0) {
+            Completions completions = new Completions();
+            completions.add(completion);
+            Node leaf = new Node(key.substring(depth), NO_LABELS, NO_CHILDREN, completions);
+            return node.withChild(-i - 1, label, leaf);
+        }
+        Node child = node.children[i];
+        int common = commonPrefix(child.edge, key, depth);
+        if (common < child.edge.length()) {
+            // The key leaves the edge part-way along: split it there
+            Node tail = child.withEdge(child.edge.substring(common));
+            child = new Node(child.edge.substring(0, common), new char[]{tail.edge.charAt(0)}, new Node[]{tail},
+                    new Completions());
+        }
+        Node updated = put(child, key, depth + common, completion);
+        return updated == node.children[i] ? node : node.replaceChild(i, updated);
+    }
+
+    // node's key ends at depth; returns the node without the owner's completions under key
+    private static Node remove(Node node, String key, int depth, EntityKey owner) {
+        if (depth == key.length()) {
+            node.completions.remove(owner);
+            return node;
+        }
+        int i = Arrays.binarySearch(node.labels, key.charAt(depth));
+        if (i < 0) {
+            return node;
+        }
+        Node child = node.children[i];
+        if (!key.startsWith(child.edge, depth)) {
+            return node;
+        }
+        Node updated = remove(child, key, depth + child.edge.length(), owner);
+        if (updated.completions.isEmpty() && updated.children.length == 0) {
+            return node.withoutChild(i);
+        }
+        if (updated.completions.isEmpty() && updated.children.length == 1) {
+            // Nothing ends here any more: fold the only child back into this edge
+            Node only = updated.children[0];
+            updated = only.withEdge(updated.edge + only.edge);
+        }
+        return updated == child ? node : node.replaceChild(i, updated);
+    }
+
+    private static int commonPrefix(String edge, String key, int depth) {
+        int max = Math.min(edge.length(), key.length() - depth);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(depth + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // The whole value, then the rest of it from the start of each later word
+    static Set<String> keys(String value) {
+        String normalized = normalize(value);
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * A trie node. {@code edge} is the part of the key on the edge into this node; {@code labels} holds the
+     * first character of each child's edge, sorted, for a binary search.
+     */
+    private static final class Node {
+
+        final String edge;
+        final char[] labels;
+        final Node[] children;
+        final Completions completions;
+
+        Node(String edge, char[] labels, Node[] children, Completions completions) {
+            this.edge = edge;
+            this.labels = labels;
+            this.children = children;
+            this.completions = completions;
+        }
+
+        Node withEdge(String edge) {
+            return new Node(edge, labels, children, completions);
+        }
+
+        Node withChild(int index, char label, Node child) {
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newLabels[index] = label;
+            newChildren[index] = child;
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            return new Node(edge, newLabels, newChildren, completions);
+        }
+
+        Node replaceChild(int index, Node child) {
+            Node[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Node(edge, labels, newChildren, completions);
+        }
+
+        Node withoutChild(int index) {
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return new Node(edge, newLabels, newChildren, completions);
+        }
+    }
+
+    /**
+     * The completions ending at one key, shared by every copy of its node. Most keys belong to one or two
+     * entities and keep a copy-on-write array; a key shared by many ("inc", a common surname) moves to a
+     * skip list so a write costs O(log n) rather than a copy of them all.
+     */
+    private static final class Completions {
+
+        private volatile Completion[] small = NO_COMPLETIONS;
+        private volatile ConcurrentSkipListSet<Completion> large;
+
+        Iterable<Completion> all() {
+            ConcurrentSkipListSet<Completion> set = large;
+            return set != null ? set : Arrays.asList(small);
+        }
+
+        boolean isEmpty() {
+            ConcurrentSkipListSet<Completion> set = large;
+            return set != null ? set.isEmpty() : small.length == 0;
+        }
+
+        void add(Completion completion) {
+            if (large != null) {
+                large.add(completion);
+                return;
+            }
+            Completion[] current = small;
+            int i = Arrays.binarySearch(current, completion, COMPLETION_ORDER);
+            if (i >= 0) {
+                return;
+            }
+            if (current.length == MAX_SMALL_COMPLETIONS) {
+                ConcurrentSkipListSet<Completion> set = new ConcurrentSkipListSet<>(COMPLETION_ORDER);
+                set.addAll(Arrays.asList(current));
+                set.add(completion);
+                // The array is left as it was, so a lookup racing this switch still sees every completion
+                large = set;
+                return;
+            }
+            int at = -i - 1;
+            Completion[] updated = new Completion[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, at);
+            updated[at] = completion;
+            System.arraycopy(current, at, updated, at + 1, current.length - at);
+            small = updated;
+        }
+
+        void remove(EntityKey owner) {
+            if (large != null) {
+                // Every completion of the owner sorts between these two
+                large.subSet(new Completion(owner.entityType(), owner.id(), ""), true,
+                        new Completion(owner.entityType(), owner.id() + 1, ""), false).clear();
+                return;
+            }
+            small = Arrays.stream(small)
+                    .filter(completion -> !owner.equals(new EntityKey(completion.entityType(), completion.id())))
+                    .toArray(Completion[]::new);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.crm.search;
+
+/**
+ * Projection of the values an entity completes to in {@link AutocompleteIndex}: its name and one other
+ * identifying value (a customer's company name, a contact's email).
+ */
+public interface CompletionDocument {
+    Long getId();
+    String getName();
+    String getDetail();
+}
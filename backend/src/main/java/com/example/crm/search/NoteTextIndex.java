@@ -0,0 +1,266 @@
+package com.example.crm.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene full-text index over note bodies. Text is tokenised and stemmed by Lucene's English analyzer,
+ * so "renewals" finds "renewal"; queries use Lucene's classic syntax with every word required by default,
+ * "quoted phrases" matched in order and a trailing * matching word prefixes.
+ * Held in memory, rebuilt from the database at startup by {@link SearchIndexInitializer} and kept current by
+ * {@link SearchIndexListener}. Writes do not wait for a new searcher: a background thread reopens it at least
+ * every crm.search.notes.refresh-ms, so a change can take that long to show up in results.
+ */
+@Component
+public class NoteTextIndex {
+
+    private static final String ID = "id";
+    private static final String CONTENT = "content";
+
+    @Value("${crm.search.notes.refresh-ms:1000}")
+    private long refreshMs = 1000;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> refreshThread;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = new ByteBuffersDirectory();
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setRAMBufferSizeMB(64));
+        searcherManager = new SearcherManager(writer, null);
+        refreshThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, refreshMs / 1000.0, 0);
+        refreshThread.setName("note-index-refresh");
+        refreshThread.setDaemon(true);
+        refreshThread.start();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        refreshThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * Adds or replaces one note. The change is searchable after the next refresh.
+     */
+    public void index(Long id, String text) {
+        if (id == null) {
+            return;
+        }
+        try {
+            writer.updateDocument(new Term(ID, id.toString()), document(id, text));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        try {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Indexes every document of the stream in one pass, refreshing the searcher once at the end.
+     * @return the number of notes indexed
+     */
+    public long indexAll(Stream<SearchDocument> documents) {
+        try {
+            long count = 0;
+            for (SearchDocument document : (Iterable<SearchDocument>) documents::iterator) {
+                writer.updateDocument(new Term(ID, document.getId().toString()), document(document.getId(), document.getText()));
+                count++;
+            }
+            refresh();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes every change so far searchable now instead of at the next scheduled refresh.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the ids of at most {@code limit} notes matching the query, most relevant first.
+     */
+    public List<Long> search(String queryText, int limit) {
+        List<Long> ids = new ArrayList<>();
+        Query query = parse(queryText);
+        if (query == null || limit <= 0) {
+            return ids;
+        }
+        searchWith(searcher -> {
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc hit : searcher.search(query, limit).scoreDocs) {
+                ids.add(Long.valueOf(storedFields.document(hit.doc, Set.of(ID)).get(ID)));
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * Returns the best {@code limit} notes for the query scored like {@link SearchIndex#topMatches}, so notes rank
+     * against the other entity types in the global search. Where the query does not appear verbatim (a stemmed
+     * or phrase match), the match is the first word the query matched.
+     */
+    public List<SearchIndex.Match> topMatches(String queryText, int limit) {
+        List<SearchIndex.Match> matches = new ArrayList<>();
+        Query query = parse(queryText);
+        if (query == null || limit <= 0) {
+            return matches;
+        }
+        Set<Term> terms = new HashSet<>();
+        query.visit(QueryVisitor.termCollector(terms));
+        Set<String> queryTerms = terms.stream().map(Term::text).collect(Collectors.toSet());
+        String normalizedQuery = SearchIndex.normalize(queryText);
+        searchWith(searcher -> {
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc hit : searcher.search(query, limit).scoreDocs) {
+                Document document = storedFields.document(hit.doc);
+                Long id = Long.valueOf(document.get(ID));
+                String text = document.get(CONTENT);
+                String normalizedText = SearchIndex.normalize(text);
+                SearchIndex.Match match = SearchIndex.score(id, new SearchIndex.Document(text, normalizedText), normalizedQuery);
+                if (!normalizedText.contains(normalizedQuery)) {
+                    match = firstTermMatch(match, queryTerms);
+                }
+                matches.add(match);
+            }
+        });
+        return matches;
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    @FunctionalInterface
+    private interface SearcherCallback {
+        void accept(IndexSearcher searcher) throws IOException;
+    }
+
+    private void searchWith(SearcherCallback callback) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                callback.accept(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Returns null for a blank query, or one made only of stop words
+    private Query parse(String queryText) {
+        if (queryText == null || queryText.isBlank()) {
+            return null;
+        }
+        QueryParser parser = new QueryParser(CONTENT, analyzer);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            // Unbalanced quotes, stray operators and the like: search for the words as typed
+            try {
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    // The match moved to the first word of the text the query matched; Lucene's offsets are into the original text
+    private SearchIndex.Match firstTermMatch(SearchIndex.Match match, Set<String> queryTerms) {
+        try (TokenStream tokens = analyzer.tokenStream(CONTENT, match.text())) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            OffsetAttribute offset = tokens.addAttribute(OffsetAttribute.class);
+            tokens.reset();
+            int start = 0;
+            int end = 0;
+            while (tokens.incrementToken()) {
+                if (queryTerms.contains(term.toString())) {
+                    start = offset.startOffset();
+                    end = offset.endOffset();
+                    break;
+                }
+            }
+            tokens.end();
+            return new SearchIndex.Match(match.id(), match.text(), match.score(), start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document document(Long id, String text) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new TextField(CONTENT, text == null ? "" : text, Field.Store.YES));
+        return document;
+    }
+}
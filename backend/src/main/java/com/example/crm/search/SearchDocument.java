@@ -0,0 +1,9 @@
+package com.example.crm.search;
+
+/**
+ * Projection of an entity's id and searchable text, used to build {@link SearchIndex} without loading whole entities.
+ */
+public interface SearchDocument {
+    Long getId();
+    String getText();
+}
@@ -0,0 +1,246 @@
+package com.example.crm.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory trigram index over the searchable text of each entity type.
+ * Answers the same case-insensitive "contains" question as the LOWER(x) LIKE '%q%' repository
+ * queries without scanning the tables. Reads are lock-free; writes are serialised per index.
+ */
+@Component
+public class SearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    /** Best match first; ties broken by ascending id so ranking is deterministic. */
+    public static final Comparator<Match> BY_RELEVANCE =
+            Comparator.comparingDouble(Match::score).reversed().thenComparing(Match::id);
+
+    /**
+     * A scored hit: the original text, and the range [start, end) of it the query was found in.
+     */
+    public record Match(Long id, String text, double score, int start, int end) {
+    }
+
+    private final Map<Class<?>, EntityIndex> indexes = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public void index(Class<?> entityType, Long id, String text) {
+        if (id == null) {
+            return;
+        }
+        indexFor(entityType).put(id, text == null ? "" : text);
+    }
+
+    public void remove(Class<?> entityType, Long id) {
+        if (id == null) {
+            return;
+        }
+        indexFor(entityType).remove(id);
+    }
+
+    /**
+     * Returns the ids of the entities of the given type whose text contains the query: the lowest
+     * {@code limit} of them, in ascending id order, which are the rows the LIKE queries return when
+     * capped by id.
+     */
+    public List<Long> search(Class<?> entityType, String query, int limit) {
+        EntityIndex index = indexes.get(entityType);
+        if (index == null || query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return index.search(normalize(query), limit);
+    }
+
+    /**
+     * Returns at most {@code limit} matches of the given type, best first.
+     * Exact matches rank above prefix matches, which rank above word-prefix and then plain substring matches;
+     * within each tier, the shorter the text the higher the score.
+     */
+    public List<Match> topMatches(Class<?> entityType, String query, int limit) {
+        EntityIndex index = indexes.get(entityType);
+        if (index == null || query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String normalizedQuery = normalize(query);
+        // Min-heap of the best matches so far, so memory stays O(limit) however broad the query
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, BY_RELEVANCE.reversed());
+        index.forEachMatch(normalizedQuery, (id, document) -> {
+            best.add(score(id, document, normalizedQuery));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(BY_RELEVANCE);
+        return matches;
+    }
+
+    static Match score(Long id, Document document, String normalizedQuery) {
+        String text = document.normalized();
+        int start = text.indexOf(normalizedQuery);
+        double tier;
+        if (text.equals(normalizedQuery)) {
+            tier = 3;
+        } else if (start == 0) {
+            tier = 2;
+        } else if (start > 0 && !Character.isLetterOrDigit(text.charAt(start - 1))) {
+            tier = 1;
+        } else {
+            tier = 0;
+        }
+        double coverage = text.isEmpty() ? 1 : (double) normalizedQuery.length() / text.length();
+        int from = Math.max(start, 0);
+        int to = start < 0 ? 0 : start + normalizedQuery.length();
+        return new Match(id, document.text(), tier + coverage, originalOffset(document, from, false),
+                originalOffset(document, to, true));
+    }
+
+    /**
+     * Maps an offset in the lowercased text back to the original. Lowercasing can make text longer ('İ' becomes
+     * "i" and a combining dot), so an offset inside such a character moves to its start, or to its end if
+     * {@code roundUp}.
+     */
+    static int originalOffset(Document document, int normalizedOffset, boolean roundUp) {
+        String text = document.text();
+        if (text.length() == document.normalized().length()) {
+            return normalizedOffset;
+        }
+        int normalized = 0;
+        int i = 0;
+        while (i < text.length() && normalized < normalizedOffset) {
+            int codePoint = text.codePointAt(i);
+            int next = normalized + normalize(Character.toString(codePoint)).length();
+            if (next > normalizedOffset && !roundUp) {
+                break;
+            }
+            normalized = next;
+            i += Character.charCount(codePoint);
+        }
+        return i;
+    }
+
+    public int size(Class<?> entityType) {
+        EntityIndex index = indexes.get(entityType);
+        return index == null ? 0 : index.documents.size();
+    }
+
+    private EntityIndex indexFor(Class<?> entityType) {
+        return indexes.computeIfAbsent(entityType, type -> new EntityIndex());
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    record Document(String text, String normalized) {
+    }
+
+    private static final class EntityIndex {
+
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        synchronized void put(Long id, String text) {
+            Document document = new Document(text, normalize(text));
+            Document previous = documents.put(id, document);
+            if (previous != null) {
+                unlink(id, previous.normalized());
+            }
+            for (String gram : grams(document.normalized())) {
+                postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        synchronized void remove(Long id) {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                unlink(id, previous.normalized());
+            }
+        }
+
+        private void unlink(Long id, String text) {
+            for (String gram : grams(text)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        List<Long> search(String query, int limit) {
+            // Highest id on top, so it is the one dropped once there are more than limit
+            PriorityQueue<Long> lowest = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+            forEachMatch(query, (id, document) -> {
+                lowest.add(id);
+                if (lowest.size() > limit) {
+                    lowest.poll();
+                }
+            });
+            List<Long> matches = new ArrayList<>(lowest);
+            Collections.sort(matches);
+            return matches;
+        }
+
+        void forEachMatch(String query, BiConsumer<Long, Document> action) {
+            if (query.length() < GRAM_SIZE) {
+                // Too short to have a trigram: scan the in-memory text instead of the table
+                documents.forEach((id, document) -> {
+                    if (document.normalized().contains(query)) {
+                        action.accept(id, document);
+                    }
+                });
+                return;
+            }
+            Set<Long> smallest = null;
+            for (String gram : grams(query)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return;
+                }
+                if (smallest == null || ids.size() < smallest.size()) {
+                    smallest = ids;
+                }
+            }
+            // Every gram matching is necessary but not sufficient, so confirm against the text
+            for (Long id : smallest) {
+                Document document = documents.get(id);
+                if (document != null && document.normalized().contains(query)) {
+                    action.accept(id, document);
+                }
+            }
+        }
+    }
+}
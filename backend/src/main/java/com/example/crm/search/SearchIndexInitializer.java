@@ -0,0 +1,93 @@
+package com.example.crm.search;
+
+import com.example.crm.model.*;
+import com.example.crm.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Builds {@link SearchIndex}, {@link NoteTextIndex} and {@link AutocompleteIndex} from the database once the
+ * application has started. Until they are ready, searches fall back to the repository LIKE queries and
+ * autocomplete answers 503.
+ */
+@Component
+public class SearchIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private NoteTextIndex noteTextIndex;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private SearchIndexUpdates searchIndexUpdates;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    // Read-only transaction so the notes can be streamed through a cursor instead of loaded into one list
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        // Changes committed while the snapshot is read are applied after it, not overwritten by it
+        searchIndexUpdates.hold();
+        try {
+            load(Customer.class, customerRepository.findAllSearchDocuments());
+            load(Deal.class, dealRepository.findAllSearchDocuments());
+            load(Task.class, taskRepository.findAllSearchDocuments());
+            load(Contact.class, contactRepository.findAllSearchDocuments());
+            load(User.class, userRepository.findAllSearchDocuments());
+            try (Stream<SearchDocument> notes = noteRepository.streamSearchDocuments()) {
+                logger.info("Indexed {} Note records", noteTextIndex.indexAll(notes));
+            }
+            complete(Customer.class, customerRepository.findAllCompletionDocuments());
+            complete(Contact.class, contactRepository.findAllCompletionDocuments());
+        } finally {
+            searchIndexUpdates.release();
+        }
+        noteTextIndex.markReady();
+        autocompleteIndex.markReady();
+        searchIndex.markReady();
+        logger.info("Search index built in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void load(Class<?> entityType, List<SearchDocument> documents) {
+        documents.forEach(document -> searchIndex.index(entityType, document.getId(), document.getText()));
+        logger.info("Indexed {} {} records", documents.size(), entityType.getSimpleName());
+    }
+
+    private void complete(Class<?> entityType, List<CompletionDocument> documents) {
+        documents.forEach(document ->
+                autocompleteIndex.index(entityType, document.getId(), document.getName(), document.getDetail()));
+        logger.info("Added {} {} records to autocomplete", documents.size(), entityType.getSimpleName());
+    }
+}
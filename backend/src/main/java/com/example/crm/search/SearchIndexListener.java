@@ -0,0 +1,111 @@
+package com.example.crm.search;
+
+import com.example.crm.model.*;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static com.example.crm.util.TransactionCallbacks.afterCommit;
+
+/**
+ * JPA entity listener that keeps {@link SearchIndex}, {@link NoteTextIndex} for notes and
+ * {@link AutocompleteIndex} for customers and contacts current on create/update/delete.
+ * Changes are applied after the surrounding transaction commits so rolled-back writes never reach the index,
+ * and during the startup build only once its snapshot is loaded ({@link SearchIndexUpdates}).
+ */
+public class SearchIndexListener {
+
+    // Absent in JPA test slices that do not search by name
+    @Autowired(required = false)
+    private SearchIndex searchIndex;
+
+    // Absent in JPA test slices, which never build the indexes at startup
+    @Autowired(required = false)
+    private SearchIndexUpdates searchIndexUpdates;
+
+    // Absent in JPA test slices that do not search notes
+    @Autowired(required = false)
+    private NoteTextIndex noteTextIndex;
+
+    // Absent in JPA test slices that do not autocomplete
+    @Autowired(required = false)
+    private AutocompleteIndex autocompleteIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        Long id = idOf(entity);
+        String text = textOf(entity);
+        Class<?> entityType = Hibernate.getClass(entity);
+        if (entityType == Note.class) {
+            if (noteTextIndex != null) {
+                afterCommit(() -> apply(() -> noteTextIndex.index(id, text)));
+            }
+        } else if (searchIndex != null) {
+            afterCommit(() -> apply(() -> searchIndex.index(entityType, id, text)));
+        }
+        String[] completions = completionsOf(entity);
+        if (completions != null && autocompleteIndex != null) {
+            afterCommit(() -> apply(() -> autocompleteIndex.index(entityType, id, completions)));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        Long id = idOf(entity);
+        Class<?> entityType = Hibernate.getClass(entity);
+        if (entityType == Note.class) {
+            if (noteTextIndex != null) {
+                afterCommit(() -> apply(() -> noteTextIndex.remove(id)));
+            }
+        } else if (searchIndex != null) {
+            afterCommit(() -> apply(() -> searchIndex.remove(entityType, id)));
+        }
+        if (completionsOf(entity) != null && autocompleteIndex != null) {
+            afterCommit(() -> apply(() -> autocompleteIndex.remove(entityType, id)));
+        }
+    }
+
+    private void apply(Runnable update) {
+        if (searchIndexUpdates != null) {
+            searchIndexUpdates.apply(update);
+        } else {
+            update.run();
+        }
+    }
+
+    static Long idOf(Object entity) {
+        return switch (entity) {
+            case Customer customer -> customer.getId();
+            case Deal deal -> deal.getId();
+            case Task task -> task.getId();
+            case Contact contact -> contact.getId();
+            case User user -> user.getId();
+            case Note note -> note.getId();
+            default -> throw new IllegalArgumentException("Not a searchable entity: " + entity.getClass());
+        };
+    }
+
+    static String textOf(Object entity) {
+        return switch (entity) {
+            case Customer customer -> customer.getName();
+            case Deal deal -> deal.getDealName();
+            case Task task -> task.getDescription();
+            case Contact contact -> contact.getName();
+            case User user -> user.getUsername();
+            case Note note -> note.getContent();
+            default -> throw new IllegalArgumentException("Not a searchable entity: " + entity.getClass());
+        };
+    }
+
+    // The values an entity completes to in the autocomplete index, or null if it is not autocompleted
+    static String[] completionsOf(Object entity) {
+        return switch (entity) {
+            case Customer customer -> new String[]{customer.getName(), customer.getCompanyName()};
+            case Contact contact -> new String[]{contact.getName(), contact.getEmail()};
+            default -> null;
+        };
+    }
+}
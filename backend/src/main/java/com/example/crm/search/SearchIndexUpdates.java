@@ -0,0 +1,59 @@
+package com.example.crm.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Orders committed entity changes against the startup build of the search indexes. While
+ * {@link SearchIndexInitializer} loads its snapshot, changes are queued instead of applied, and they are
+ * replayed in commit order once the snapshot is in; otherwise a change committed mid-build could be
+ * overwritten by the older row the snapshot read (a deleted customer reappearing, a rename reverted).
+ * Replaying a change the snapshot already contains is harmless, as every update is an upsert or a remove.
+ */
+@Component
+public class SearchIndexUpdates {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexUpdates.class);
+
+    private final Queue<Runnable> held = new ArrayDeque<>();
+
+    private volatile boolean holding;
+
+    public void apply(Runnable update) {
+        if (holding) {
+            synchronized (held) {
+                if (holding) {
+                    held.add(update);
+                    return;
+                }
+            }
+        }
+        update.run();
+    }
+
+    public void hold() {
+        synchronized (held) {
+            holding = true;
+        }
+    }
+
+    // Held changes run before any later one is applied directly; one failing does not hold back the rest
+    public void release() {
+        synchronized (held) {
+            int replayed = held.size();
+            for (Runnable update; (update = held.poll()) != null; ) {
+                try {
+                    update.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Search index update held during the index build failed", e);
+                }
+            }
+            holding = false;
+            logger.info("Applied {} search index updates committed during the index build", replayed);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.example.crm.security;
 import com.example.crm.dto.UserDTO;
 import com.example.crm.model.Role;
 import com.example.crm.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +19,8 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private AuthenticationManager authenticationManager;
 
@@ -28,7 +32,7 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AuthRequest authRequest) {
-        System.out.println("Attempting to authenticate user: " + authRequest.getUsername());
+        logger.debug("Attempting to authenticate user {}", authRequest.getUsername());
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -36,13 +40,14 @@ public class AuthController {
                             authRequest.getPassword())
             );
 
-            String token = jwtUtil.generateToken(authRequest.getUsername());
             UserDTO user = userService.findByUsername(authRequest.getUsername());
             
             if (user == null) {
                 return ResponseEntity.status(404).body("User not found");
             }
 
+            String token = jwtUtil.generateToken(user.getUsername(), user.getRoles());
+
             return ResponseEntity.ok(new AuthResponse(token, user));
 
         } catch (AuthenticationException e) {
@@ -68,7 +73,7 @@ public class AuthController {
             UserDTO createdUser = userService.createUser(newUser);
             
             // Generate token for the new user
-            String token = jwtUtil.generateToken(authRequest.getUsername());
+            String token = jwtUtil.generateToken(createdUser.getUsername(), createdUser.getRoles());
             
             return ResponseEntity.ok(new AuthResponse(token, createdUser));
             
@@ -1,28 +1,70 @@
 package com.example.crm.security;
 
+import com.example.crm.util.LogSampler;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Not "logger", which would hide the commons-logging one inherited from GenericFilterBean
+    private static final Logger authLogger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserRevocationCache userRevocationCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // When enabled, authorities come from the token's signed roles claim instead of a per-request user lookup
+    @Value("${crm.security.stateless-auth:true}")
+    private boolean statelessAuth;
+
+    @Value("${crm.logging.auth-debug-sample-rate:100}")
+    private int debugSampleRate;
+
+    private final LogSampler debugSampler = new LogSampler();
+
+    private Timer validTimer;
+    private Timer rejectedTimer;
+    private Timer invalidTimer;
+
+    @PostConstruct
+    void registerTimers() {
+        validTimer = validationTimer("valid");
+        rejectedTimer = validationTimer("rejected");
+        invalidTimer = validationTimer("invalid");
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -31,46 +73,92 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String username = null;
         String jwt = null;
 
-        System.err.println("=== JWT FILTER DEBUG ===");
-        System.err.println("Request URI: " + request.getRequestURI());
-        System.err.println("Authorization header: " + (authHeader != null ? "Present" : "Missing"));
+        // Sampled to keep per-request tracing cheap under load; compare with crm.logging.auth-debug-sample-rate=1
+        // through the load test's baseline report (README, Load test)
+        boolean traceRequest = authLogger.isDebugEnabled() && debugSampler.sample(debugSampleRate);
+        if (traceRequest) {
+            authLogger.debug("JWT filter uri={} authorization={}", request.getRequestURI(), authHeader != null ? "present" : "missing");
+        }
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwt = authHeader.substring(7);
-            System.err.println("JWT Token: " + jwt.substring(0, Math.min(20, jwt.length())) + "...");
-            
+
             try {
-                username = jwtUtil.extractUsername(jwt);
-                System.err.println("Extracted username: " + username);
-                
+                // Single verification per request; repeat tokens are answered from the claims cache
+                Claims claims = timedValidation(jwt);
+                username = claims != null ? claims.getSubject() : null;
+
+                if (claims == null) {
+                    authLogger.debug("JWT rejected uri={} reason=issued-before-server-start", request.getRequestURI());
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.getWriter().write("{\"error\":\"Invalid or expired token\"}");
+                    return; // Stop the filter chain
+                }
+
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    boolean isValid = jwtUtil.isTokenValid(jwt, userDetails.getUsername());
-                    System.err.println("Token validation result: " + isValid);
-                    
+                    List<String> roles = statelessAuth ? jwtUtil.extractRoles(claims) : null;
+                    UserDetails userDetails;
+                    boolean isValid;
+                    if (roles != null) {
+                        userDetails = userFromClaims(username, roles);
+                        isValid = !userRevocationCache.isRevoked(username, roles);
+                    } else {
+                        userDetails = userDetailsService.loadUserByUsername(username);
+                        isValid = username.equals(userDetails.getUsername());
+                    }
+
                     if (isValid) {
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                         SecurityContextHolder.getContext().setAuthentication(authToken);
-                        System.err.println("Authentication set successfully");
+                        if (traceRequest) {
+                            authLogger.debug("JWT accepted uri={} user={} stateless={}", request.getRequestURI(), username, roles != null);
+                        }
                     } else {
-                        System.err.println("Token validation failed - sending 401");
+                        authLogger.debug("JWT rejected uri={} user={} reason=revoked", request.getRequestURI(), username);
                         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                         response.getWriter().write("{\"error\":\"Invalid or expired token\"}");
                         return; // Stop the filter chain
                     }
                 }
             } catch (Exception e) {
-                System.err.println("ERROR in JWT processing: " + e.getMessage());
+                authLogger.debug("JWT rejected uri={} reason={}", request.getRequestURI(), e.getClass().getSimpleName());
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("{\"error\":\"Invalid token format\"}");
                 return; // Stop the filter chain
             }
-        } else if (authHeader != null) {
-            System.err.println("Invalid Authorization header format");
+        } else if (authHeader != null && traceRequest) {
+            authLogger.debug("JWT filter uri={} ignored non-bearer Authorization header", request.getRequestURI());
         }
 
-        System.err.println("=== END JWT FILTER DEBUG ===");
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Recorded as crm.jwt.validation{outcome}: valid, rejected (issued before server start) or invalid
+    private Claims timedValidation(String jwt) {
+        long start = System.nanoTime();
+        Timer timer = invalidTimer;
+        try {
+            Claims claims = jwtUtil.validateToken(jwt);
+            timer = claims != null ? validTimer : rejectedTimer;
+            return claims;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer validationTimer(String outcome) {
+        return Timer.builder("crm.jwt.validation")
+                .description("JWT signature and claims validation time, including claims cache hits")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static UserDetails userFromClaims(String username, List<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        // No password: the principal is only ever rebuilt from an already verified token
+        return new User(username, "", authorities);
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.crm.security;
 
+import com.example.crm.model.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
+    private static final String ROLES_CLAIM = "roles";
+
     private final String SECRET_KEY = "my_super_secret_key_for_jwt_token_which_should_be_long_enough";
     private final long EXPIRATION_TIME = 1000 * 60 * 60 * 10; // 10 hours
     
@@ -18,8 +28,27 @@ public class JwtUtil {
 
     private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
 
+    // Parsers are immutable and thread-safe, so build it once instead of per call
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    private final JwtClaimsCache claimsCache = new JwtClaimsCache(10_000);
+
     public String generateToken(String username) {
-        return Jwts.builder()
+        return generateToken(username, null);
+    }
+
+    /**
+     * Generates a token that also carries the user's roles as a signed claim,
+     * so requests can be authorised without loading the user.
+     */
+    public String generateToken(String username, Collection<Role> roles) {
+        JwtBuilder builder = Jwts.builder();
+        if (roles != null) {
+            builder.claim(ROLES_CLAIM, roles.stream().map(Role::name).toList());
+        }
+        return builder
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
@@ -35,9 +64,36 @@ public class JwtUtil {
         return getClaims(token).getIssuedAt();
     }
 
+    /**
+     * @return the role names carried by the token, or null if it was issued without them
+     */
+    public List<String> extractRoles(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return roles == null ? null : roles.stream().map(String::valueOf).toList();
+    }
+
     public boolean isTokenValid(String token, String username) {
-        String extractedUsername = extractUsername(token);
-        return extractedUsername.equals(username) && !isTokenExpired(token) && isTokenIssuedAfterServerStart(token);
+        Claims claims = validateToken(token);
+        return claims != null && claims.getSubject().equals(username);
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or null if it was issued before the server started.
+     * Verified claims are cached until the token expires, so repeat requests with the same token skip the
+     * signature check entirely.
+     * @throws JwtException if the token is malformed, has a bad signature or has expired
+     */
+    public Claims validateToken(String token) {
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody(); // rejects expired tokens
+        if (!isTokenIssuedAfterServerStart(claims)) {
+            return null;
+        }
+        claimsCache.put(token, claims);
+        return claims;
     }
 
     public boolean isTokenExpired(String token) {
@@ -46,37 +102,33 @@ public class JwtUtil {
 
     public boolean isTokenIssuedAfterServerStart(String token) {
         try {
-            Date issuedAt = extractIssuedAt(token);
-            if (issuedAt == null) {
-                System.err.println("ERROR: Token has no issued-at claim");
-                return false;
-            }
-            
-            long issuedAtTime = issuedAt.getTime();
-            long currentTime = System.currentTimeMillis();
-            boolean isValid = issuedAtTime >= serverStartTime;
-            
-            // Enhanced debug logging
-            System.err.println("=== JWT VALIDATION DEBUG ===");
-            System.err.println("Token issued at: " + issuedAtTime + " (" + new Date(issuedAtTime) + ")");
-            System.err.println("Server started at: " + serverStartTime + " (" + new Date(serverStartTime) + ")");
-            System.err.println("Current time: " + currentTime + " (" + new Date(currentTime) + ")");
-            System.err.println("Time difference (server - token): " + (serverStartTime - issuedAtTime) + "ms");
-            System.err.println("Token valid after restart: " + isValid);
-            System.err.println("============================");
-            
-            return isValid;
+            return isTokenIssuedAfterServerStart(getClaims(token));
         } catch (Exception e) {
-            System.err.println("ERROR validating token issuance time: " + e.getMessage());
+            logger.debug("Could not read token issuance time: {}", e.getClass().getSimpleName());
+            return false;
+        }
+    }
+
+    private boolean isTokenIssuedAfterServerStart(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        if (issuedAt == null) {
+            logger.debug("Token for {} has no issued-at claim", claims.getSubject());
             return false;
         }
+
+        boolean isValid = issuedAt.getTime() >= serverStartTime;
+        if (!isValid && logger.isDebugEnabled()) {
+            logger.debug("Token for {} issued at {} predates server start at {}",
+                    claims.getSubject(), issuedAt.toInstant(), Instant.ofEpochMilli(serverStartTime));
+        }
+        return isValid;
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        return parser.parseClaimsJws(token).getBody();
     }
 }
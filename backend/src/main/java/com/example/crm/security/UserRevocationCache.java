@@ -0,0 +1,70 @@
+package com.example.crm.security;
+
+import com.example.crm.model.Role;
+import com.example.crm.model.User;
+import com.example.crm.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived snapshot of each user's current roles, used to reject stateless tokens of users who were deleted
+ * or had their roles changed since the token was issued. A user is looked up at most once per TTL;
+ * local changes evict the entry immediately.
+ */
+@Component
+public class UserRevocationCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${crm.security.revocation-cache-ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(Set<String> roles, long loadedAtMillis) {
+    }
+
+    /**
+     * @return true if the user no longer exists or no longer has exactly the roles carried by the token
+     */
+    public boolean isRevoked(String username, Collection<String> tokenRoles) {
+        Set<String> currentRoles = currentRoles(username);
+        return currentRoles == null || !currentRoles.equals(Set.copyOf(tokenRoles));
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    private Set<String> currentRoles(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry == null || now - entry.loadedAtMillis() > ttlSeconds * 1000) {
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entry = new Entry(loadRoles(username), now);
+            entries.put(username, entry);
+        }
+        return entry.roles();
+    }
+
+    private Set<String> loadRoles(String username) {
+        return userRepository.findByUsername(username)
+                .map(User::getRoles)
+                .map(roles -> roles.stream().map(Role::name).collect(Collectors.toUnmodifiableSet()))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.crm.seed;
+
+/**
+ * Size and shape of a synthetic dataset. The per-customer figures are means: each customer's own counts
+ * vary around them, with a few large accounts holding many times the average.
+ * Customers are generated in chunks of {@code batchSize}, {@code threads} chunks at a time.
+ */
+public record SeedSettings(long seed, int users, int customers, double contactsPerCustomer,
+                           double dealsPerCustomer, double tasksPerCustomer, double notesPerCustomer,
+                           int batchSize, int threads, String userPassword) {
+
+    public SeedSettings {
+        if (users < 1 || customers < 0 || batchSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("A dataset needs at least one user, a batch size and a thread");
+        }
+        if (contactsPerCustomer < 0 || dealsPerCustomer < 0 || tasksPerCustomer < 0 || notesPerCustomer < 0) {
+            throw new IllegalArgumentException("Rows per customer cannot be negative");
+        }
+    }
+
+    public long expectedRows() {
+        return users + Math.round(customers
+                * (1 + contactsPerCustomer + dealsPerCustomer + tasksPerCustomer + notesPerCustomer));
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.crm.seed;
+
+import com.example.crm.model.Contact;
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.model.Note;
+import com.example.crm.model.Role;
+import com.example.crm.model.Task;
+import com.example.crm.model.User;
+import com.example.crm.repository.BulkInsertRepository;
+import com.example.crm.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a synthetic dataset with production-like shape: a few users own most customers, a few key
+ * accounts hold many times the average number of deals and notes, most deals sit in the early stages and
+ * most work is medium priority.
+ * Customers are generated in chunks, each from its own random source derived from the seed and the chunk
+ * number, so a seed always produces the same rows however many threads write them. Only the generated
+ * keys depend on which chunk commits first, and dates are relative to the time of the run.
+ * Each chunk is inserted in one transaction through {@link BulkInsertRepository}, so entity listeners do
+ * not fire: the caller must rebuild the pipeline metrics and search indexes afterwards.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /**
+     * Words customer names are built from, so each of them matches many customers when searched for.
+     */
+    public static final List<String> NAME_WORDS = List.of("acme", "globex", "initech", "umbrella", "stark",
+            "wayne", "wonka", "hooli", "vandelay", "soylent", "cyberdyne", "tyrell", "oscorp", "massive", "dynamic",
+            "northern", "pacific", "summit", "harbor", "granite", "silver", "vertex", "nimbus", "orbit", "pioneer",
+            "quantum", "redwood", "sterling", "atlas", "meridian");
+
+    private static final String[] SUFFIXES = {"Inc", "Ltd", "Corp", "Group", "Holdings", "Partners", "LLC"};
+    private static final String[] FIRST_NAMES = {"Alice", "Bob", "Carol", "Dan", "Erin", "Frank", "Grace",
+            "Heidi", "Ivan", "Judy", "Mallory", "Niaj", "Olivia", "Peggy", "Rupert", "Sybil", "Trent", "Victor",
+            "Wendy", "Yusuf"};
+    private static final String[] LAST_NAMES = {"Smith", "Jones", "Garcia", "Miller", "Davis", "Lopez", "Wilson",
+            "Anderson", "Taylor", "Moore", "Martin", "Lee", "Walker", "Hall", "Young", "King", "Wright", "Scott"};
+    private static final String[] POSITIONS = {"Manager", "Buyer", "Director", "Engineer", "CFO", "Assistant"};
+    private static final int[] POSITION_WEIGHTS = {30, 25, 15, 15, 5, 10};
+    private static final String[] STREETS = {"Main", "High", "Park", "Church", "Station", "Mill", "Bridge"};
+
+    private static final String[] CITIES = {"New York", "London", "Toronto", "Berlin", "Sydney", "Austin",
+            "Dublin", "Madrid", "Zurich", "Oslo"};
+    private static final String[] COUNTRIES = {"USA", "UK", "Canada", "Germany", "Australia", "USA", "Ireland",
+            "Spain", "Switzerland", "Norway"};
+    private static final String[] STATES = {"NY", null, "ON", null, "NSW", "TX", null, null, null, null};
+    private static final int[] CITY_WEIGHTS = {30, 20, 10, 9, 8, 8, 5, 4, 3, 3};
+
+    private static final Role[] ROLES = {Role.ADMIN, Role.MANAGER, Role.SUPPORT, Role.USER};
+    private static final int[] ROLE_WEIGHTS = {2, 13, 25, 60};
+
+    private static final String[] STAGES = {"New", "Qualified", "Proposal", "Negotiation", "Closed"};
+    private static final int[] STAGE_WEIGHTS = {35, 25, 15, 10, 15};
+    private static final String[] PRIORITIES = {"High", "Medium", "Low"};
+    private static final int[] PRIORITY_WEIGHTS = {15, 55, 30};
+    private static final String[] TASK_STATUSES = {"Pending", "In Progress", "Completed"};
+    private static final int[] TASK_STATUS_WEIGHTS = {45, 15, 40};
+    private static final String[] DEAL_KINDS = {"renewal", "expansion", "pilot", "license", "support plan"};
+    private static final String[] TOPICS = {"pricing", "renewal", "onboarding", "contract", "integration",
+            "budget", "roadmap", "invoice", "security review", "training"};
+
+    // Spread of account sizes: a log-normal factor with mean 1, so most customers are near the average
+    private static final double ACCOUNT_SIZE_SIGMA = 1.0;
+    private static final double MAX_ACCOUNT_SIZE = 50;
+    private static final int DAYS_OF_HISTORY = 3 * 365;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BulkInsertRepository bulkInsertRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Rows written by one run, by table.
+     */
+    public record SeedSummary(long users, long customers, long contacts, long deals, long tasks, long notes,
+                              long millis) {
+
+        public long rows() {
+            return users + customers + contacts + deals + tasks + notes;
+        }
+    }
+
+    private record ChunkRows(long customers, long contacts, long deals, long tasks, long notes) {
+    }
+
+    public SeedSummary generate(SeedSettings settings) {
+        long start = System.currentTimeMillis();
+        logger.info("Generating about {} rows from seed {}: {} users, {} customers", settings.expectedRows(),
+                settings.seed(), settings.users(), settings.customers());
+        List<User> users = createUsers(settings);
+        double[] owners = ownerWeights(users.size());
+
+        int chunks = (settings.customers() + settings.batchSize() - 1) / settings.batchSize();
+        AtomicInteger finished = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads());
+        List<ChunkRows> written = new ArrayList<>();
+        try {
+            List<Future<ChunkRows>> futures = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int number = chunk;
+                futures.add(executor.submit(() -> {
+                    ChunkRows rows = writeChunk(settings, number, users, owners);
+                    logProgress(finished.incrementAndGet(), chunks);
+                    return rows;
+                }));
+            }
+            for (Future<ChunkRows> future : futures) {
+                written.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic data generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SeedSummary summary = new SeedSummary(users.size(),
+                written.stream().mapToLong(ChunkRows::customers).sum(),
+                written.stream().mapToLong(ChunkRows::contacts).sum(),
+                written.stream().mapToLong(ChunkRows::deals).sum(),
+                written.stream().mapToLong(ChunkRows::tasks).sum(),
+                written.stream().mapToLong(ChunkRows::notes).sum(),
+                System.currentTimeMillis() - start);
+        logger.info("Generated {} rows in {} ms: {}", summary.rows(), summary.millis(), summary);
+        return summary;
+    }
+
+    // The first user is always an admin; the rest are mostly plain users
+    private List<User> createUsers(SeedSettings settings) {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        String password = passwordEncoder.encode(settings.userPassword());
+        List<User> users = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            User user = new User();
+            user.setUsername("seed-user-" + i);
+            user.setEmail("seed-user-" + i + "@crm.example");
+            user.setPassword(password);
+            user.setRoles(Set.of(i == 0 ? Role.ADMIN : pick(random, ROLES, ROLE_WEIGHTS)));
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private ChunkRows writeChunk(SeedSettings settings, int chunk, List<User> users, double[] owners) {
+        SplittableRandom random = new SplittableRandom(settings.seed() + (chunk + 1) * 0x9E3779B97F4A7C15L);
+        int from = chunk * settings.batchSize();
+        int to = Math.min(from + settings.batchSize(), settings.customers());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        List<Customer> customers = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            customers.add(customer(random, i, users.get(pickIndex(random, owners)), now));
+        }
+        return transactionTemplate.execute(status -> {
+            List<Long> customerIds = bulkInsertRepository.insertCustomers(customers);
+            for (int i = 0; i < customers.size(); i++) {
+                customers.get(i).setId(customerIds.get(i));
+            }
+
+            List<Contact> contacts = new ArrayList<>();
+            List<Deal> deals = new ArrayList<>();
+            List<Task> tasks = new ArrayList<>();
+            int[] notesPerCustomer = new int[customers.size()];
+            int[] firstDeal = new int[customers.size() + 1];
+            for (int c = 0; c < customers.size(); c++) {
+                Customer customer = customers.get(c);
+                double size = accountSize(random);
+                for (int i = poisson(random, settings.contactsPerCustomer()); i > 0; i--) {
+                    contacts.add(contact(random, customer));
+                }
+                firstDeal[c] = deals.size();
+                for (int i = poisson(random, settings.dealsPerCustomer() * size); i > 0; i--) {
+                    deals.add(deal(random, customer, now));
+                }
+                for (int i = poisson(random, settings.tasksPerCustomer() * size); i > 0; i--) {
+                    User assignee = random.nextInt(10) < 7
+                            ? customer.getUser()
+                            : users.get(random.nextInt(users.size()));
+                    tasks.add(task(random, customer, assignee, now));
+                }
+                notesPerCustomer[c] = poisson(random, settings.notesPerCustomer() * size);
+            }
+            firstDeal[customers.size()] = deals.size();
+
+            bulkInsertRepository.insertContacts(contacts);
+            List<Long> dealIds = bulkInsertRepository.insertDeals(deals);
+            for (int i = 0; i < deals.size(); i++) {
+                deals.get(i).setId(dealIds.get(i));
+            }
+            bulkInsertRepository.insertTasks(tasks);
+
+            List<Note> notes = new ArrayList<>();
+            for (int c = 0; c < customers.size(); c++) {
+                int customerDeals = firstDeal[c + 1] - firstDeal[c];
+                for (int i = 0; i < notesPerCustomer[c]; i++) {
+                    // Most notes of a customer with deals are about one of them
+                    Deal deal = customerDeals > 0 && random.nextInt(10) < 6
+                            ? deals.get(firstDeal[c] + random.nextInt(customerDeals))
+                            : null;
+                    notes.add(note(random, customers.get(c), deal, now));
+                }
+            }
+            bulkInsertRepository.insertNotes(notes);
+            return new ChunkRows(customers.size(), contacts.size(), deals.size(), tasks.size(), notes.size());
+        });
+    }
+
+    private static Customer customer(SplittableRandom random, int index, User owner, LocalDateTime now) {
+        String first = word(random);
+        String second = word(random);
+        while (second.equals(first)) {
+            second = word(random);
+        }
+        String name = capitalize(first) + " " + capitalize(second) + " " + SUFFIXES[random.nextInt(SUFFIXES.length)];
+        int place = pickIndex(random, CITY_WEIGHTS);
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setEmail("contact" + index + "@" + name.toLowerCase(Locale.ROOT).replace(' ', '-') + ".example");
+        customer.setPhone(phone(random));
+        customer.setCompanyName(name);
+        customer.setAddress((1 + random.nextInt(999)) + " " + STREETS[random.nextInt(STREETS.length)] + " Street");
+        customer.setCity(CITIES[place]);
+        customer.setState(STATES[place]);
+        customer.setCountry(COUNTRIES[place]);
+        customer.setPostalCode(String.valueOf(10000 + random.nextInt(90000)));
+        // Newer customers are more common than old ones
+        LocalDateTime created = now.minusMinutes(recentBias(random, DAYS_OF_HISTORY * 24L * 60));
+        customer.setCreatedDate(created);
+        customer.setLastUpdated(created.plusMinutes(random.nextLong(ChronoUnit.MINUTES.between(created, now) + 1)));
+        customer.setUser(owner);
+        return customer;
+    }
+
+    private static Contact contact(SplittableRandom random, Customer customer) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        Contact contact = new Contact();
+        contact.setName(first + " " + last);
+        contact.setEmail((first + "." + last).toLowerCase(Locale.ROOT) + "@" + customer.getEmail().split("@")[1]);
+        contact.setPhone(phone(random));
+        contact.setPosition(pick(random, POSITIONS, POSITION_WEIGHTS));
+        contact.setCustomer(customer);
+        return contact;
+    }
+
+    private static Deal deal(SplittableRandom random, Customer customer, LocalDateTime now) {
+        Deal deal = new Deal();
+        deal.setDealName(capitalize(word(random)) + " " + DEAL_KINDS[random.nextInt(DEAL_KINDS.length)]);
+        // Log-normal amounts: a median around 1,100 with a long tail of large deals
+        deal.setAmount(Math.round(Math.exp(7 + 1.5 * random.nextGaussian()) * 100) / 100.0);
+        deal.setStage(pick(random, STAGES, STAGE_WEIGHTS));
+        deal.setDealDate(between(random, customer.getCreatedDate(), now).toLocalDate());
+        deal.setPriority(pick(random, PRIORITIES, PRIORITY_WEIGHTS));
+        deal.setCustomer(customer);
+        return deal;
+    }
+
+    // Completed tasks were due in the past; open ones are spread around today, some overdue
+    private static Task task(SplittableRandom random, Customer customer, User assignee, LocalDateTime now) {
+        String status = pick(random, TASK_STATUSES, TASK_STATUS_WEIGHTS);
+        LocalDate today = now.toLocalDate();
+        Task task = new Task();
+        task.setDescription("Follow up with " + customer.getName() + " about the "
+                + TOPICS[random.nextInt(TOPICS.length)]);
+        task.setDueDate(status.equals("Completed") ? today.minusDays(1 + random.nextInt(365))
+                : today.plusDays(random.nextInt(-30, 90)));
+        task.setStatus(status);
+        task.setPriority(pick(random, PRIORITIES, PRIORITY_WEIGHTS));
+        task.setCustomer(customer);
+        task.setAssignedUser(assignee);
+        return task;
+    }
+
+    private static Note note(SplittableRandom random, Customer customer, Deal deal, LocalDateTime now) {
+        String subject = deal != null ? "the " + deal.getDealName() : TOPICS[random.nextInt(TOPICS.length)];
+        Note note = new Note();
+        note.setContent("Spoke to " + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " at " + customer.getName()
+                + " about " + subject + "; next step is a " + TOPICS[random.nextInt(TOPICS.length)] + " call.");
+        note.setCreatedAt(between(random, customer.getCreatedDate(), now));
+        note.setCustomer(customer);
+        note.setDeal(deal);
+        return note;
+    }
+
+    private void logProgress(int finished, int chunks) {
+        int step = Math.max(1, chunks / 10);
+        if (finished % step == 0 || finished == chunks) {
+            logger.info("Synthetic data: {} of {} customer batches written", finished, chunks);
+        }
+    }
+
+    // Cumulative Zipf weights: the i-th user owns customers in proportion to 1 / (i + 1)
+    private static double[] ownerWeights(int users) {
+        double[] cumulative = new double[users];
+        double total = 0;
+        for (int i = 0; i < users; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private static int pickIndex(SplittableRandom random, double[] cumulative) {
+        int i = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return Math.min(i >= 0 ? i : -i - 1, cumulative.length - 1);
+    }
+
+    private static int pickIndex(SplittableRandom random, int[] weights) {
+        int pick = random.nextInt(Arrays.stream(weights).sum());
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values, int[] weights) {
+        return values[pickIndex(random, weights)];
+    }
+
+    private static double accountSize(SplittableRandom random) {
+        double sigma = ACCOUNT_SIZE_SIGMA;
+        return Math.min(MAX_ACCOUNT_SIZE, Math.exp(sigma * random.nextGaussian() - sigma * sigma / 2));
+    }
+
+    // Knuth's method for small means; a normal approximation above that
+    private static int poisson(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        if (mean > 30) {
+            return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    // Between 0 and max, with small values more likely
+    private static long recentBias(SplittableRandom random, long max) {
+        double u = random.nextDouble();
+        return (long) (u * u * max);
+    }
+
+    private static LocalDateTime between(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        return from.plusMinutes(random.nextLong(ChronoUnit.MINUTES.between(from, to) + 1));
+    }
+
+    private static String word(SplittableRandom random) {
+        return NAME_WORDS.get(random.nextInt(NAME_WORDS.size()));
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "+1" + random.nextLong(2_000_000_000L, 10_000_000_000L);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.ImportResultDTO;
+import com.example.crm.importer.ImportFormat;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface BulkImportService {
+    ImportResultDTO importCustomers(InputStream rows, ImportFormat format);
+    ImportResultDTO importContacts(InputStream rows, ImportFormat format);
+    ImportResultDTO importDeals(InputStream rows, ImportFormat format);
+    ImportResultDTO importTasks(InputStream rows, ImportFormat format);
+    List<ImportResultDTO> getImports();
+    ImportResultDTO getImport(String jobId);
+    Path getImportErrors(String jobId);
+}
@@ -0,0 +1,337 @@
+package com.example.crm.service;
+
+import com.example.crm.cache.DtoCacheEvictor;
+import com.example.crm.dto.*;
+import com.example.crm.exception.ResourceNotFoundException;
+import com.example.crm.importer.ImportFormat;
+import com.example.crm.importer.ImportJob;
+import com.example.crm.importer.ImportJobRegistry;
+import com.example.crm.importer.ImportRowReader;
+import com.example.crm.mapper.ContactMapper;
+import com.example.crm.mapper.CustomerMapper;
+import com.example.crm.mapper.DealMapper;
+import com.example.crm.mapper.TaskMapper;
+import com.example.crm.metrics.PipelineMetrics;
+import com.example.crm.metrics.PipelineMetrics.DealFacts;
+import com.example.crm.model.*;
+import com.example.crm.repository.BulkInsertRepository;
+import com.example.crm.search.AutocompleteIndex;
+import com.example.crm.search.SearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.crm.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Bulk import from JSON arrays, NDJSON or CSV. The body is streamed one record at a time; each row is mapped
+ * to its entity and checked against the entity's bean-validation constraints, and accepted rows are written
+ * in JDBC batches of crm.import.batch-size. Each batch commits in its own transaction, so a bad row or a
+ * failed batch is reported without losing the rest of the import. The request thread does the reading and
+ * the writing, so the upload is only read as fast as batches are written and memory stays at one batch
+ * whatever the size of the file. Progress and rejected rows are tracked on an {@link ImportJob}.
+ */
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportServiceImpl.class);
+
+    private static final long PROGRESS_LOG_INTERVAL = 100_000;
+
+    @Autowired
+    private BulkInsertRepository bulkInsertRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ImportJobRegistry importJobRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    // Absent in JPA test slices that do not autocomplete
+    @Autowired(required = false)
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private DtoCacheEvictor dtoCacheEvictor;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private ContactMapper contactMapper;
+
+    @Autowired
+    private DealMapper dealMapper;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Value("${crm.import.batch-size:1000}")
+    private int batchSize;
+
+    // A foreign key the rows may carry, checked against the database once per batch
+    private record Reference<E>(String name, Function<E, Long> id, Function<Collection<Long>, Set<Long>> existing) {
+    }
+
+    private record ImportRow<E>(long row, E entity) {
+    }
+
+    @Override
+    public ImportResultDTO importCustomers(InputStream rows, ImportFormat format) {
+        return importRows(rows, format, "Customer", CustomerDTO.class,
+                dto -> {
+                    Customer customer = customerMapper.toEntity(dto);
+                    customer.onCreate();
+                    return customer;
+                },
+                List.of(new Reference<>("user", customer -> idOf(customer.getUser()),
+                        bulkInsertRepository::findExistingUserIds)),
+                bulkInsertRepository::insertCustomers,
+                (id, customer) -> {
+                    searchIndex.index(Customer.class, id, customer.getName());
+                    if (autocompleteIndex != null) {
+                        autocompleteIndex.index(Customer.class, id, customer.getName(), customer.getCompanyName());
+                    }
+                    // The owning user's cached DTO lists its customers
+                    dtoCacheEvictor.evict(customer);
+                });
+    }
+
+    @Override
+    public ImportResultDTO importContacts(InputStream rows, ImportFormat format) {
+        return importRows(rows, format, "Contact", ContactDTO.class, contactMapper::toEntity,
+                List.of(new Reference<>("customer", contact -> idOf(contact.getCustomer()),
+                        bulkInsertRepository::findExistingCustomerIds)),
+                bulkInsertRepository::insertContacts,
+                (id, contact) -> {
+                    searchIndex.index(Contact.class, id, contact.getName());
+                    if (autocompleteIndex != null) {
+                        autocompleteIndex.index(Contact.class, id, contact.getName(), contact.getEmail());
+                    }
+                });
+    }
+
+    @Override
+    public ImportResultDTO importDeals(InputStream rows, ImportFormat format) {
+        return importRows(rows, format, "Deal", DealDTO.class, dealMapper::toEntity,
+                List.of(new Reference<>("customer", deal -> idOf(deal.getCustomer()),
+                        bulkInsertRepository::findExistingCustomerIds)),
+                bulkInsertRepository::insertDeals,
+                (id, deal) -> {
+                    searchIndex.index(Deal.class, id, deal.getDealName());
+                    pipelineMetrics.add(DealFacts.of(deal));
+                });
+    }
+
+    @Override
+    public ImportResultDTO importTasks(InputStream rows, ImportFormat format) {
+        return importRows(rows, format, "Task", TaskDTO.class,
+                dto -> {
+                    Task task = taskMapper.toEntity(dto);
+                    if (dto.getAssignedUserId() != null) {
+                        User assignee = new User();
+                        assignee.setId(dto.getAssignedUserId());
+                        task.setAssignedUser(assignee);
+                    }
+                    return task;
+                },
+                List.of(new Reference<>("customer", task -> idOf(task.getCustomer()),
+                                bulkInsertRepository::findExistingCustomerIds),
+                        new Reference<>("assigned user", task -> idOf(task.getAssignedUser()),
+                                bulkInsertRepository::findExistingUserIds)),
+                bulkInsertRepository::insertTasks,
+                (id, task) -> searchIndex.index(Task.class, id, task.getDescription()));
+    }
+
+    @Override
+    public List<ImportResultDTO> getImports() {
+        return importJobRegistry.list().stream().map(ImportJob::toResult).toList();
+    }
+
+    @Override
+    public ImportResultDTO getImport(String jobId) {
+        return findJob(jobId).toResult();
+    }
+
+    @Override
+    public Path getImportErrors(String jobId) {
+        return findJob(jobId).getErrorFile();
+    }
+
+    private ImportJob findJob(String jobId) {
+        return importJobRegistry.find(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found: " + jobId));
+    }
+
+    private <D, E> ImportResultDTO importRows(InputStream body, ImportFormat format, String entityType, Class<D> rowType,
+                                              Function<D, E> toEntity, List<Reference<E>> references,
+                                              Function<List<E>, List<Long>> insert, BiConsumer<Long, E> onImported) {
+        ImportJob job = importJobRegistry.start(entityType, format);
+        List<ImportRow<E>> batch = new ArrayList<>(batchSize);
+        ImportJob.Status status = ImportJob.Status.COMPLETED;
+        String message = null;
+
+        try {
+            try (ImportRowReader reader = ImportRowReader.open(format, job.track(body), objectMapper)) {
+                for (ImportRowReader.Row record = reader.next(); record != null; record = reader.next()) {
+                    long row = job.nextRow();
+                    E entity = toValidEntity(record, rowType, toEntity, row, job);
+                    if (entity == null) {
+                        continue;
+                    }
+                    batch.add(new ImportRow<>(row, entity));
+                    if (batch.size() >= batchSize) {
+                        write(entityType, batch, references, insert, onImported, job);
+                        batch.clear();
+                    }
+                    if (row % PROGRESS_LOG_INTERVAL == 0) {
+                        logger.info("{} import {}: {} rows read, {} imported, {} rejected", entityType, job.getId(),
+                                row, job.getImported(), job.getFailed());
+                    }
+                }
+            } catch (JsonProcessingException ex) {
+                // Rows before the syntax error are still imported; nothing after it can be read
+                long row = job.nextRow();
+                message = "Malformed " + format + " at row " + row + ": " + ex.getOriginalMessage();
+                job.reject(row, message);
+                status = ImportJob.Status.ABORTED;
+            }
+            write(entityType, batch, references, insert, onImported, job);
+        } catch (IOException ex) {
+            job.finish(ImportJob.Status.FAILED, ex.getMessage());
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException ex) {
+            job.finish(ImportJob.Status.FAILED, ex.getMessage());
+            throw ex;
+        }
+        job.finish(status, message);
+
+        ImportResultDTO result = job.toResult();
+        logger.info("{} import {} {}: {} of {} rows imported, {} rejected, {} bytes read in {} ms", entityType,
+                job.getId(), status, result.getImported(), result.getReceived(), result.getFailed(),
+                result.getBytesRead(), Duration.between(result.getStartedAt(), result.getFinishedAt()).toMillis());
+        return result;
+    }
+
+    // Returns null after rejecting a row that cannot be bound or breaks the entity's constraints
+    private <D, E> E toValidEntity(ImportRowReader.Row record, Class<D> rowType, Function<D, E> toEntity,
+                                   long row, ImportJob job) {
+        if (record.error() != null) {
+            job.reject(row, record.error());
+            return null;
+        }
+        if (!record.node().isObject()) {
+            job.reject(row, "Expected a JSON object");
+            return null;
+        }
+        E entity;
+        try {
+            entity = toEntity.apply(objectMapper.treeToValue(record.node(), rowType));
+        } catch (JsonProcessingException ex) {
+            job.reject(row, "Unreadable row: " + ex.getOriginalMessage());
+            return null;
+        }
+        String violations = violations(entity);
+        if (violations != null) {
+            job.reject(row, violations);
+            return null;
+        }
+        return entity;
+    }
+
+    private <E> void write(String entityType, List<ImportRow<E>> batch, List<Reference<E>> references,
+                           Function<List<E>, List<Long>> insert, BiConsumer<Long, E> onImported, ImportJob job) {
+        List<ImportRow<E>> accepted = batch;
+        for (Reference<E> reference : references) {
+            accepted = withExistingReference(accepted, reference, job);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<E> entities = accepted.stream().map(ImportRow::entity).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = insert.apply(entities);
+                afterCommit(() -> {
+                    for (int i = 0; i < ids.size(); i++) {
+                        onImported.accept(ids.get(i), entities.get(i));
+                    }
+                });
+            });
+            job.imported(entities.size());
+        } catch (DataAccessException ex) {
+            String cause = ex.getMostSpecificCause().getMessage();
+            logger.warn("{} import batch of {} rows was rejected: {}", entityType, entities.size(), cause);
+            accepted.forEach(row -> job.reject(row.row(), "Batch rejected by the database: " + cause));
+        }
+    }
+
+    private <E> List<ImportRow<E>> withExistingReference(List<ImportRow<E>> rows, Reference<E> reference,
+                                                         ImportJob job) {
+        Set<Long> ids = rows.stream()
+                .map(row -> reference.id().apply(row.entity()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existing = reference.existing().apply(ids);
+
+        List<ImportRow<E>> kept = new ArrayList<>(rows.size());
+        for (ImportRow<E> row : rows) {
+            Long id = reference.id().apply(row.entity());
+            if (id == null || existing.contains(id)) {
+                kept.add(row);
+            } else {
+                job.reject(row.row(), "Unknown " + reference.name() + " id " + id);
+            }
+        }
+        return kept;
+    }
+
+    private String violations(Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static Long idOf(Customer customer) {
+        return customer != null ? customer.getId() : null;
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+}
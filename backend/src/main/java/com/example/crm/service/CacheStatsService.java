@@ -0,0 +1,9 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.CacheStatsDTO;
+
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheStatsDTO> getCacheStats();
+}
@@ -0,0 +1,47 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+/**
+ * Hit and miss counts of the in-process caches, counted since startup, for sizing their bounds and TTLs:
+ * the second-level cache regions ("entity") and the detail DTO caches ("dto").
+ */
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    @Autowired
+    private javax.cache.CacheManager entityCacheManager;
+
+    @Autowired
+    private CacheManager dtoCacheManager;
+
+    @Override
+    public List<CacheStatsDTO> getCacheStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+        StreamSupport.stream(entityCacheManager.getCacheNames().spliterator(), false)
+                .sorted()
+                .map(name -> toDTO(name, "entity", entityCacheManager.getCache(name).unwrap(Cache.class)))
+                .forEach(stats::add);
+        dtoCacheManager.getCacheNames().stream()
+                .sorted()
+                .map(name -> toDTO(name, "dto", ((CaffeineCache) dtoCacheManager.getCache(name)).getNativeCache()))
+                .forEach(stats::add);
+        return stats;
+    }
+
+    private static CacheStatsDTO toDTO(String name, String type, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(name, type, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -1,16 +1,21 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.ContactDTO;
+import com.example.crm.dto.ContactFilterDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 public interface ContactService {
     ContactDTO createContact(ContactDTO contactDTO);
     ContactDTO getContactById(Long id);
     List<ContactDTO> getAllContacts();
+    Slice<ContactDTO> getContacts(ContactFilterDTO filter, Pageable pageable, boolean withTotal);
     ContactDTO updateContact(Long id, ContactDTO contactDTO);
     void deleteContact(Long id);
 
     List<ContactDTO> getContactsByCustomerId(Long customerId);
 
     List<ContactDTO> searchByName(String query);
+    List<ContactDTO> searchByName(String query, int limit);
 }
\ No newline at end of file
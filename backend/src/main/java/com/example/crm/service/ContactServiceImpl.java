@@ -1,28 +1,55 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.ContactDTO;
+import com.example.crm.dto.ContactFilterDTO;
 import com.example.crm.mapper.ContactMapper;
 import com.example.crm.model.Contact;
 import com.example.crm.model.Customer;
 import com.example.crm.repository.ContactRepository;
 import com.example.crm.service.ContactService;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.util.IdBatches;
+import com.example.crm.util.Pageables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.example.crm.repository.EntitySpecifications.*;
+
 @Service
 public class ContactServiceImpl implements ContactService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "email", "position");
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactServiceImpl.class);
+
     @Autowired
     private ContactRepository contactRepository;
 
+    @Value("${crm.list.max-rows:1000}")
+    private int maxListRows;
+
+    @Value("${crm.search.max-results:200}")
+    private int maxSearchResults;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Autowired
     private ContactMapper contactMapper;
 
     @Override
+    @Transactional
     public ContactDTO createContact(ContactDTO contactDTO) {
         Contact contact = contactMapper.toEntity(contactDTO);
         return contactMapper.toDTO(contactRepository.save(contact));
@@ -42,24 +69,28 @@ public class ContactServiceImpl implements ContactService {
     @Override
     @Transactional(readOnly = true)
     public List<ContactDTO> getAllContacts() {
-        System.out.println("=== DEBUG: getAllContacts called ===");
-        List<Contact> contacts = contactRepository.findAllWithCustomer();
-        System.out.println("=== DEBUG: Found " + contacts.size() + " contacts ===");
-        
-        if (contacts.isEmpty()) {
-            System.out.println("=== DEBUG: No contacts found in database ===");
-        } else {
-            contacts.forEach(contact -> {
-                System.out.println("Contact: " + contact.getName() + " - " + contact.getEmail());
-            });
-        }
-        
-        return contacts.stream()
-                .map(contactMapper::toDTO)
-                .collect(Collectors.toList());
+        List<ContactDTO> contacts = contactRepository.findAllDtos(Pageables.firstRows(maxListRows));
+        logger.debug("Loaded {} contacts", contacts.size());
+        return contacts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ContactDTO> getContacts(ContactFilterDTO filter, Pageable pageable, boolean withTotal) {
+        Pageables.checkSort(pageable, SORTABLE_FIELDS);
+        Specification<Contact> specification = Specification.<Contact>where(containsIgnoreCase("name", filter.getName()))
+                .and(containsIgnoreCase("email", filter.getEmail()))
+                .and(equal("position", filter.getPosition()))
+                .and(equal("customer.id", filter.getCustomerId()));
+        // The count query is only run for callers that ask for the total
+        Slice<Contact> contacts = withTotal
+                ? contactRepository.findAll(specification, pageable)
+                : contactRepository.findSlice(specification, pageable);
+        return contacts.map(contactMapper::toDTO);
     }
 
     @Override
+    @Transactional
     public ContactDTO updateContact(Long id, ContactDTO contactDTO) {
         Contact contact = contactRepository.findById(id).orElseThrow();
         contact.setName(contactDTO.getName());
@@ -78,6 +109,7 @@ public class ContactServiceImpl implements ContactService {
     }
 
     @Override
+    @Transactional
     public void deleteContact(Long id) {
         contactRepository.deleteById(id);
     }
@@ -85,15 +117,22 @@ public class ContactServiceImpl implements ContactService {
     @Override
     @Transactional(readOnly = true)
     public List<ContactDTO> getContactsByCustomerId(Long customerId) {
-        return contactRepository.findByCustomerIdWithCustomer(customerId).stream()
-                .map(contactMapper::toDTO)
-                .collect(Collectors.toList());
+        return contactRepository.findDtosByCustomerId(customerId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ContactDTO> searchByName(String query) {
-        return contactRepository.searchByName(query).stream()
+        return searchByName(query, maxSearchResults);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ContactDTO> searchByName(String query, int limit) {
+        List<Contact> contacts = searchIndex.isReady()
+                ? IdBatches.load(searchIndex.search(Contact.class, query, limit), contactRepository::findByIdInOrderByIdAsc)
+                : contactRepository.searchByName(query, Pageables.firstRows(limit));
+        return contacts.stream()
                 .map(contactMapper::toDTO)
                 .collect(Collectors.toList());
     }
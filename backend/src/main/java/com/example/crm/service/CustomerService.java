@@ -1,20 +1,26 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.CustomerFilterDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 public interface CustomerService {
     CustomerDTO createCustomer(CustomerDTO customerDTO);
     CustomerDTO getCustomerById(Long id);
     List<CustomerDTO> getAllCustomers();
+    Slice<CustomerDTO> getCustomers(CustomerFilterDTO filter, Pageable pageable, boolean withTotal);
     CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO);
     void deleteCustomer(Long id);
 
     List<CustomerDTO> getCustomersByUserId(Long userId);
-    List<CustomerDTO> searchCustomersByName(String name);
     List<CustomerDTO> getCustomersByCity(String city);
     List<CustomerDTO> getCustomersByState(String state);
     List<CustomerDTO> getCustomersByCountry(String country);
 
     List<CustomerDTO> searchByName(String query);
+
+    // At most limit results; the one-argument form uses the configured maximum
+    List<CustomerDTO> searchByName(String query, int limit);
 }
\ No newline at end of file
@@ -1,27 +1,54 @@
 package com.example.crm.service;
 
+import com.example.crm.cache.DtoCaches;
 import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.CustomerFilterDTO;
 import com.example.crm.mapper.CustomerMapper;
 import com.example.crm.model.Customer;
 import com.example.crm.repository.CustomerRepository;
 import com.example.crm.service.CustomerService;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.util.IdBatches;
+import com.example.crm.util.Pageables;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.example.crm.repository.EntitySpecifications.*;
+
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "email", "companyName",
+            "city", "state", "country", "createdDate", "lastUpdated");
+
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Value("${crm.list.max-rows:1000}")
+    private int maxListRows;
+
+    @Value("${crm.search.max-results:200}")
+    private int maxSearchResults;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Autowired
     private CustomerMapper customerMapper;
 
     @Override
+    @Transactional
     public CustomerDTO createCustomer(CustomerDTO customerDTO) {
         Customer customer = customerMapper.toEntity(customerDTO);
         customer.setCreatedDate(LocalDateTime.now());
@@ -30,19 +57,38 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Cacheable(DtoCaches.CUSTOMERS)
+    @Transactional(readOnly = true)
     public CustomerDTO getCustomerById(Long id) {
         Customer customer = customerRepository.findById(id).orElseThrow();
         return customerMapper.toDto(customer);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getAllCustomers() {
-        return customerRepository.findAll().stream()
-                .map(customerMapper::toDto)
-                .collect(Collectors.toList());
+        return customerRepository.findAllDtos(Pageables.firstRows(maxListRows));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CustomerDTO> getCustomers(CustomerFilterDTO filter, Pageable pageable, boolean withTotal) {
+        Pageables.checkSort(pageable, SORTABLE_FIELDS);
+        Specification<Customer> specification = Specification.<Customer>where(containsIgnoreCase("name", filter.getName()))
+                .and(containsIgnoreCase("companyName", filter.getCompanyName()))
+                .and(equal("city", filter.getCity()))
+                .and(equal("state", filter.getState()))
+                .and(equal("country", filter.getCountry()))
+                .and(equal("user.id", filter.getUserId()));
+        // The count query is only run for callers that ask for the total
+        Slice<Customer> customers = withTotal
+                ? customerRepository.findAll(specification, pageable)
+                : customerRepository.findSlice(specification, pageable);
+        return customers.map(customerMapper::toDto);
     }
 
     @Override
+    @Transactional
     public CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO) {
         Customer customer = customerRepository.findById(id).orElseThrow();
         customer.setName(customerDTO.getName());
@@ -59,25 +105,19 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional
     public void deleteCustomer(Long id) {
         customerRepository.deleteById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getCustomersByUserId(Long userId) {
-        return customerRepository.findByUserId(userId).stream()
-                .map(customerMapper::toDto)
-                .collect(Collectors.toList());
-    }
-
-    @Override
-    public List<CustomerDTO> searchCustomersByName(String name) {
-        return customerRepository.searchByName(name).stream()
-                .map(customerMapper::toDto)
-                .collect(Collectors.toList());
+        return customerRepository.findDtosByUserId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getCustomersByCity(String city) {
         return customerRepository.findByCity(city).stream()
                 .map(customerMapper::toDto)
@@ -85,6 +125,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getCustomersByState(String state) {
         return customerRepository.findByState(state).stream()
                 .map(customerMapper::toDto)
@@ -92,6 +133,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getCustomersByCountry(String country) {
         return customerRepository.findByCountry(country).stream()
                 .map(customerMapper::toDto)
@@ -99,9 +141,19 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerDTO> searchByName(String query) {
-        return customerRepository.searchByName(query).stream().
-                map(customerMapper::toDto)
+        return searchByName(query, maxSearchResults);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerDTO> searchByName(String query, int limit) {
+        List<Customer> customers = searchIndex.isReady()
+                ? IdBatches.load(searchIndex.search(Customer.class, query, limit), customerRepository::findByIdInOrderByIdAsc)
+                : customerRepository.searchByName(query, Pageables.firstRows(limit));
+        return customers.stream()
+                .map(customerMapper::toDto)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
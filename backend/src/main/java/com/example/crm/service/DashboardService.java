@@ -0,0 +1,9 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.DashboardSummaryDTO;
+import com.example.crm.dto.PipelineMetricsDTO;
+
+public interface DashboardService {
+    DashboardSummaryDTO getSummary();
+    PipelineMetricsDTO getPipeline();
+}
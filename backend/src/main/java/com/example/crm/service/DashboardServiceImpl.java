@@ -0,0 +1,91 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.DashboardSummaryDTO;
+import com.example.crm.dto.PipelineMetricsDTO;
+import com.example.crm.metrics.PipelineMetrics;
+import com.example.crm.repository.DashboardRepository;
+import com.example.crm.repository.DashboardRepository.SummaryRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    static final String CLOSED_STAGE = "Closed";
+    static final String PENDING_STATUS = "Pending";
+    static final String UNSET = "Unspecified";
+
+    @Autowired
+    private DashboardRepository dashboardRepository;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    // 0 disables caching; every call then goes to the database
+    @Value("${crm.dashboard.cache-ttl-seconds:10}")
+    private long cacheTtlSeconds;
+
+    private volatile CachedSummary cached;
+
+    private record CachedSummary(DashboardSummaryDTO summary, long expiresAtMillis) {
+    }
+
+    @Override
+    public DashboardSummaryDTO getSummary() {
+        if (cacheTtlSeconds <= 0) {
+            return loadSummary();
+        }
+        CachedSummary current = cached;
+        if (current != null && System.currentTimeMillis() < current.expiresAtMillis()) {
+            return current.summary();
+        }
+        synchronized (this) {
+            current = cached;
+            if (current == null || System.currentTimeMillis() >= current.expiresAtMillis()) {
+                current = new CachedSummary(loadSummary(), System.currentTimeMillis() + cacheTtlSeconds * 1000);
+                cached = current;
+            }
+            return current.summary();
+        }
+    }
+
+    @Override
+    public PipelineMetricsDTO getPipeline() {
+        return new PipelineMetricsDTO(pipelineMetrics.byStage(), pipelineMetrics.byCustomer(), pipelineMetrics.byMonth());
+    }
+
+    private DashboardSummaryDTO loadSummary() {
+        DashboardSummaryDTO summary = new DashboardSummaryDTO();
+        for (SummaryRow row : dashboardRepository.findSummaryRows()) {
+            String bucket = row.bucket() == null ? UNSET : row.bucket();
+            switch (row.metric()) {
+                case DashboardRepository.CUSTOMERS -> summary.setTotalCustomers(row.count());
+                case DashboardRepository.CONTACTS -> summary.setTotalContacts(row.count());
+                case DashboardRepository.DEAL_STAGE -> {
+                    summary.getDealsByStage().merge(bucket, row.count(), Long::sum);
+                    summary.getPipelineValueByStage().merge(bucket, row.total(), Double::sum);
+                    summary.setTotalDeals(summary.getTotalDeals() + row.count());
+                    if (!CLOSED_STAGE.equalsIgnoreCase(bucket)) {
+                        summary.setOpenDeals(summary.getOpenDeals() + row.count());
+                        summary.setPipelineValue(summary.getPipelineValue() + row.total());
+                    }
+                }
+                case DashboardRepository.TASK_STATUS -> {
+                    summary.getTasksByStatus().merge(bucket, row.count(), Long::sum);
+                    summary.setTotalTasks(summary.getTotalTasks() + row.count());
+                    if (PENDING_STATUS.equalsIgnoreCase(bucket)) {
+                        summary.setPendingTasks(summary.getPendingTasks() + row.count());
+                    }
+                }
+                case DashboardRepository.TASK_PRIORITY -> summary.getTasksByPriority().merge(bucket, row.count(), Long::sum);
+                default -> {
+                }
+            }
+        }
+        summary.setGeneratedAt(LocalDateTime.now());
+        return summary;
+    }
+}
@@ -1,18 +1,25 @@
 package com.example.crm.service;
 
+import com.example.crm.dto.CursorPageDTO;
 import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.DealFilterDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 public interface DealService {
     DealDTO createDeal(DealDTO dealDTO);
     DealDTO getDealById(Long id);
     List<DealDTO> getAllDeals();
+    Slice<DealDTO> getDeals(DealFilterDTO filter, Pageable pageable, boolean withTotal);
     DealDTO updateDeal(Long id, DealDTO dealDTO);
     void deleteDeal(Long id);
 
     List<DealDTO> getDealsByCustomerId(Long customerId);
     List<DealDTO> getDealsByStage(String stage);
-    List<DealDTO> sortDeals(List<DealDTO> deals, String sortBy, String sortOrder);
+    List<DealDTO> getSortedDeals(Long customerId, String sortBy, String sortOrder);
+    CursorPageDTO<DealDTO> getDealsAfter(Long customerId, String sortBy, String sortOrder, int size, String cursor);
 
     List<DealDTO> searchByTitle(String query);
+    List<DealDTO> searchByTitle(String query, int limit);
 }
@@ -1,115 +1,217 @@
 package com.example.crm.service;
 
+import com.example.crm.cache.DtoCaches;
+import com.example.crm.dto.CursorPageDTO;
 import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.DealFilterDTO;
+import com.example.crm.exception.BadRequestException;
 import com.example.crm.mapper.DealMapper;
 import com.example.crm.model.Deal;
 import com.example.crm.repository.DealRepository;
+import com.example.crm.repository.DealSortField;
 import com.example.crm.service.DealService;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.util.IdBatches;
+import com.example.crm.util.Pageables;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.example.crm.repository.EntitySpecifications.*;
+
 @Service
 public class DealServiceImpl implements DealService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "dealName", "amount", "stage", "dealDate", "priority");
+
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private DealRepository dealRepository;
 
+    @Value("${crm.list.max-rows:1000}")
+    private int maxListRows;
+
+    @Value("${crm.search.max-results:200}")
+    private int maxSearchResults;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Autowired
     private DealMapper dealMapper;
 
     @Override
+    @Transactional
     public DealDTO createDeal(DealDTO dealDTO) {
-        Deal deal = dealMapper.toEntity(dealDTO);
-        return dealMapper.toDto(dealRepository.save(deal));
+        Deal deal = dealRepository.save(dealMapper.toEntity(dealDTO));
+        return dealMapper.toDto(deal);
     }
 
     @Override
+    @Cacheable(DtoCaches.DEALS)
+    @Transactional(readOnly = true)
     public DealDTO getDealById(Long id) {
         Deal deal = dealRepository.findById(id).orElseThrow();
         return dealMapper.toDto(deal);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DealDTO> getAllDeals() {
-        return dealRepository.findAll().stream()
-                .map(dealMapper::toDto)
-                .collect(Collectors.toList());
+        return dealRepository.findAllDtos(Pageables.firstRows(maxListRows));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<DealDTO> getDeals(DealFilterDTO filter, Pageable pageable, boolean withTotal) {
+        Pageables.checkSort(pageable, SORTABLE_FIELDS);
+        Specification<Deal> specification = Specification.<Deal>where(containsIgnoreCase("dealName", filter.getDealName()))
+                .and(equal("stage", filter.getStage()))
+                .and(equal("priority", filter.getPriority()))
+                .and(equal("customer.id", filter.getCustomerId()))
+                .and(atLeast("amount", filter.getMinAmount()))
+                .and(atMost("amount", filter.getMaxAmount()))
+                .and(atLeast("dealDate", filter.getDealDateFrom()))
+                .and(atMost("dealDate", filter.getDealDateTo()));
+        // The count query is only run for callers that ask for the total
+        Slice<Deal> deals = withTotal
+                ? dealRepository.findAll(specification, pageable)
+                : dealRepository.findSlice(specification, pageable);
+        return deals.map(dealMapper::toDto);
     }
 
     @Override
+    @Transactional
     public DealDTO updateDeal(Long id, DealDTO dealDTO) {
         Deal deal = dealRepository.findById(id).orElseThrow();
         deal.setDealName(dealDTO.getDealName());
         deal.setAmount(dealDTO.getAmount());
         deal.setStage(dealDTO.getStage());
         deal.setDealDate(dealDTO.getDealDate());
-        return dealMapper.toDto(dealRepository.save(deal));
+        Deal saved = dealRepository.save(deal);
+        return dealMapper.toDto(saved);
     }
 
     @Override
+    @Transactional
     public void deleteDeal(Long id) {
-        dealRepository.deleteById(id);
+        dealRepository.findById(id).ifPresent(dealRepository::delete);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DealDTO> getDealsByCustomerId(Long customerId) {
-        return dealRepository.findByCustomerId(customerId).stream()
-                .map(dealMapper::toDto)
-                .collect(Collectors.toList());
+        return dealRepository.findDtosByCustomerId(customerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DealDTO> getDealsByStage(String stage) {
-        return dealRepository.findByStage(stage).stream()
+        return dealRepository.findDtosByStage(stage);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DealDTO> getSortedDeals(Long customerId, String sortBy, String sortOrder) {
+        DealSortField sortField = DealSortField.from(sortBy);
+        Sort sort = sortField == null
+                ? Sort.unsorted()
+                : Sort.by(direction(sortOrder), sortField.getAttribute(), "id");
+        List<Deal> deals = customerId != null
+                ? dealRepository.findByCustomerId(customerId, sort)
+                : dealRepository.findSlice(null, PageRequest.of(0, maxListRows, sort)).getContent();
+        return deals.stream()
                 .map(dealMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<DealDTO> sortDeals(List<DealDTO> deals, String sortBy, String sortOrder) {
-        if (sortBy == null || sortOrder == null) {
-            return deals;
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DealDTO> getDealsAfter(Long customerId, String sortBy, String sortOrder, int size, String cursor) {
+        DealSortField sortField = DealSortField.from(sortBy);
+        if (sortField == null) {
+            throw new BadRequestException("Unsupported sort field: " + sortBy);
+        }
+        boolean ascending = direction(sortOrder).isAscending();
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Long lastId = null;
+        Object lastValue = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] key = decodeCursor(cursor);
+            try {
+                lastId = Long.parseLong(key[0]);
+                lastValue = key.length > 1 ? sortField.parse(key[1]) : null;
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid deal cursor");
+            }
         }
 
-        boolean ascending = "asc".equalsIgnoreCase(sortOrder);
-
-        switch (sortBy.toLowerCase()) {
-            case "amount":
-                return deals.stream()
-                        .sorted((d1, d2) -> ascending 
-                                ? Double.compare(d1.getAmount(), d2.getAmount())
-                                : Double.compare(d2.getAmount(), d1.getAmount()))
-                        .collect(Collectors.toList());
-            case "dealname":
-                return deals.stream()
-                        .sorted((d1, d2) -> ascending 
-                                ? d1.getDealName().compareToIgnoreCase(d2.getDealName())
-                                : d2.getDealName().compareToIgnoreCase(d1.getDealName()))
-                        .collect(Collectors.toList());
-            case "dealdate":
-                return deals.stream()
-                        .sorted((d1, d2) -> ascending 
-                                ? d1.getDealDate().compareTo(d2.getDealDate())
-                                : d2.getDealDate().compareTo(d1.getDealDate()))
-                        .collect(Collectors.toList());
-            case "stage":
-                return deals.stream()
-                        .sorted((d1, d2) -> ascending 
-                                ? d1.getStage().compareToIgnoreCase(d2.getStage())
-                                : d2.getStage().compareToIgnoreCase(d1.getStage()))
-                        .collect(Collectors.toList());
-            default:
-                return deals;
+        // One extra row tells us whether there is a next page without a count query
+        List<Deal> deals = dealRepository.findPageAfter(sortField, ascending, customerId, lastValue, lastId, pageSize + 1);
+        String nextCursor = null;
+        if (deals.size() > pageSize) {
+            deals = deals.subList(0, pageSize);
+            nextCursor = encodeCursor(deals.get(pageSize - 1), sortField);
         }
+        List<DealDTO> content = deals.stream()
+                .map(dealMapper::toDto)
+                .collect(Collectors.toList());
+        return new CursorPageDTO<>(content, nextCursor);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DealDTO> searchByTitle(String query) {
-        return dealRepository.searchByTitle(query).stream()
+        return searchByTitle(query, maxSearchResults);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DealDTO> searchByTitle(String query, int limit) {
+        List<Deal> deals = searchIndex.isReady()
+                ? IdBatches.load(searchIndex.search(Deal.class, query, limit), dealRepository::findByIdInOrderByIdAsc)
+                : dealRepository.searchByTitle(query, Pageables.firstRows(limit));
+        return deals.stream()
                 .map(dealMapper::toDto)
                 .collect(Collectors.toList());
     }
+
+    private static Sort.Direction direction(String sortOrder) {
+        return "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    // Cursor is "id|value" of the last row on the page; the value is omitted when it is null
+    private static String encodeCursor(Deal deal, DealSortField sortField) {
+        Object value = switch (sortField) {
+            case AMOUNT -> deal.getAmount();
+            case DEAL_NAME -> deal.getDealName();
+            case DEAL_DATE -> deal.getDealDate();
+            case STAGE -> deal.getStage();
+        };
+        String key = value == null ? String.valueOf(deal.getId()) : deal.getId() + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid deal cursor");
+        }
+    }
 }
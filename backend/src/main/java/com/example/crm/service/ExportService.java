@@ -0,0 +1,12 @@
+package com.example.crm.service;
+
+import com.example.crm.exporter.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    long exportCustomers(ExportFormat format, OutputStream out) throws IOException;
+    long exportDeals(ExportFormat format, OutputStream out) throws IOException;
+    long exportNotes(ExportFormat format, OutputStream out) throws IOException;
+}
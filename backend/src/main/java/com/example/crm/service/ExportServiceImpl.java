@@ -0,0 +1,81 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.NoteDTO;
+import com.example.crm.exporter.ExportFormat;
+import com.example.crm.repository.ExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables out as CSV or NDJSON. Rows are read through a forward-only cursor of DTO
+ * projections and written as they arrive, so nothing is accumulated: no result list and no managed
+ * entities. The read-only transaction, and with it a database connection, stays open for as long
+ * as the client takes to download the export.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    // Push rows out to the client regularly instead of only when the buffers fill
+    private static final int FLUSH_INTERVAL = 1000;
+
+    @Autowired
+    private ExportRepository exportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCustomers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<CustomerDTO> rows = exportRepository.streamCustomers()) {
+            return write("Customer", rows, CustomerDTO.class, format, out);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportDeals(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<DealDTO> rows = exportRepository.streamDeals()) {
+            return write("Deal", rows, DealDTO.class, format, out);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNotes(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<NoteDTO> rows = exportRepository.streamNotes()) {
+            return write("Note", rows, NoteDTO.class, format, out);
+        }
+    }
+
+    private <T> long write(String entityType, Stream<T> rows, Class<T> rowType, ExportFormat format,
+                           OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        long count = 0;
+        try (SequenceWriter writer = format.open(out, rowType, objectMapper)) {
+            for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+                writer.write(iterator.next());
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        logger.info("Exported {} {} rows as {} in {} ms", count, entityType, format,
+                System.currentTimeMillis() - started);
+        return count;
+    }
+}
@@ -11,5 +11,9 @@ public interface GlobalSearchService {
     List<UserDTO> searchUsers(String query);
     List<NoteDTO> searchNotes(String query);
     
-    List<Object> globalSearch(String query);
+    GlobalSearchDTO globalSearch(String query, int perTypeLimit);
+
+    SearchPageDTO rankedSearch(String query, int limit, int perTypeLimit, String cursor);
+
+    List<CompletionDTO> autocomplete(String prefix, int limit);
 }
@@ -1,16 +1,60 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.*;
-import com.example.crm.repository.*;
+import com.example.crm.exception.BadRequestException;
+import com.example.crm.exception.ServiceUnavailableException;
+import com.example.crm.model.*;
+import com.example.crm.search.AutocompleteIndex;
+import com.example.crm.search.NoteTextIndex;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.sql.RequestQueries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class GlobalSearchServiceImpl implements GlobalSearchService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GlobalSearchServiceImpl.class);
+
+    private static final List<Class<?>> SEARCHABLE_TYPES =
+            List.of(Customer.class, Deal.class, Task.class, Contact.class, User.class, Note.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_PER_TYPE = 200;
+    private static final int MAX_LABEL_LENGTH = 120;
+    private static final int MAX_COMPLETIONS = 50;
+
+    // Highest score first, then a stable order so cursors always point at the same position
+    private static final Comparator<SearchHitDTO> HIT_ORDER = Comparator
+            .comparingDouble(SearchHitDTO::getScore).reversed()
+            .thenComparing(SearchHitDTO::getEntityType)
+            .thenComparing(SearchHitDTO::getId);
+
     @Autowired
     private CustomerService customerService;
 
@@ -29,6 +73,31 @@ public class GlobalSearchServiceImpl implements GlobalSearchService {
     @Autowired
     private NoteService noteService;
 
+    @Autowired
+    @Qualifier("searchExecutor")
+    private ExecutorService searchExecutor;
+
+    @Autowired
+    @Qualifier("searchPermits")
+    private Semaphore searchPermits;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${crm.search.entity-timeout-ms:2000}")
+    private long entityTimeoutMs;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    // Absent in tests that do not search notes; ranked search then has no note hits
+    @Autowired(required = false)
+    private NoteTextIndex noteTextIndex;
+
+    // Absent in tests that do not autocomplete; autocomplete then answers 503
+    @Autowired(required = false)
+    private AutocompleteIndex autocompleteIndex;
+
     @Override
     public List<CustomerDTO> searchCustomers(String query) {
         return customerService.searchByName(query);
@@ -64,17 +133,184 @@ public class GlobalSearchServiceImpl implements GlobalSearchService {
     }
 
     @Override
-    public List<Object> globalSearch(String query) {
-        List<Object> results = new ArrayList<>();
-        
-        // Search across all entities
-        results.addAll(searchCustomers(query));
-        results.addAll(searchDeals(query));
-        results.addAll(searchTasks(query));
-        results.addAll(searchContacts(query));
-        results.addAll(searchUsers(query));
-        results.addAll(searchNotes(query));
-        
-        return results;
+    public GlobalSearchDTO globalSearch(String query, int perTypeLimit) {
+        int typeCap = Math.clamp(perTypeLimit, 1, MAX_PER_TYPE);
+        // One row past the cap tells a type that was cut short from one that had exactly typeCap matches
+        int fetch = typeCap + 1;
+        // Search across all entities at the same time, so latency tracks the slowest single query;
+        // the request's SQL tally follows each search onto its worker thread
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(entityTimeoutMs);
+        Map<String, Future<? extends List<?>>> searches = new LinkedHashMap<>();
+        searches.put("Customer", searchExecutor.submit(bounded(() -> customerService.searchByName(query, fetch), deadline)));
+        searches.put("Deal", searchExecutor.submit(bounded(() -> dealService.searchByTitle(query, fetch), deadline)));
+        searches.put("Task", searchExecutor.submit(bounded(() -> taskService.searchByTitle(query, fetch), deadline)));
+        searches.put("Contact", searchExecutor.submit(bounded(() -> contactService.searchByName(query, fetch), deadline)));
+        searches.put("User", searchExecutor.submit(bounded(() -> userService.searchByName(query, fetch), deadline)));
+        searches.put("Note", searchExecutor.submit(bounded(() -> noteService.searchBySubject(query, fetch), deadline)));
+
+        List<SearchResultDTO> results = new ArrayList<>();
+        List<String> timedOut = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        List<String> truncated = new ArrayList<>();
+        for (Map.Entry<String, Future<? extends List<?>>> search : searches.entrySet()) {
+            String entityType = search.getKey();
+            Future<? extends List<?>> future = search.getValue();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                List<?> items = future.get(remaining, TimeUnit.NANOSECONDS);
+                if (items.size() > typeCap) {
+                    truncated.add(entityType);
+                    items = items.subList(0, typeCap);
+                }
+                for (Object item : items) {
+                    results.add(new SearchResultDTO(entityType, item));
+                }
+            } catch (TimeoutException e) {
+                // The query timeout makes the driver cancel the statement; this only frees the waiting thread
+                future.cancel(true);
+                timedOut.add(entityType);
+                logger.warn("Global search for {} timed out after {} ms", entityType, entityTimeoutMs);
+            } catch (ExecutionException e) {
+                if (isTimeout(e.getCause())) {
+                    timedOut.add(entityType);
+                    logger.warn("Global search for {} timed out after {} ms", entityType, entityTimeoutMs);
+                } else {
+                    failed.add(entityType);
+                    logger.warn("Global search for {} failed: {}", entityType, e.getCause().getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                searches.values().forEach(pending -> pending.cancel(true));
+                throw new ServiceUnavailableException("Global search was interrupted");
+            }
+        }
+
+        if (timedOut.size() + failed.size() == searches.size()) {
+            throw new ServiceUnavailableException("Global search is overloaded, try again shortly");
+        }
+        return new GlobalSearchDTO(results, timedOut, failed, truncated);
+    }
+
+    /**
+     * Wraps one entity search so it waits for a shared permit and runs in a read-only transaction whose
+     * timeout is the time left until the deadline. The transaction timeout becomes the JDBC query timeout
+     * of every statement the search runs, so a slow query is cancelled by the database instead of holding
+     * its connection after the search has given up on it.
+     */
+    private <T> Callable<List<T>> bounded(Supplier<List<T>> search, long deadline) {
+        return RequestQueries.propagate(() -> {
+            if (!searchPermits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException("No search permit free before the deadline");
+            }
+            try {
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setReadOnly(true);
+                // Query timeouts are whole seconds; round up so a search is never cut off before its deadline
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                transaction.setTimeout((int) Math.max(1, (remainingMs + 999) / 1000));
+                return transaction.execute(status -> search.get());
+            } finally {
+                searchPermits.release();
+            }
+        });
+    }
+
+    private static boolean isTimeout(Throwable cause) {
+        return cause instanceof TimeoutException
+                || cause instanceof QueryTimeoutException
+                || cause instanceof TransactionTimedOutException;
+    }
+
+    @Override
+    public SearchPageDTO rankedSearch(String query, int limit, int perTypeLimit, String cursor) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (!searchIndex.isReady()) {
+            throw new ServiceUnavailableException("Search index is still being built, try again shortly");
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        int typeCap = Math.clamp(perTypeLimit, 1, MAX_PER_TYPE);
+        SearchHitDTO after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        // At most typeCap hits per entity type are ranked, so the work per page is bounded
+        List<SearchHitDTO> ranked = new ArrayList<>();
+        for (Class<?> entityType : SEARCHABLE_TYPES) {
+            List<SearchIndex.Match> matches;
+            if (entityType != Note.class) {
+                matches = searchIndex.topMatches(entityType, query, typeCap);
+            } else {
+                matches = noteTextIndex != null ? noteTextIndex.topMatches(query, typeCap) : List.of();
+            }
+            for (SearchIndex.Match match : matches) {
+                ranked.add(toHit(entityType.getSimpleName(), match));
+            }
+        }
+        ranked.sort(HIT_ORDER);
+
+        List<SearchHitDTO> page = ranked.stream()
+                .filter(hit -> after == null || HIT_ORDER.compare(hit, after) > 0)
+                .limit(pageSize + 1L)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page = page.subList(0, pageSize);
+            nextCursor = encodeCursor(page.get(pageSize - 1));
+        }
+        return new SearchPageDTO(page, nextCursor);
+    }
+
+    @Override
+    public List<CompletionDTO> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Autocomplete prefix must not be blank");
+        }
+        if (autocompleteIndex == null || !autocompleteIndex.isReady()) {
+            throw new ServiceUnavailableException("Search index is still being built, try again shortly");
+        }
+        return autocompleteIndex.complete(prefix, Math.clamp(limit, 1, MAX_COMPLETIONS)).stream()
+                .map(completion -> new CompletionDTO(completion.entityType().getSimpleName(), completion.id(),
+                        completion.text()))
+                .collect(Collectors.toList());
+    }
+
+    private SearchHitDTO toHit(String entityType, SearchIndex.Match match) {
+        String text = match.text();
+        int from = 0;
+        int to = text.length();
+        if (to > MAX_LABEL_LENGTH) {
+            // Long text (e.g. note bodies): keep a window around the match
+            from = Math.max(0, Math.min(match.start() - MAX_LABEL_LENGTH / 3, text.length() - MAX_LABEL_LENGTH));
+            to = from + MAX_LABEL_LENGTH;
+        }
+        String prefix = from > 0 ? "..." : "";
+        String suffix = to < text.length() ? "..." : "";
+
+        SearchHitDTO hit = new SearchHitDTO();
+        hit.setEntityType(entityType);
+        hit.setId(match.id());
+        hit.setLabel(prefix + text.substring(from, to) + suffix);
+        hit.setScore(Math.round(match.score() * 10_000) / 10_000.0);
+        hit.setHighlightStart(prefix.length() + match.start() - from);
+        hit.setHighlightEnd(prefix.length() + Math.min(match.end(), to) - from);
+        return hit;
+    }
+
+    private static String encodeCursor(SearchHitDTO hit) {
+        String key = hit.getScore() + "|" + hit.getEntityType() + "|" + hit.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SearchHitDTO decodeCursor(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            SearchHitDTO hit = new SearchHitDTO();
+            hit.setScore(Double.parseDouble(key[0]));
+            hit.setEntityType(key[1]);
+            hit.setId(Long.parseLong(key[2]));
+            return hit;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid search cursor");
+        }
     }
 }
@@ -1,12 +1,16 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.NoteDTO;
+import com.example.crm.dto.NoteFilterDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 public interface NoteService {
     NoteDTO createNote(NoteDTO noteDTO);
     NoteDTO getNoteById(Long id);
     List<NoteDTO> getAllNotes();
+    Slice<NoteDTO> getNotes(NoteFilterDTO filter, Pageable pageable, boolean withTotal);
     NoteDTO updateNote(Long id, NoteDTO noteDTO);
     void deleteNote(Long id);
 
@@ -14,4 +18,5 @@ public interface NoteService {
     List<NoteDTO> getNotesByDealId(Long dealId);
 
     List<NoteDTO> searchBySubject(String query);
+    List<NoteDTO> searchBySubject(String query, int limit);
 }
\ No newline at end of file
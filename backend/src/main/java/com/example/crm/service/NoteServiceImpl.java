@@ -1,24 +1,47 @@
 package com.example.crm.service.impl;
 
+import com.example.crm.cache.DtoCaches;
 import com.example.crm.dto.NoteDTO;
+import com.example.crm.dto.NoteFilterDTO;
 import com.example.crm.mapper.NoteMapper;
 import com.example.crm.model.Note;
 import com.example.crm.repository.NoteRepository;
 import com.example.crm.repository.CustomerRepository;
 import com.example.crm.repository.DealRepository;
 import com.example.crm.service.NoteService;
+import com.example.crm.search.NoteTextIndex;
+import com.example.crm.util.IdBatches;
+import com.example.crm.util.Pageables;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.example.crm.repository.EntitySpecifications.*;
+
 @Service
 public class NoteServiceImpl implements NoteService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "createdAt");
+
     @Autowired
     private NoteRepository noteRepository;
 
+    // Absent in JPA test slices, which search with the LIKE query
+    @Autowired(required = false)
+    private NoteTextIndex noteTextIndex;
+
     @Autowired
     private CustomerRepository customerRepository;
 
@@ -28,7 +51,14 @@ public class NoteServiceImpl implements NoteService {
     @Autowired
     private NoteMapper noteMapper;
 
+    @Value("${crm.search.notes.max-results:200}")
+    private int maxSearchResults;
+
+    @Value("${crm.list.max-rows:1000}")
+    private int maxListRows;
+
     @Override
+    @Transactional
     public NoteDTO createNote(NoteDTO noteDTO) {
         Note note = noteMapper.toEntity(noteDTO);
         
@@ -48,19 +78,35 @@ public class NoteServiceImpl implements NoteService {
     }
 
     @Override
+    @Cacheable(DtoCaches.NOTES)
+    @Transactional(readOnly = true)
     public NoteDTO getNoteById(Long id) {
         Note note = noteRepository.findById(id).orElseThrow();
         return noteMapper.toDto(note);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<NoteDTO> getAllNotes() {
-        return noteRepository.findAll().stream()
-                .map(noteMapper::toDto)
-                .collect(Collectors.toList());
+        return noteRepository.findAllDtos(Pageables.firstRows(maxListRows));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<NoteDTO> getNotes(NoteFilterDTO filter, Pageable pageable, boolean withTotal) {
+        Pageables.checkSort(pageable, SORTABLE_FIELDS);
+        Specification<Note> specification = Specification.<Note>where(containsIgnoreCase("content", filter.getContent()))
+                .and(equal("customer.id", filter.getCustomerId()))
+                .and(equal("deal.id", filter.getDealId()));
+        // The count query is only run for callers that ask for the total
+        Slice<Note> notes = withTotal
+                ? noteRepository.findAll(specification, pageable)
+                : noteRepository.findSlice(specification, pageable);
+        return notes.map(noteMapper::toDto);
+    }
+
+    @Override
+    @Transactional
     public NoteDTO updateNote(Long id, NoteDTO noteDTO) {
         Note note = noteRepository.findById(id).orElseThrow();
         note.setContent(noteDTO.getContent());
@@ -85,28 +131,44 @@ public class NoteServiceImpl implements NoteService {
     }
 
     @Override
+    @Transactional
     public void deleteNote(Long id) {
         noteRepository.deleteById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<NoteDTO> getNotesByCustomerId(Long customerId) {
-        return noteRepository.findByCustomerId(customerId).stream()
-                .map(noteMapper::toDto)
-                .collect(Collectors.toList());
+        return noteRepository.findDtosByCustomerId(customerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<NoteDTO> searchBySubject(String query) {
-        return noteRepository.searchBySubject(query).stream()
-                .map(noteMapper::toDto)
+        return searchBySubject(query, maxSearchResults);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NoteDTO> searchBySubject(String query, int limit) {
+        if (noteTextIndex == null || !noteTextIndex.isReady()) {
+            return noteRepository.searchBySubject(query, Pageables.firstRows(limit)).stream()
+                    .map(noteMapper::toDto)
+                    .collect(Collectors.toList());
+        }
+        // Most relevant first, in the order the index ranked them
+        List<Long> ids = noteTextIndex.search(query, limit);
+        Map<Long, NoteDTO> notes = IdBatches.load(ids, noteRepository::findDtosByIdIn).stream()
+                .collect(Collectors.toMap(NoteDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(notes::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<NoteDTO> getNotesByDealId(Long dealId) {
-        return noteRepository.findByDealId(dealId).stream()
-                .map(noteMapper::toDto)
-                .collect(Collectors.toList());
+        return noteRepository.findDtosByDealId(dealId);
     }
 }
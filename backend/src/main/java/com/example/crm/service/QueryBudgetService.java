@@ -0,0 +1,9 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.QueryBudgetDTO;
+
+import java.util.List;
+
+public interface QueryBudgetService {
+    List<QueryBudgetDTO> getQueryBudgets();
+}
@@ -0,0 +1,41 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.QueryBudgetDTO;
+import com.example.crm.sql.QueryBudgets;
+import com.example.crm.sql.QueryBudgets.EndpointStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * SQL cost of each endpoint since startup next to its statement budget: every endpoint that has served a
+ * request, plus the configured ones that have not.
+ */
+@Service
+public class QueryBudgetServiceImpl implements QueryBudgetService {
+
+    @Autowired
+    private QueryBudgets queryBudgets;
+
+    @Override
+    public List<QueryBudgetDTO> getQueryBudgets() {
+        TreeSet<String> endpoints = new TreeSet<>(queryBudgets.stats().keySet());
+        endpoints.addAll(queryBudgets.budgets().keySet());
+        return endpoints.stream()
+                .map(endpoint -> toDTO(endpoint, queryBudgets.stats().get(endpoint)))
+                .toList();
+    }
+
+    private QueryBudgetDTO toDTO(String endpoint, EndpointStats stats) {
+        int budget = queryBudgets.budgetFor(endpoint);
+        if (stats == null || stats.requests() == 0) {
+            return new QueryBudgetDTO(endpoint, budget, 0, 0, 0, 0, 0, 0, 0);
+        }
+        long requests = stats.requests();
+        return new QueryBudgetDTO(endpoint, budget, requests, (double) stats.statements() / requests,
+                stats.maxStatements(), stats.sqlNanos() / 1e6 / requests, stats.overBudget(), stats.nPlusOne(),
+                stats.slowStatements());
+    }
+}
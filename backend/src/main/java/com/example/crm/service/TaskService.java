@@ -1,12 +1,16 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.TaskDTO;
+import com.example.crm.dto.TaskFilterDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 public interface TaskService {
     TaskDTO createTask(TaskDTO taskDTO);
     TaskDTO getTaskById(Long id);
     List<TaskDTO> getAllTasks();
+    Slice<TaskDTO> getTasks(TaskFilterDTO filter, Pageable pageable, boolean withTotal);
     TaskDTO updateTask(Long id, TaskDTO taskDTO);
     void deleteTask(Long id);
 
@@ -14,4 +18,5 @@ public interface TaskService {
     List<TaskDTO> getTasksByStatus(String status);
 
     List<TaskDTO> searchByTitle(String query);
+    List<TaskDTO> searchByTitle(String query, int limit);
 }
\ No newline at end of file
@@ -1,45 +1,88 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.TaskDTO;
+import com.example.crm.dto.TaskFilterDTO;
 import com.example.crm.mapper.TaskMapper;
 import com.example.crm.model.Task;
 import com.example.crm.repository.TaskRepository;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.util.IdBatches;
+import com.example.crm.util.Pageables;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.example.crm.repository.EntitySpecifications.*;
+
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "description", "dueDate", "status", "priority");
+
     @Autowired
     private TaskRepository taskRepository;
 
+    @Value("${crm.list.max-rows:1000}")
+    private int maxListRows;
+
+    @Value("${crm.search.max-results:200}")
+    private int maxSearchResults;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Autowired
     private TaskMapper taskMapper;
 
     @Override
+    @Transactional
     public TaskDTO createTask(TaskDTO taskDTO) {
         Task task = taskMapper.toEntity(taskDTO);
         return taskMapper.toDto(taskRepository.save(task));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskDTO getTaskById(Long id) {
         Task task = taskRepository.findById(id).orElseThrow();
         return taskMapper.toDto(task);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(taskMapper::toDto)
-                .collect(Collectors.toList());
+        return taskRepository.findAllDtos(Pageables.firstRows(maxListRows));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskDTO> getTasks(TaskFilterDTO filter, Pageable pageable, boolean withTotal) {
+        Pageables.checkSort(pageable, SORTABLE_FIELDS);
+        Specification<Task> specification = Specification.<Task>where(containsIgnoreCase("description", filter.getDescription()))
+                .and(equal("status", filter.getStatus()))
+                .and(equal("priority", filter.getPriority()))
+                .and(equal("customer.id", filter.getCustomerId()))
+                .and(equal("assignedUser.id", filter.getAssignedUserId()))
+                .and(atLeast("dueDate", filter.getDueDateFrom()))
+                .and(atMost("dueDate", filter.getDueDateTo()));
+        // The count query is only run for callers that ask for the total
+        Slice<Task> tasks = withTotal
+                ? taskRepository.findAll(specification, pageable)
+                : taskRepository.findSlice(specification, pageable);
+        return tasks.map(taskMapper::toDto);
+    }
+
+    @Override
+    @Transactional
     public TaskDTO updateTask(Long id, TaskDTO taskDTO) {
         Task task = taskRepository.findById(id).orElseThrow();
         task.setDescription(taskDTO.getDescription());
@@ -50,27 +93,36 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional
     public void deleteTask(Long id) {
         taskRepository.deleteById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByCustomerId(Long customerId) {
-        return taskRepository.findByCustomer_Id(customerId).stream()
-                .map(taskMapper::toDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByCustomerId(customerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByStatus(String status) {
-        return taskRepository.findByStatus(status).stream()
-                .map(taskMapper::toDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByStatus(status);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> searchByTitle(String query) {
-        return taskRepository.searchByTitle(query).stream()
+        return searchByTitle(query, maxSearchResults);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> searchByTitle(String query, int limit) {
+        List<Task> tasks = searchIndex.isReady()
+                ? IdBatches.load(searchIndex.search(Task.class, query, limit), taskRepository::findByIdInOrderByIdAsc)
+                : taskRepository.searchByTitle(query, Pageables.firstRows(limit));
+        return tasks.stream()
                 .map(taskMapper::toDto)
                 .collect(Collectors.toList());
     }
@@ -1,16 +1,21 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.UserDTO;
+import com.example.crm.dto.UserFilterDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 public interface UserService {
     UserDTO createUser(UserDTO userDTO);
     UserDTO getUserById(Long id);
     List<UserDTO> getAllUsers();
+    Slice<UserDTO> getUsers(UserFilterDTO filter, Pageable pageable, boolean withTotal);
     UserDTO updateUser(Long id, UserDTO userDTO);
     void deleteUser(Long id);
     List<UserDTO> getUsersByRole(String role);
     UserDTO findByUsername(String username);
 
     List<UserDTO> searchByName(String query);
+    List<UserDTO> searchByName(String query, int limit);
 }
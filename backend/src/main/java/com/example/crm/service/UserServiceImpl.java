@@ -1,30 +1,61 @@
 package com.example.crm.service;
 
+import com.example.crm.cache.DtoCaches;
 import com.example.crm.dto.UserDTO;
+import com.example.crm.dto.UserFilterDTO;
 import com.example.crm.mapper.UserMapper;
 import com.example.crm.model.User;
 import com.example.crm.repository.UserRepository;
 import com.example.crm.service.UserService;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.security.UserRevocationCache;
+import com.example.crm.util.IdBatches;
+import com.example.crm.util.Pageables;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.example.crm.repository.EntitySpecifications.*;
+import static com.example.crm.util.TransactionCallbacks.afterCommit;
+
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "username", "email");
+
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${crm.list.max-rows:1000}")
+    private int maxListRows;
+
+    @Value("${crm.search.max-results:200}")
+    private int maxSearchResults;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     @Autowired
     private UserMapper userMapper;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserRevocationCache userRevocationCache;
+
     @Override
+    @Transactional
     public UserDTO createUser(UserDTO userDTO) {
         User user = userMapper.toEntity(userDTO);
         user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
@@ -32,21 +63,43 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Cacheable(DtoCaches.USERS)
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findByIdWithCustomers(id).orElseThrow();
         return userMapper.toDto(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
-        return userRepository.findAllWithCustomers().stream()
+        // Paged without the customers fetch join, which Hibernate would apply in memory; the
+        // collections are loaded in batches instead
+        return userRepository.findSlice(null, Pageables.firstRows(maxListRows)).stream()
                 .map(userMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Slice<UserDTO> getUsers(UserFilterDTO filter, Pageable pageable, boolean withTotal) {
+        Pageables.checkSort(pageable, SORTABLE_FIELDS);
+        Specification<User> specification = Specification.<User>where(containsIgnoreCase("username", filter.getUsername()))
+                .and(containsIgnoreCase("email", filter.getEmail()));
+        // The count query is only run for callers that ask for the total
+        Slice<User> users = withTotal
+                ? userRepository.findAll(specification, pageable)
+                : userRepository.findSlice(specification, pageable);
+        return users.map(userMapper::toDto);
+    }
+
+    @Override
+    @Transactional
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         User user = userRepository.findById(id).orElseThrow();
+        // Tokens carry the roles they were issued with, so drop the cached snapshot the filter checks them against
+        String previousUsername = user.getUsername();
+        afterCommit(() -> userRevocationCache.evict(previousUsername));
         user.setUsername(userDTO.getUsername());
         user.setEmail(userDTO.getEmail());
         user.setRoles(userDTO.getRoles());
@@ -59,11 +112,15 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
+        userRepository.findById(id).map(User::getUsername)
+                .ifPresent(username -> afterCommit(() -> userRevocationCache.evict(username)));
         userRepository.deleteById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsersByRole(String role) {
         return userRepository.findAllByRole(role).stream()
                 .map(userMapper::toDto)
@@ -71,6 +128,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDTO findByUsername(String username) {
         return userRepository.findByUsername(username)
                 .map(userMapper::toDto)
@@ -78,8 +136,18 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> searchByName(String query) {
-        return userRepository.searchByName(query).stream()
+        return searchByName(query, maxSearchResults);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDTO> searchByName(String query, int limit) {
+        List<User> users = searchIndex.isReady()
+                ? IdBatches.load(searchIndex.search(User.class, query, limit), userRepository::findByIdInOrderByIdAsc)
+                : userRepository.searchByName(query, Pageables.firstRows(limit));
+        return users.stream()
                 .map(userMapper::toDto)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,16 @@
+package com.example.crm.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares against the current request's {@link RequestQueries}.
+ * The SQL is passed through unchanged. Registered with hibernate.session_factory.statement_inspector.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueries.prepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.crm.sql;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statement budgets per endpoint ("GET /api/customers/page") and what each endpoint has actually cost
+ * since startup. Endpoints without a budget of their own in crm.sql.budgets get crm.sql.default-budget.
+ */
+@Component
+public class QueryBudgets {
+
+    public static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder sqlNanos = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+        private final LongAdder nPlusOne = new LongAdder();
+        private final LongAdder slowStatements = new LongAdder();
+
+        public long requests() {
+            return requests.sum();
+        }
+
+        public long statements() {
+            return statements.sum();
+        }
+
+        public long maxStatements() {
+            return maxStatements.get();
+        }
+
+        public long sqlNanos() {
+            return sqlNanos.sum();
+        }
+
+        public long overBudget() {
+            return overBudget.sum();
+        }
+
+        public long nPlusOne() {
+            return nPlusOne.sum();
+        }
+
+        public long slowStatements() {
+            return slowStatements.sum();
+        }
+    }
+
+    @Value("${crm.sql.default-budget:10}")
+    private int defaultBudget;
+
+    @Value("${crm.sql.budgets:}")
+    private String budgetSpec;
+
+    private Map<String, Integer> budgets;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void parseBudgets() {
+        budgets = parse(budgetSpec);
+    }
+
+    // "GET /api/dashboard/summary=1, GET /api/customers/page=2"
+    static Map<String, Integer> parse(String budgets) {
+        Map<String, Integer> parsed = new TreeMap<>();
+        for (String entry : budgets.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Query budget must be 'METHOD /path=statements': " + entry.trim());
+            }
+            parsed.put(entry.substring(0, separator).trim().replaceAll("\\s+", " "),
+                    Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+
+    public Map<String, Integer> budgets() {
+        return budgets;
+    }
+
+    void record(String endpoint, int statements, long sqlNanos, boolean overBudget, boolean nPlusOne,
+                int slowStatements) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        endpointStats.requests.increment();
+        endpointStats.statements.add(statements);
+        endpointStats.maxStatements.accumulate(statements);
+        endpointStats.sqlNanos.add(sqlNanos);
+        if (overBudget) {
+            endpointStats.overBudget.increment();
+        }
+        if (nPlusOne) {
+            endpointStats.nPlusOne.increment();
+        }
+        endpointStats.slowStatements.add(slowStatements);
+    }
+
+    public Map<String, EndpointStats> stats() {
+        return stats;
+    }
+}
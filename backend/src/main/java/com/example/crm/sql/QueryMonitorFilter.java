@@ -0,0 +1,149 @@
+package com.example.crm.sql;
+
+import com.example.crm.sql.RequestQueries.SlowStatement;
+import com.example.crm.sql.RequestQueries.Statement;
+import com.example.crm.util.LogSampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts and times the SQL each request runs and checks it against the endpoint's budget. Every request
+ * is recorded as crm.sql.statements and crm.sql.time{method, uri}; requests that go over budget, repeat
+ * one statement crm.sql.n-plus-one-threshold times or more (an N+1 load) or run a statement slower than
+ * crm.sql.slow-query-ms count towards crm.sql.violations{method, uri, type} and are logged.
+ * Requests no handler mapping matched (404s, static resources) are all recorded under the uri UNKNOWN.
+ * Only statements that go through Hibernate are seen; plain JDBC (bulk inserts) and work finished after
+ * the request thread returns (streamed exports) are not counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryMonitorFilter extends OncePerRequestFilter {
+
+    // Not "logger", which would hide the commons-logging one inherited from GenericFilterBean
+    private static final Logger sqlLogger = LoggerFactory.getLogger(QueryMonitorFilter.class);
+
+    @Autowired
+    private QueryBudgets queryBudgets;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${crm.sql.slow-query-ms:500}")
+    private long slowQueryMs;
+
+    @Value("${crm.sql.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+
+    @Value("${crm.logging.sql-warning-sample-rate:1}")
+    private int warningSampleRate;
+
+    private final LogSampler warningSampler = new LogSampler();
+
+    private final Map<String, EndpointMeters> endpointMeters = new ConcurrentHashMap<>();
+
+    private final Map<ViolationKey, Counter> violations = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueries queries = RequestQueries.begin(TimeUnit.MILLISECONDS.toNanos(slowQueryMs));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueries.end();
+            report(request, queries);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestQueries queries) {
+        // The matched mapping, not the raw path, so /api/customers/1 and /api/customers/2 share a budget
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String endpoint = request.getMethod() + " " + uri;
+        int statements = queries.count();
+        int budget = queryBudgets.budgetFor(endpoint);
+        boolean overBudget = statements > budget;
+        Statement mostRepeated = queries.mostRepeated();
+        boolean nPlusOne = mostRepeated != null && mostRepeated.count() >= nPlusOneThreshold;
+
+        EndpointMeters meters = endpointMeters.computeIfAbsent(endpoint,
+                key -> endpointMeters(request.getMethod(), uri));
+        meters.statements().record(statements);
+        meters.time().record(queries.nanos(), TimeUnit.NANOSECONDS);
+        queryBudgets.record(endpoint, statements, queries.nanos(), overBudget, nPlusOne,
+                queries.slowStatements().size());
+
+        if (overBudget) {
+            violation(request, uri, "over-budget");
+            if (warningSampler.sample(warningSampleRate)) {
+                sqlLogger.warn("SQL over budget endpoint=\"{}\" statements={} budget={} time={}ms",
+                        endpoint, statements, budget, TimeUnit.NANOSECONDS.toMillis(queries.nanos()));
+            }
+        }
+        if (nPlusOne) {
+            violation(request, uri, "n-plus-one");
+            if (warningSampler.sample(warningSampleRate)) {
+                sqlLogger.warn("SQL N+1 suspected endpoint=\"{}\" repeated={} sql={}",
+                        endpoint, mostRepeated.count(), mostRepeated.sql());
+            }
+        }
+        for (SlowStatement slow : queries.slowStatements()) {
+            violation(request, uri, "slow");
+            if (warningSampler.sample(warningSampleRate)) {
+                sqlLogger.warn("SQL slow statement endpoint=\"{}\" time={}ms sql={}",
+                        endpoint, TimeUnit.NANOSECONDS.toMillis(slow.nanos()), slow.sql());
+            }
+        }
+    }
+
+    private EndpointMeters endpointMeters(String method, String uri) {
+        DistributionSummary statements = DistributionSummary.builder("crm.sql.statements")
+                .description("SQL statements run per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+        Timer time = Timer.builder("crm.sql.time")
+                .description("Time spent executing SQL per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+        return new EndpointMeters(statements, time);
+    }
+
+    private void violation(HttpServletRequest request, String uri, String type) {
+        violations.computeIfAbsent(new ViolationKey(request.getMethod(), uri, type), key ->
+                Counter.builder("crm.sql.violations")
+                        .description("Requests over their SQL budget, with an N+1 pattern, or with a slow statement")
+                        .tag("method", key.method())
+                        .tag("uri", key.uri())
+                        .tag("type", key.type())
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private record EndpointMeters(DistributionSummary statements, Timer time) {
+    }
+
+    private record ViolationKey(String method, String uri, String type) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.crm.sql;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * SQL statements run on behalf of one HTTP request: how many, how long they took, how often each distinct
+ * statement repeated and which ones were slow. {@link QueryMonitorFilter} opens one per request on the
+ * request thread; {@link CountingStatementInspector} and {@link StatementTimingListener} record into the
+ * one open on the current thread and do nothing outside a request. Work handed to another thread is only
+ * counted if the task was wrapped with {@link #propagate(Callable)}.
+ */
+public final class RequestQueries {
+
+    private static final int MAX_SLOW_STATEMENTS = 10;
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    // Last statement prepared on this thread, so its execution time is charged to the right SQL
+    private static final ThreadLocal<String> PREPARED = new ThreadLocal<>();
+
+    public record Statement(String sql, int count, long nanos) {
+    }
+
+    public record SlowStatement(String sql, long nanos) {
+    }
+
+    private final long slowNanos;
+    private final Map<String, long[]> statements = new HashMap<>();
+    private final List<SlowStatement> slowStatements = new ArrayList<>();
+    private int count;
+    private long nanos;
+
+    private RequestQueries(long slowNanos) {
+        this.slowNanos = slowNanos;
+    }
+
+    static RequestQueries begin(long slowNanos) {
+        RequestQueries queries = new RequestQueries(slowNanos);
+        CURRENT.set(queries);
+        return queries;
+    }
+
+    static void end() {
+        CURRENT.remove();
+        PREPARED.remove();
+    }
+
+    /**
+     * Runs the task with the calling thread's request (if any) open, so statements a worker thread runs
+     * for the request are counted against it.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        RequestQueries queries = CURRENT.get();
+        if (queries == null) {
+            return task;
+        }
+        return () -> {
+            RequestQueries outer = CURRENT.get();
+            CURRENT.set(queries);
+            try {
+                return task.call();
+            } finally {
+                PREPARED.remove();
+                if (outer != null) {
+                    CURRENT.set(outer);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    static void prepared(String sql) {
+        RequestQueries queries = CURRENT.get();
+        if (queries != null) {
+            PREPARED.set(sql);
+            queries.add(sql);
+        }
+    }
+
+    static void executed(long nanos) {
+        RequestQueries queries = CURRENT.get();
+        String sql = PREPARED.get();
+        if (queries != null && sql != null) {
+            queries.time(sql, nanos);
+        }
+    }
+
+    private synchronized void add(String sql) {
+        count++;
+        statements.computeIfAbsent(sql, key -> new long[2])[0]++;
+    }
+
+    private synchronized void time(String sql, long elapsed) {
+        nanos += elapsed;
+        statements.computeIfAbsent(sql, key -> new long[2])[1] += elapsed;
+        if (elapsed >= slowNanos && slowStatements.size() < MAX_SLOW_STATEMENTS) {
+            slowStatements.add(new SlowStatement(sql, elapsed));
+        }
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    public synchronized long nanos() {
+        return nanos;
+    }
+
+    /**
+     * The statement run most often, or null if none ran. The same SQL text repeated many times in one
+     * request is the signature of an N+1 load.
+     */
+    public synchronized Statement mostRepeated() {
+        return statements.entrySet().stream()
+                .max(Comparator.comparingLong(entry -> entry.getValue()[0]))
+                .map(entry -> new Statement(entry.getKey(), (int) entry.getValue()[0], entry.getValue()[1]))
+                .orElse(null);
+    }
+
+    public synchronized List<SlowStatement> slowStatements() {
+        return List.copyOf(slowStatements);
+    }
+}
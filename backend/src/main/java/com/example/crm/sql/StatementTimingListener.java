@@ -0,0 +1,34 @@
+package com.example.crm.sql;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times each JDBC execute and batch against the current request's {@link RequestQueries}. Hibernate
+ * creates one per session from hibernate.session.events.auto; a session is only used by one thread at a
+ * time, so the start time needs no synchronisation. The time covers executing the statement, not reading
+ * its rows.
+ */
+public class StatementTimingListener extends BaseSessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueries.executed(System.nanoTime() - startedAt);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestQueries.executed(System.nanoTime() - startedAt);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.crm.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public final class IdBatches {
+
+    // Far below driver and packet limits, and few distinct IN list sizes for the query plan cache
+    public static final int BATCH_SIZE = 500;
+
+    private IdBatches() {
+    }
+
+    /**
+     * Looks rows up by id at most {@link #BATCH_SIZE} ids at a time, so a search matching much of a table
+     * never builds one unbounded IN (...) list. Batches are concatenated in order: ascending ids and a
+     * lookup ordered by id give rows in ascending id order.
+     */
+    public static <T> List<T> load(List<Long> ids, Function<List<Long>, List<T>> lookup) {
+        if (ids.size() <= BATCH_SIZE) {
+            return lookup.apply(ids);
+        }
+        List<T> rows = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            rows.addAll(lookup.apply(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()))));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.crm.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one in every N events through, so debug logging on hot paths stays cheap even when it is switched on.
+ */
+public class LogSampler {
+
+    private final AtomicLong events = new AtomicLong();
+
+    /**
+     * @param rate log one event in this many; 1 or less logs every event
+     * @return true if this event should be logged
+     */
+    public boolean sample(int rate) {
+        return rate <= 1 || events.getAndIncrement() % rate == 0;
+    }
+}
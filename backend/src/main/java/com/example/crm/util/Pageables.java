@@ -0,0 +1,37 @@
+package com.example.crm.util;
+
+import com.example.crm.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+public final class Pageables {
+
+    private Pageables() {
+    }
+
+    /**
+     * Rejects a sort on anything but the listed properties, so clients cannot order by columns they
+     * should not see (a password hash) or by arbitrary paths into associations, and a typo is a 400
+     * instead of a failed query. Being listed does not mean indexed: a page sorted on an unindexed column
+     * (a customer's city, a deal's priority) sorts every matching row before the page is cut.
+     */
+    public static Pageable checkSort(Pageable pageable, Set<String> sortable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!sortable.contains(order.getProperty())) {
+                throw new BadRequestException("Unsupported sort field: " + order.getProperty());
+            }
+        }
+        return pageable;
+    }
+
+    /**
+     * The lowest-id rows, up to {@code maxRows}: the cap on the lists and searches that predate the paged
+     * {@code /page} endpoints and take no paging parameters of their own.
+     */
+    public static Pageable firstRows(int maxRows) {
+        return PageRequest.of(0, maxRows, Sort.by("id"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.crm;
+
+import com.example.crm.model.Customer;
+
+/**
+ * Smallest valid entities for tests that save them through a repository.
+ */
+public final class TestEntities {
+
+    private TestEntities() {
+    }
+
+    public static Customer customer(String name) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setEmail("sales@acme.test");
+        return customer;
+    }
+}
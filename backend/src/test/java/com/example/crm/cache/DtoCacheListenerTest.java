@@ -0,0 +1,130 @@
+package com.example.crm.cache;
+
+import com.example.crm.config.DtoCacheConfig;
+import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.NoteDTO;
+import com.example.crm.dto.UserDTO;
+import com.example.crm.mapper.CustomerMapperImpl;
+import com.example.crm.mapper.NoteMapperImpl;
+import com.example.crm.mapper.UserMapperImpl;
+import com.example.crm.model.Role;
+import com.example.crm.model.User;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.repository.NoteRepository;
+import com.example.crm.repository.UserRepository;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.security.UserRevocationCache;
+import com.example.crm.service.CustomerService;
+import com.example.crm.service.CustomerServiceImpl;
+import com.example.crm.service.NoteService;
+import com.example.crm.service.UserService;
+import com.example.crm.service.UserServiceImpl;
+import com.example.crm.service.impl.NoteServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside a test transaction so each service call commits and the after-commit evictions fire.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DtoCacheConfig.class, DtoCacheEvictor.class, CustomerServiceImpl.class, NoteServiceImpl.class,
+        UserServiceImpl.class, UserRevocationCache.class, SearchIndex.class, CustomerMapperImpl.class,
+        NoteMapperImpl.class, UserMapperImpl.class})
+class DtoCacheListenerTest {
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        noteRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getCustomerById_ShouldServeRepeatedReadsFromCache() {
+        Long id = customerService.createCustomer(customer("Acme Corp", null)).getId();
+
+        CustomerDTO first = customerService.getCustomerById(id);
+
+        assertSame(first, customerService.getCustomerById(id));
+    }
+
+    @Test
+    void updateCustomer_ShouldEvictCachedDto() {
+        Long id = customerService.createCustomer(customer("Acme Corp", null)).getId();
+        customerService.getCustomerById(id);
+
+        customerService.updateCustomer(id, customer("Acme Corporation", null));
+
+        assertEquals("Acme Corporation", customerService.getCustomerById(id).getName());
+    }
+
+    @Test
+    void deleteCustomer_ShouldEvictNotesRemovedByCascade() {
+        Long customerId = customerService.createCustomer(customer("Acme Corp", null)).getId();
+        Long noteId = noteService.createNote(new NoteDTO(null, "Call back", null, customerId, null)).getId();
+        noteService.getNoteById(noteId);
+
+        customerService.deleteCustomer(customerId);
+
+        assertThrows(NoSuchElementException.class, () -> noteService.getNoteById(noteId));
+    }
+
+    @Test
+    void createCustomer_ShouldEvictOwningUsersDto() {
+        User owner = new User();
+        owner.setUsername("owner");
+        owner.setEmail("owner@acme.test");
+        owner.setPassword("encoded-password");
+        owner.setRoles(Set.of(Role.MANAGER));
+        Long userId = userRepository.save(owner).getId();
+        assertEquals(List.of(), userService.getUserById(userId).getCustomers());
+
+        customerService.createCustomer(customer("Acme Corp", userId));
+
+        List<UserDTO.CustomerInfo> customers = userService.getUserById(userId).getCustomers();
+        assertEquals(List.of("Acme Corp"), customers.stream().map(UserDTO.CustomerInfo::getName).toList());
+    }
+
+    private static CustomerDTO customer(String name, Long userId) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName(name);
+        customer.setEmail("sales@acme.test");
+        customer.setUserId(userId);
+        return customer;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.crm.config;
+
+import com.example.crm.dto.CacheStatsDTO;
+import com.example.crm.model.Customer;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.service.CacheStatsService;
+import com.example.crm.service.CacheStatsServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.example.crm.TestEntities.customer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside a test transaction so every repository call gets its own session and only the
+ * second-level cache can carry an entity from one call to the next.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EntityCacheConfig.class, DtoCacheConfig.class, CacheStatsServiceImpl.class})
+class EntityCacheConfigTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void findById_ShouldBeServedFromCacheAfterFirstLoad() {
+        // IDENTITY inserts are not put into the cache, so the first lookup still reads the row
+        Long id = customerRepository.save(customer("Acme Corp")).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals("Acme Corp", customerRepository.findById(id).orElseThrow().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("Acme Corp", customerRepository.findById(id).orElseThrow().getName());
+        assertEquals("Acme Corp", customerRepository.findById(id).orElseThrow().getName());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void save_ShouldReplaceCachedEntry() {
+        Customer customer = customerRepository.save(customer("Acme Corp"));
+        customerRepository.findById(customer.getId());
+
+        customer.setName("Acme Corporation");
+        customerRepository.save(customer);
+
+        assertEquals("Acme Corporation", customerRepository.findById(customer.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void getCacheStats_ShouldReportHitsAndMissesPerRegion() {
+        Long id = customerRepository.save(customer("Acme Corp")).getId();
+        customerRepository.findById(id);
+        CacheStatsDTO before = region("customers");
+
+        customerRepository.findById(id);
+        customerRepository.findById(424242L);
+
+        CacheStatsDTO after = region("customers");
+        assertEquals(1, after.getHits() - before.getHits());
+        assertEquals(1, after.getMisses() - before.getMisses());
+        assertEquals(List.of("entity:customers", "entity:users"), cacheStatsService.getCacheStats().stream()
+                .filter(stats -> stats.getType().equals("entity"))
+                .map(stats -> stats.getType() + ":" + stats.getName())
+                .toList());
+    }
+
+    private CacheStatsDTO region(String name) {
+        return cacheStatsService.getCacheStats().stream()
+                .filter(stats -> stats.getType().equals("entity") && stats.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.crm.loadtest;
+
+import com.example.crm.loadtest.LoadDriver.EndpointStats;
+import com.example.crm.loadtest.LoadDriver.Operation;
+import com.example.crm.loadtest.LoadDriver.Session;
+import com.example.crm.metrics.PipelineMetricsInitializer;
+import com.example.crm.model.Role;
+import com.example.crm.model.User;
+import com.example.crm.repository.UserRepository;
+import com.example.crm.search.SearchIndexInitializer;
+import com.example.crm.seed.SeedSettings;
+import com.example.crm.seed.SyntheticDataGenerator;
+import com.example.crm.seed.SyntheticDataGenerator.SeedSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: boots the application on a random port against an in-memory H2 database, fills it
+ * through {@link SyntheticDataGenerator} and drives a weighted mix of logins, dashboard reads, paged lists,
+ * searches and writes at a fixed concurrency. Per-endpoint throughput and latency percentiles are logged and
+ * written to target/load-test/report.json; with -Dcrm.loadtest.baseline=<an earlier report.json> the throughput
+ * and p99 of each endpoint are also logged next to that run's, e.g. to measure a change before and after.
+ * Tagged "load" and excluded from the normal build; run it with the load-test profile, e.g.
+ * {@code ./mvnw test -Pload-test -Dcrm.loadtest.customers=50000 -Dcrm.loadtest.concurrency=32}.
+ * The mix is changed with e.g. {@code -Dcrm.loadtest.mix=login=0,customer-create=10}.
+ */
+@Tag("load")
+// Plain H2 rather than its MySQL mode, which hands out duplicate identity keys to concurrent batch inserts
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "crm.logging.sql-warning-sample-rate=100"
+})
+class ApiLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String PASSWORD = "load-test-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PipelineMetricsInitializer pipelineMetricsInitializer;
+
+    @Autowired
+    private SearchIndexInitializer searchIndexInitializer;
+
+    @Value("${crm.loadtest.users:20}")
+    private int users;
+
+    @Value("${crm.loadtest.customers:5000}")
+    private int customers;
+
+    @Value("${crm.loadtest.contacts-per-customer:2}")
+    private double contactsPerCustomer;
+
+    @Value("${crm.loadtest.deals-per-customer:3}")
+    private double dealsPerCustomer;
+
+    @Value("${crm.loadtest.tasks-per-customer:2}")
+    private double tasksPerCustomer;
+
+    @Value("${crm.loadtest.notes-per-customer:3}")
+    private double notesPerCustomer;
+
+    @Value("${crm.loadtest.seed-threads:4}")
+    private int seedThreads;
+
+    @Value("${crm.loadtest.concurrency:16}")
+    private int concurrency;
+
+    @Value("${crm.loadtest.warmup:10s}")
+    private Duration warmup;
+
+    @Value("${crm.loadtest.duration:30s}")
+    private Duration duration;
+
+    @Value("${crm.loadtest.seed:42}")
+    private long seed;
+
+    // Comma-separated name=weight overrides of the default mix below; weight 0 leaves an operation out
+    @Value("${crm.loadtest.mix:}")
+    private String mix;
+
+    @Value("${crm.loadtest.max-error-rate:0.01}")
+    private double maxErrorRate;
+
+    @Value("${crm.loadtest.report-dir:target/load-test}")
+    private Path reportDir;
+
+    // An earlier run's report.json to compare against; copy it elsewhere first, as each run overwrites its own
+    @Value("${crm.loadtest.baseline:}")
+    private String baseline;
+
+    @Test
+    void mixedApiLoad_ShouldStayWithinErrorBudget() throws Exception {
+        SeedSettings seedSettings = new SeedSettings(seed, users, customers, contactsPerCustomer, dealsPerCustomer,
+                tasksPerCustomer, notesPerCustomer, 1000, seedThreads, PASSWORD);
+        LoadTestSettings settings = new LoadTestSettings(seedSettings, concurrency, warmup, duration, mix);
+        SeedSummary seeded = generator.generate(seedSettings);
+        // The generator bypassed the entity listeners
+        pipelineMetricsInitializer.afterSingletonsInstantiated();
+        searchIndexInitializer.buildIndex();
+        List<Long> customerIds = jdbcTemplate.queryForList("SELECT id FROM customers", Long.class);
+        Dataset dataset = new Dataset(staffUsernames(), customerIds);
+        logger.info("Load test dataset: {} rows, {} users can sign in for the mix", seeded.rows(),
+                dataset.usernames().size());
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        LoadDriver driver = new LoadDriver(client, concurrency, warmup, duration, seed);
+        Map<String, EndpointStats> results = driver.run(login(dataset), withOverrides(operations(dataset), mix));
+
+        LoadReport report = LoadReport.of(settings, results);
+        Path file = report.write(reportDir);
+        logger.info("Load test results ({} workers, {} s measured), written to {}:{}", concurrency,
+                duration.toSeconds(), file.toAbsolutePath(), report.table());
+        if (!baseline.isBlank()) {
+            logger.info("Compared with baseline {}:{}", baseline, report.comparison(LoadReport.read(Path.of(baseline))));
+        }
+
+        assertTrue(report.total().requests() > 0, "No requests completed");
+        for (LoadReport.EndpointReport endpoint : report.endpoints()) {
+            assertTrue(endpoint.errorRate() <= maxErrorRate,
+                    endpoint.endpoint() + " failed " + endpoint.errors() + " of " + endpoint.requests()
+                            + " requests, statuses " + endpoint.statuses());
+        }
+    }
+
+    private record Dataset(List<String> usernames, List<Long> customerIds) {
+    }
+
+    // Generated users whose roles allow every request in the mix (plain users cannot see the dashboard)
+    private List<String> staffUsernames() {
+        return userRepository.findAll().stream()
+                .filter(user -> !user.getRoles().equals(Set.of(Role.USER)))
+                .map(User::getUsername)
+                .sorted()
+                .toList();
+    }
+
+    // Each worker signs in as one of the staff users, spread evenly
+    private Operation login(Dataset dataset) {
+        return new Operation("login", 0, session -> {
+            String username = dataset.usernames().get(session.worker % dataset.usernames().size());
+            ObjectNode body = objectMapper.createObjectNode()
+                    .put("username", username)
+                    .put("password", PASSWORD);
+            return post("/api/auth/login", null, body);
+        }, (session, response) -> {
+            if (response.statusCode() == 200) {
+                session.token = read(response).get("token").asText();
+            }
+        });
+    }
+
+    private List<Operation> operations(Dataset dataset) {
+        List<Long> customerIds = dataset.customerIds();
+        List<Operation> operations = new ArrayList<>();
+        operations.add(login(dataset).withWeight(1));
+        operations.add(new Operation("dashboard-summary", 10, session -> get(session, "/api/dashboard/summary")));
+        operations.add(new Operation("dashboard-pipeline", 5, session -> get(session, "/api/dashboard/pipeline")));
+        operations.add(new Operation("customers-page", 10, session ->
+                get(session, "/api/customers/page?size=20&page=" + session.random.nextInt(50))));
+        operations.add(new Operation("tasks-page", 5, session ->
+                get(session, "/api/tasks/page?size=20&page=" + session.random.nextInt(50))));
+        operations.add(new Operation("deals-seek", 5, session -> get(session, "/api/deals/seek?size=20")));
+        operations.add(new Operation("customer-by-id", 15, session -> get(session,
+                "/api/customers/getByCustomerId/" + customerIds.get(session.random.nextInt(customerIds.size())))));
+        operations.add(new Operation("search-global", 8, session ->
+                get(session, "/api/search/global?query=" + word(session))));
+        operations.add(new Operation("search-ranked", 5, session ->
+                get(session, "/api/search/ranked?limit=20&query=" + word(session))));
+        operations.add(new Operation("autocomplete", 15, session -> {
+            String word = word(session);
+            return get(session, "/api/search/autocomplete?limit=10&prefix="
+                    + word.substring(0, 2 + session.random.nextInt(3)));
+        }));
+        operations.add(new Operation("customer-create", 3,
+                session -> post("/api/customers/create/customer", session.token, customer(session)),
+                (session, response) -> {
+                    if (response.statusCode() == 201 || response.statusCode() == 200) {
+                        session.createdIds.add(read(response).get("id").asLong());
+                    }
+                }));
+        operations.add(new Operation("customer-update", 2, session -> {
+            if (session.createdIds.isEmpty()) {
+                return null;
+            }
+            Long id = session.createdIds.get(session.random.nextInt(session.createdIds.size()));
+            return send(session.token, "PUT", "/api/customers/update/" + id, customer(session));
+        }));
+        operations.add(new Operation("note-create", 3, session -> {
+            ObjectNode body = objectMapper.createObjectNode()
+                    .put("content", "Load test call about the " + word(session) + " renewal")
+                    .put("customerId", customerIds.get(session.random.nextInt(customerIds.size())));
+            return post("/api/notes/createNote", session.token, body);
+        }));
+        return operations;
+    }
+
+    private static List<Operation> withOverrides(List<Operation> operations, String overrides) {
+        List<Operation> result = new ArrayList<>(operations);
+        if (overrides == null || overrides.isBlank()) {
+            return result;
+        }
+        for (String override : overrides.split(",")) {
+            String[] parts = override.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must be name=weight: " + override);
+            }
+            int index = indexOf(result, parts[0].trim());
+            result.set(index, result.get(index).withWeight(Integer.parseInt(parts[1].trim())));
+        }
+        return result;
+    }
+
+    private static int indexOf(List<Operation> operations, String name) {
+        for (int i = 0; i < operations.size(); i++) {
+            if (operations.get(i).name().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in crm.loadtest.mix: " + name);
+    }
+
+    private static ObjectNode customer(Session session) {
+        String name = "Load " + word(session) + " " + session.worker + "-" + session.random.nextInt(1_000_000);
+        return objectMapper.createObjectNode()
+                .put("name", name)
+                .put("email", "load" + session.worker + "-" + session.random.nextInt(1_000_000) + "@crm.test")
+                .put("companyName", name)
+                .put("city", "London");
+    }
+
+    private static String word(Session session) {
+        List<String> words = SyntheticDataGenerator.NAME_WORDS;
+        return words.get(session.random.nextInt(words.size()));
+    }
+
+    private HttpRequest get(Session session, String path) {
+        return request(session.token, path).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, JsonNode body) {
+        return send(token, "POST", path, body);
+    }
+
+    private HttpRequest send(String token, String method, String path, JsonNode body) {
+        return request(token, path)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String token, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private static JsonNode read(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable response from " + response.uri(), e);
+        }
+    }
+}
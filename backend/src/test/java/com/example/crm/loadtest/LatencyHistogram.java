@@ -0,0 +1,110 @@
+package com.example.crm.loadtest;
+
+/**
+ * Latencies in microseconds, in log-linear buckets: one bucket per microsecond below 128, then 64 buckets
+ * per power of two, so a reported percentile is within 1.6% of the recorded value. Recording is a couple of
+ * shifts and an array increment. Not thread-safe: each worker keeps its own and they are merged at the end.
+ */
+final class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 128;
+    private static final int LINEAR_BITS = 7;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[LINEAR_LIMIT + (Long.SIZE - LINEAR_BITS) * SUB_BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return count;
+    }
+
+    long max() {
+        return max;
+    }
+
+    double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * The smallest recorded latency that at least {@code percentile}% of samples do not exceed, rounded up to
+     * the top of its bucket.
+     */
+    long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Number of samples at or below each bound, which must be ascending. A bound that falls inside a bucket
+     * counts the whole bucket.
+     */
+    long[] countsAtOrBelow(long[] bounds) {
+        long[] result = new long[bounds.length];
+        long seen = 0;
+        int bucket = 0;
+        for (int b = 0; b < bounds.length; b++) {
+            while (bucket < counts.length && lowestValueIn(bucket) <= bounds[b]) {
+                seen += counts[bucket++];
+            }
+            result[b] = seen;
+        }
+        return result;
+    }
+
+    static int index(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestValueIn(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = LINEAR_BITS + (index - LINEAR_LIMIT) / SUB_BUCKETS;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long highestValueIn(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = LINEAR_BITS + (index - LINEAR_LIMIT) / SUB_BUCKETS;
+        return lowestValueIn(index) + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.crm.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Closed-loop load: a fixed number of workers, each sending its next request as soon as the last one
+ * returns, so concurrency is exact and throughput is what the server sustains at that concurrency.
+ * Each worker logs in once, then picks operations at random in proportion to their weights. Requests
+ * started during the warmup are sent but not recorded.
+ */
+final class LoadDriver {
+
+    /**
+     * One kind of request. {@code request} may return null when the session has nothing to send yet
+     * (e.g. an update before anything was created); {@code onResponse} sees every response, successful or not.
+     */
+    record Operation(String name, int weight, Function<Session, HttpRequest> request,
+                     BiConsumer<Session, HttpResponse<String>> onResponse) {
+
+        Operation(String name, int weight, Function<Session, HttpRequest> request) {
+            this(name, weight, request, (session, response) -> {
+            });
+        }
+
+        Operation withWeight(int weight) {
+            return new Operation(name, weight, request, onResponse);
+        }
+    }
+
+    /**
+     * A worker's own state: its random source, bearer token and the ids it has created.
+     */
+    static final class Session {
+
+        final int worker;
+        final Random random;
+        String token;
+        final List<Long> createdIds = new ArrayList<>();
+
+        Session(int worker, Random random) {
+            this.worker = worker;
+            this.random = random;
+        }
+    }
+
+    /**
+     * Per-operation results. 2xx responses are successes; any other status, or no response at all
+     * (recorded as status 0), is an error. Latency is recorded either way.
+     */
+    static final class EndpointStats {
+
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final Map<Integer, Long> statuses = new TreeMap<>();
+        long errors;
+
+        void record(long micros, int status) {
+            latencies.record(micros);
+            statuses.merge(status, 1L, Long::sum);
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+
+        void add(EndpointStats other) {
+            latencies.add(other.latencies);
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+            errors += other.errors;
+        }
+    }
+
+    private final HttpClient client;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+
+    LoadDriver(HttpClient client, int concurrency, Duration warmup, Duration duration, long seed) {
+        this.client = client;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the load and returns the merged results by operation name, in the order of {@code mix}.
+     */
+    Map<String, EndpointStats> run(Operation login, List<Operation> mix)
+            throws InterruptedException, ExecutionException {
+        List<Operation> enabled = mix.stream().filter(operation -> operation.weight() > 0).toList();
+        if (enabled.isEmpty()) {
+            throw new IllegalArgumentException("Every operation in the mix has weight 0");
+        }
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Callable<Map<String, EndpointStats>>> tasks = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                Session session = new Session(worker, new Random(seed * 31 + worker));
+                tasks.add(() -> work(session, login, enabled, measureFrom, end));
+            }
+            Map<String, EndpointStats> merged = new HashMap<>();
+            for (Future<Map<String, EndpointStats>> result : workers.invokeAll(tasks)) {
+                result.get().forEach((name, stats) ->
+                        merged.computeIfAbsent(name, key -> new EndpointStats()).add(stats));
+            }
+            Map<String, EndpointStats> ordered = new LinkedHashMap<>();
+            for (Operation operation : mix) {
+                if (merged.containsKey(operation.name())) {
+                    ordered.put(operation.name(), merged.get(operation.name()));
+                }
+            }
+            merged.forEach(ordered::putIfAbsent);
+            return ordered;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Map<String, EndpointStats> work(Session session, Operation login, List<Operation> mix,
+                                            long measureFrom, long end) throws InterruptedException {
+        int[] cumulative = new int[mix.size()];
+        int total = 0;
+        for (int i = 0; i < mix.size(); i++) {
+            total += mix.get(i).weight();
+            cumulative[i] = total;
+        }
+        Map<String, EndpointStats> results = new HashMap<>();
+        send(session, login, results, measureFrom);
+        while (System.nanoTime() < end) {
+            int pick = Arrays.binarySearch(cumulative, session.random.nextInt(total) + 1);
+            send(session, mix.get(pick >= 0 ? pick : -pick - 1), results, measureFrom);
+        }
+        return results;
+    }
+
+    private void send(Session session, Operation operation, Map<String, EndpointStats> results, long measureFrom)
+            throws InterruptedException {
+        HttpRequest request = operation.request().apply(session);
+        if (request == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        int status;
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+        } catch (IOException e) {
+            status = 0;
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+        if (start >= measureFrom) {
+            results.computeIfAbsent(operation.name(), name -> new EndpointStats()).record(micros, status);
+        }
+        if (response != null) {
+            operation.onResponse().accept(session, response);
+        }
+    }
+}
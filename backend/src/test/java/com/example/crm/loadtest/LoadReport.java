@@ -0,0 +1,141 @@
+package com.example.crm.loadtest;
+
+import com.example.crm.loadtest.LoadDriver.EndpointStats;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of one load test run: throughput, error count and latency distribution per endpoint and overall.
+ * Latencies are in milliseconds; the histogram counts requests per power-of-two bucket, each holding the
+ * latencies above the previous bound up to its own.
+ */
+record LoadReport(Instant finishedAt, LoadTestSettings settings, EndpointReport total, List<EndpointReport> endpoints) {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    record EndpointReport(String endpoint, long requests, long errors, double requestsPerSecond,
+                          Map<String, Double> latencyMs, Map<Integer, Long> statuses, List<Bucket> histogram) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    record Bucket(double upToMs, long count) {
+    }
+
+    static LoadReport of(LoadTestSettings settings, Map<String, EndpointStats> results) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        EndpointStats all = new EndpointStats();
+        List<EndpointReport> endpoints = new ArrayList<>();
+        results.forEach((name, stats) -> {
+            endpoints.add(endpoint(name, stats, seconds));
+            all.add(stats);
+        });
+        return new LoadReport(Instant.now(), settings, endpoint("total", all, seconds), endpoints);
+    }
+
+    private static EndpointReport endpoint(String name, EndpointStats stats, double seconds) {
+        LatencyHistogram latencies = stats.latencies;
+        Map<String, Double> latencyMs = new LinkedHashMap<>();
+        latencyMs.put("mean", millis(latencies.mean()));
+        for (double percentile : PERCENTILES) {
+            latencyMs.put("p" + (percentile == (long) percentile ? String.valueOf((long) percentile)
+                    : String.valueOf(percentile)), millis(latencies.percentile(percentile)));
+        }
+        latencyMs.put("max", millis(latencies.max()));
+        double requestsPerSecond = Math.round(latencies.count() / seconds * 10) / 10.0;
+        return new EndpointReport(name, latencies.count(), stats.errors, requestsPerSecond, latencyMs, stats.statuses,
+                histogram(latencies));
+    }
+
+    // 1, 2, 4, ... ms, up to the first bound that holds the slowest request
+    private static List<Bucket> histogram(LatencyHistogram latencies) {
+        List<Long> bounds = new ArrayList<>();
+        for (long boundMicros = 1000; ; boundMicros *= 2) {
+            bounds.add(boundMicros);
+            if (boundMicros >= latencies.max()) {
+                break;
+            }
+        }
+        long[] atOrBelow = latencies.countsAtOrBelow(bounds.stream().mapToLong(Long::longValue).toArray());
+        List<Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < atOrBelow.length; i++) {
+            buckets.add(new Bucket(bounds.get(i) / 1000.0, atOrBelow[i] - (i == 0 ? 0 : atOrBelow[i - 1])));
+        }
+        return buckets;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("report.json");
+        objectMapper.writeValue(file.toFile(), this);
+        return file;
+    }
+
+    static LoadReport read(Path file) throws IOException {
+        return objectMapper.readValue(file.toFile(), LoadReport.class);
+    }
+
+    String table() {
+        StringBuilder table = new StringBuilder(String.format("%n%-20s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "mean ms", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        List<EndpointReport> rows = new ArrayList<>(endpoints);
+        rows.add(total);
+        for (EndpointReport row : rows) {
+            table.append(String.format("%-20s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", row.endpoint(),
+                    row.requests(), row.errors(), row.requestsPerSecond(), row.latencyMs().get("mean"),
+                    row.latencyMs().get("p50"), row.latencyMs().get("p99"), row.latencyMs().get("p99.9"),
+                    row.latencyMs().get("max")));
+        }
+        return table.toString();
+    }
+
+    // Throughput and p99 of this run next to an earlier one, per endpoint both runs share
+    String comparison(LoadReport baseline) {
+        Map<String, EndpointReport> before = new LinkedHashMap<>();
+        baseline.endpoints().forEach(endpoint -> before.put(endpoint.endpoint(), endpoint));
+        before.put("total", baseline.total());
+        StringBuilder table = new StringBuilder(String.format("%n%-20s %11s %9s %8s %11s %9s%n",
+                "endpoint", "base req/s", "req/s", "change", "base p99 ms", "p99 ms"));
+        List<EndpointReport> rows = new ArrayList<>(endpoints);
+        rows.add(total);
+        for (EndpointReport row : rows) {
+            EndpointReport base = before.get(row.endpoint());
+            if (base == null) {
+                continue;
+            }
+            double change = base.requestsPerSecond() == 0 ? 0
+                    : (row.requestsPerSecond() - base.requestsPerSecond()) / base.requestsPerSecond() * 100;
+            table.append(String.format("%-20s %11.1f %9.1f %+7.1f%% %11.2f %9.2f%n", row.endpoint(),
+                    base.requestsPerSecond(), row.requestsPerSecond(), change, base.latencyMs().get("p99"),
+                    row.latencyMs().get("p99")));
+        }
+        if (!baseline.settings().equals(settings)) {
+            table.append("Baseline ran with different settings: ").append(baseline.settings()).append('\n');
+        }
+        return table.toString();
+    }
+}
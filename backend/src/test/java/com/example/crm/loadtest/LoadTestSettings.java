@@ -0,0 +1,12 @@
+package com.example.crm.loadtest;
+
+import com.example.crm.seed.SeedSettings;
+
+import java.time.Duration;
+
+/**
+ * Dataset and load shape of one run, from the crm.loadtest.* properties. Written into the report so
+ * results from different runs can be compared like for like.
+ */
+record LoadTestSettings(SeedSettings dataset, int concurrency, Duration warmup, Duration duration, String mix) {
+}
@@ -0,0 +1,153 @@
+package com.example.crm.metrics;
+
+import com.example.crm.cache.DtoCacheEvictor;
+import com.example.crm.config.DtoCacheConfig;
+import com.example.crm.dto.CustomerDTO;
+import com.example.crm.mapper.CustomerMapperImpl;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.repository.DashboardRepository;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.service.CustomerService;
+import com.example.crm.service.CustomerServiceImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({ServiceTimingAspect.class, RepositoryMetricsAspect.class, MetricsAspectsTest.Registry.class,
+        CustomerServiceImpl.class, CustomerMapperImpl.class, DashboardRepository.class, SearchIndex.class,
+        DtoCacheConfig.class, DtoCacheEvictor.class})
+class MetricsAspectsTest {
+
+    @TestConfiguration
+    static class Registry {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DashboardRepository dashboardRepository;
+
+    // The registry is not cleared between tests: the aspects keep the meters they register, so each test
+    // compares counts taken before and after its calls
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void serviceMethods_ShouldBeTimedPerMethodAndOutcome() {
+        long creates = serviceCalls("createCustomer", "none");
+        long reads = serviceCalls("getCustomerById", "none");
+        long misses = serviceCalls("getCustomerById", "NoSuchElementException");
+
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Acme");
+        customer.setEmail("acme@example.com");
+        Long id = customerService.createCustomer(customer).getId();
+        customerService.getCustomerById(id);
+        assertThrows(NoSuchElementException.class, () -> customerService.getCustomerById(id + 1));
+
+        assertEquals(creates + 1, serviceCalls("createCustomer", "none"));
+        assertEquals(reads + 1, serviceCalls("getCustomerById", "none"));
+        assertEquals(misses + 1, serviceCalls("getCustomerById", "NoSuchElementException"));
+    }
+
+    @Test
+    void repositoryMethods_ShouldBeTimedAndCountRows() {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName("Acme");
+        customer.setEmail("acme@example.com");
+        customerService.createCustomer(customer);
+        customerService.createCustomer(customer);
+        long listCalls = rowCalls("CustomerRepository", "findAll");
+        double listRows = rowTotal("CustomerRepository", "findAll");
+        long lookupCalls = rowCalls("CustomerRepository", "findById");
+        double lookupRows = rowTotal("CustomerRepository", "findById");
+        long counts = repositoryCalls("CustomerRepository", "count");
+        long summaries = repositoryCalls("DashboardRepository", "findSummaryRows");
+
+        customerRepository.findAll();
+        customerRepository.findAll(PageRequest.of(0, 1));
+        customerRepository.findById(-1L);
+        customerRepository.count();
+        dashboardRepository.findSummaryRows();
+
+        // Two customers from the list, one from the single-row page
+        assertEquals(listRows + 3, rowTotal("CustomerRepository", "findAll"));
+        assertEquals(listCalls + 2, rowCalls("CustomerRepository", "findAll"));
+        assertEquals(lookupCalls + 1, rowCalls("CustomerRepository", "findById"));
+        assertEquals(lookupRows, rowTotal("CustomerRepository", "findById"));
+        // Scalars are timed, not counted
+        assertEquals(counts + 1, repositoryCalls("CustomerRepository", "count"));
+        assertNull(meterRegistry.find("crm.repository.rows").tag("method", "count").summary());
+        assertEquals(summaries + 1, repositoryCalls("DashboardRepository", "findSummaryRows"));
+    }
+
+    @Test
+    void rows_ShouldCountOnlyResultsThatAreSetsOfRows() {
+        assertEquals(3, RepositoryMetricsAspect.rows(List.of(1, 2, 3)));
+        assertEquals(1, RepositoryMetricsAspect.rows(Optional.of("row")));
+        assertEquals(0, RepositoryMetricsAspect.rows(null));
+        assertEquals(1, RepositoryMetricsAspect.rows(new Object()));
+        assertEquals(-1, RepositoryMetricsAspect.rows(42L));
+    }
+
+    private long serviceCalls(String method, String exception) {
+        Timer timer = meterRegistry.find("crm.service").tags("class", "CustomerServiceImpl", "method", method,
+                "exception", exception).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private long repositoryCalls(String repository, String method) {
+        Timer timer = meterRegistry.find("crm.repository").tags("repository", repository, "method", method,
+                "exception", "none").timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private long rowCalls(String repository, String method) {
+        DistributionSummary rows = rows(repository, method);
+        return rows != null ? rows.count() : 0;
+    }
+
+    private double rowTotal(String repository, String method) {
+        DistributionSummary rows = rows(repository, method);
+        return rows != null ? rows.totalAmount() : 0;
+    }
+
+    private DistributionSummary rows(String repository, String method) {
+        return meterRegistry.find("crm.repository.rows").tags("repository", repository, "method", method).summary();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.crm.metrics;
+
+import com.example.crm.cache.DtoCacheEvictor;
+import com.example.crm.config.DtoCacheConfig;
+import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.PipelineTotalDTO;
+import com.example.crm.mapper.CustomerMapperImpl;
+import com.example.crm.mapper.DealMapperImpl;
+import com.example.crm.mapper.UserMapperImpl;
+import com.example.crm.model.Role;
+import com.example.crm.model.User;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.repository.DealRepository;
+import com.example.crm.repository.UserRepository;
+import com.example.crm.search.SearchIndex;
+import com.example.crm.security.UserRevocationCache;
+import com.example.crm.service.CustomerService;
+import com.example.crm.service.CustomerServiceImpl;
+import com.example.crm.service.DealService;
+import com.example.crm.service.DealServiceImpl;
+import com.example.crm.service.UserService;
+import com.example.crm.service.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside a test transaction so each service call commits and the after-commit updates fire.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PipelineMetrics.class, CustomerServiceImpl.class, DealServiceImpl.class, UserServiceImpl.class,
+        UserRevocationCache.class, CustomerMapperImpl.class, DealMapperImpl.class, UserMapperImpl.class,
+        SearchIndex.class, DtoCacheConfig.class, DtoCacheEvictor.class})
+class PipelineMetricsListenerTest {
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private DealService dealService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        pipelineMetrics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dealRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void dealWrites_ShouldMoveTotalsBetweenBuckets() {
+        Long customerId = customerService.createCustomer(customer("Acme Corp", null)).getId();
+        Long dealId = dealService.createDeal(deal("Renewal", "New", 100.0, customerId)).getId();
+        assertEquals(new PipelineTotalDTO(1, 100.0), pipelineMetrics.stage("New"));
+
+        dealService.updateDeal(dealId, deal("Renewal", "Closed", 250.0, customerId));
+        assertEquals(Map.of("Closed", new PipelineTotalDTO(1, 250.0)), pipelineMetrics.byStage());
+
+        dealService.deleteDeal(dealId);
+        assertEquals(Map.of(), pipelineMetrics.byStage());
+    }
+
+    @Test
+    void deleteCustomer_ShouldDropTotalsOfDealsRemovedByCascade() {
+        Long acme = customerService.createCustomer(customer("Acme Corp", null)).getId();
+        Long globex = customerService.createCustomer(customer("Globex", null)).getId();
+        dealService.createDeal(deal("Renewal", "New", 100.0, acme));
+        dealService.createDeal(deal("Upsell", "Closed", 50.0, acme));
+        dealService.createDeal(deal("Pilot", "New", 30.0, globex));
+
+        customerService.deleteCustomer(acme);
+
+        assertEquals(Map.of("New", new PipelineTotalDTO(1, 30.0)), pipelineMetrics.byStage());
+        assertEquals(new PipelineTotalDTO(0, 0.0), pipelineMetrics.customer(acme));
+        assertEquals(new PipelineTotalDTO(1, 30.0), pipelineMetrics.month(YearMonth.of(2024, 3)));
+    }
+
+    @Test
+    void deleteUser_ShouldDropTotalsOfTheirCustomersDeals() {
+        User owner = new User();
+        owner.setUsername("owner");
+        owner.setEmail("owner@acme.test");
+        owner.setPassword("encoded-password");
+        owner.setRoles(Set.of(Role.MANAGER));
+        Long userId = userRepository.save(owner).getId();
+        Long customerId = customerService.createCustomer(customer("Acme Corp", userId)).getId();
+        dealService.createDeal(deal("Renewal", "New", 100.0, customerId));
+
+        userService.deleteUser(userId);
+
+        assertEquals(Map.of(), pipelineMetrics.byStage());
+        assertEquals(Map.of(), pipelineMetrics.byCustomer());
+    }
+
+    private static CustomerDTO customer(String name, Long userId) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setName(name);
+        customer.setEmail("sales@acme.test");
+        customer.setUserId(userId);
+        return customer;
+    }
+
+    private static DealDTO deal(String name, String stage, double amount, Long customerId) {
+        DealDTO deal = new DealDTO();
+        deal.setDealName(name);
+        deal.setStage(stage);
+        deal.setAmount(amount);
+        deal.setDealDate(LocalDate.of(2024, 3, 15));
+        deal.setCustomerId(customerId);
+        return deal;
+    }
+}
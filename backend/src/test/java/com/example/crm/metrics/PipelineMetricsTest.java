@@ -0,0 +1,68 @@
+package com.example.crm.metrics;
+
+import com.example.crm.dto.PipelineTotalDTO;
+import com.example.crm.metrics.PipelineMetrics.DealFacts;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineMetricsTest {
+
+    private final PipelineMetrics metrics = new PipelineMetrics();
+
+    @Test
+    void add_ShouldAccumulatePerStageCustomerAndMonth() {
+        metrics.add(DealFacts.of("New", 1L, LocalDate.of(2024, 3, 5), 100.0));
+        metrics.add(DealFacts.of("New", 2L, LocalDate.of(2024, 3, 20), 50.0));
+        metrics.add(DealFacts.of("Closed", 1L, null, 10.0));
+
+        assertEquals(new PipelineTotalDTO(2, 150.0), metrics.stage("New"));
+        assertEquals(new PipelineTotalDTO(2, 110.0), metrics.customer(1L));
+        assertEquals(new PipelineTotalDTO(2, 150.0), metrics.month(YearMonth.of(2024, 3)));
+        assertEquals(1, metrics.byMonth().size());
+    }
+
+    @Test
+    void replaceAndRemove_ShouldMoveTotalsBetweenBuckets() {
+        DealFacts before = DealFacts.of("New", 1L, LocalDate.of(2024, 3, 5), 100.0);
+        DealFacts after = DealFacts.of("Closed", 1L, LocalDate.of(2024, 4, 1), 120.0);
+        metrics.add(before);
+
+        metrics.replace(before, after);
+
+        assertFalse(metrics.byStage().containsKey("New"));
+        assertEquals(new PipelineTotalDTO(1, 120.0), metrics.stage("Closed"));
+        assertEquals(new PipelineTotalDTO(1, 120.0), metrics.customer(1L));
+
+        metrics.remove(after);
+
+        assertTrue(metrics.byStage().isEmpty());
+        assertEquals(new PipelineTotalDTO(0, 0.0), metrics.customer(1L));
+    }
+
+    @Test
+    void nullFields_ShouldNotBreakAccounting() {
+        metrics.add(DealFacts.of(null, null, null, null));
+
+        assertEquals(new PipelineTotalDTO(1, 0.0), metrics.stage(PipelineMetrics.UNSET_STAGE));
+        assertTrue(metrics.byCustomer().isEmpty());
+    }
+
+    @Test
+    void concurrentUpdates_ShouldNotLoseCounts() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> metrics.add(DealFacts.of("New", 1L, null, 1.0)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(new PipelineTotalDTO(10_000, 10_000.0), metrics.stage("New"));
+    }
+}
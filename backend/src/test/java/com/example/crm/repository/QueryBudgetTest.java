@@ -0,0 +1,230 @@
+package com.example.crm.repository;
+
+import com.example.crm.mapper.*;
+import com.example.crm.model.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the list and search queries against N+1 regressions: loading and mapping a whole listing
+ * must cost a fixed number of SQL statements no matter how many rows come back.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CustomerMapperImpl.class, DealMapperImpl.class, TaskMapperImpl.class,
+        ContactMapperImpl.class, NoteMapperImpl.class, UserMapperImpl.class})
+class QueryBudgetTest {
+
+    private static final int CUSTOMERS = 20;
+    private static final int ROWS_PER_CUSTOMER = 5;
+    private static final PageRequest LISTING = PageRequest.of(0, 1000, Sort.by("id"));
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private DealMapper dealMapper;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private ContactMapper contactMapper;
+
+    @Autowired
+    private NoteMapper noteMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int u = 0; u < 4; u++) {
+            User user = new User();
+            user.setUsername("user" + u);
+            user.setEmail("user" + u + "@example.com");
+            user.setPassword("password" + u);
+            user.setRoles(Set.of(Role.MANAGER));
+            entityManager.persist(user);
+
+            for (int c = 0; c < CUSTOMERS / 4; c++) {
+                Customer customer = new Customer();
+                customer.setName("Customer " + u + "-" + c);
+                customer.setEmail("c" + u + "-" + c + "@example.com");
+                customer.setUser(user);
+                entityManager.persist(customer);
+
+                for (int i = 0; i < ROWS_PER_CUSTOMER; i++) {
+                    Deal deal = new Deal();
+                    deal.setDealName("Deal " + i);
+                    deal.setAmount(100.0 * (i + 1));
+                    deal.setStage("New");
+                    deal.setDealDate(LocalDate.of(2024, 1, 1).plusDays(i));
+                    deal.setCustomer(customer);
+                    entityManager.persist(deal);
+
+                    Task task = new Task();
+                    task.setDescription("Task " + i);
+                    task.setStatus("Pending");
+                    task.setCustomer(customer);
+                    task.setAssignedUser(user);
+                    entityManager.persist(task);
+
+                    Contact contact = new Contact();
+                    contact.setName("Contact " + i);
+                    contact.setEmail("contact" + i + "@example.com");
+                    contact.setCustomer(customer);
+                    entityManager.persist(contact);
+
+                    Note note = new Note();
+                    note.setContent("Note " + i);
+                    note.setCustomer(customer);
+                    note.setDeal(deal);
+                    entityManager.persist(note);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingsShouldUseAFixedNumberOfStatements() {
+        int rows = CUSTOMERS * ROWS_PER_CUSTOMER;
+
+        assertStatements(1, CUSTOMERS, () -> customerRepository.findAll().stream().map(customerMapper::toDto).toList());
+        assertStatements(1, rows, () -> dealRepository.findAll().stream().map(dealMapper::toDto).toList());
+        assertStatements(1, rows, () -> taskRepository.findAll().stream().map(taskMapper::toDto).toList());
+        assertStatements(1, rows, () -> contactRepository.findAllWithCustomer().stream().map(contactMapper::toDTO).toList());
+        assertStatements(1, rows, () -> noteRepository.findAll().stream().map(noteMapper::toDto).toList());
+        // Users page without the customers fetch join; the collections follow in one batched load
+        assertStatements(2, 4, () -> userRepository.findSlice(null, LISTING).map(userMapper::toDto).getContent());
+    }
+
+    @Test
+    void searchesShouldUseAFixedNumberOfStatements() {
+        int rows = CUSTOMERS * ROWS_PER_CUSTOMER;
+
+        assertStatements(1, rows, () -> taskRepository.searchByTitle("task", LISTING).stream().map(taskMapper::toDto).toList());
+        assertStatements(1, rows, () -> dealRepository.searchByTitle("deal", LISTING).stream().map(dealMapper::toDto).toList());
+        assertStatements(1, rows, () -> noteRepository.searchBySubject("note", LISTING).stream().map(noteMapper::toDto).toList());
+        // The users' customer collections follow in one batched load
+        assertStatements(2, 4, () -> userRepository.searchByName("user", LISTING).stream().map(userMapper::toDto).toList());
+    }
+
+    @Test
+    void pagesShouldUseAFixedNumberOfStatements() {
+        // select + count, plus one batched load of the users' customer collections
+        assertStatements(2, 50, () -> taskRepository.findAll(Specification.where(null), PageRequest.of(0, 50))
+                .map(taskMapper::toDto).getContent());
+        assertStatements(3, 2, () -> userRepository.findAll(Specification.where(null), PageRequest.of(0, 2))
+                .map(userMapper::toDto).getContent());
+
+        // Slices read one row past the page instead of counting
+        assertStatements(1, 50, () -> taskRepository.findSlice(Specification.where(null), PageRequest.of(0, 50))
+                .map(taskMapper::toDto).getContent());
+        assertStatements(2, 2, () -> userRepository.findSlice(Specification.where(null), PageRequest.of(0, 2))
+                .map(userMapper::toDto).getContent());
+    }
+
+    @Test
+    void slicesShouldTellWhetherThereIsANextPage() {
+        int rows = CUSTOMERS * ROWS_PER_CUSTOMER;
+        Slice<Deal> first = dealRepository.findSlice(Specification.where(null), PageRequest.of(0, 30, Sort.by("id")));
+        Slice<Deal> last = dealRepository.findSlice(Specification.where(null), PageRequest.of(rows / 30, 30, Sort.by("id")));
+
+        assertEquals(30, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(rows % 30, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void projectionsShouldMatchMappedEntitiesInOneStatement() {
+        Customer orphan = new Customer();
+        orphan.setName("No owner");
+        orphan.setEmail("orphan@example.com");
+        entityManager.persist(orphan);
+        Task unassigned = new Task();
+        unassigned.setDescription("No customer");
+        unassigned.setStatus("Pending");
+        entityManager.persist(unassigned);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<?> customers = customerRepository.findAll().stream().map(customerMapper::toDto).toList();
+        assertStatements(1, CUSTOMERS + 1, () -> assertSame(customers, customerRepository.findAllDtos(LISTING)));
+        List<?> deals = dealRepository.findAll().stream().map(dealMapper::toDto).toList();
+        assertStatements(1, deals.size(), () -> assertSame(deals, dealRepository.findAllDtos(LISTING)));
+        List<?> tasks = taskRepository.findAll().stream().map(taskMapper::toDto).toList();
+        assertStatements(1, tasks.size(), () -> assertSame(tasks, taskRepository.findAllDtos(LISTING)));
+        List<?> notes = noteRepository.findAll().stream().map(noteMapper::toDto).toList();
+        assertStatements(1, notes.size(), () -> assertSame(notes, noteRepository.findAllDtos(LISTING)));
+        List<?> contacts = contactRepository.findAll().stream().map(contactMapper::toDTO).toList();
+        assertStatements(1, contacts.size(), () -> assertSame(contacts, contactRepository.findAllDtos(LISTING)));
+    }
+
+    // Same DTOs regardless of order
+    private static List<?> assertSame(List<?> expected, List<?> actual) {
+        assertEquals(Set.copyOf(expected), Set.copyOf(actual));
+        return actual;
+    }
+
+    private void assertStatements(long budget, int expectedRows, Supplier<List<?>> listing) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<?> result = listing.get();
+
+        assertEquals(expectedRows, result.size());
+        assertTrue(statistics.getPrepareStatementCount() <= budget,
+                "Expected at most " + budget + " statements but ran " + statistics.getPrepareStatementCount());
+    }
+}
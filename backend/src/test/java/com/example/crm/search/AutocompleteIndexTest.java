@@ -0,0 +1,85 @@
+package com.example.crm.search;
+
+import com.example.crm.model.Contact;
+import com.example.crm.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutocompleteIndexTest {
+
+    private AutocompleteIndex autocompleteIndex;
+
+    @BeforeEach
+    void setUp() {
+        autocompleteIndex = new AutocompleteIndex();
+        autocompleteIndex.index(Customer.class, 1L, "Acme", "Acme Corporation");
+        autocompleteIndex.index(Customer.class, 2L, "Acme Holdings", null);
+        autocompleteIndex.index(Customer.class, 3L, "Globex", "Globex Corp");
+        autocompleteIndex.index(Contact.class, 1L, "Ada Lovelace", "ada@acme.test");
+    }
+
+    @Test
+    void complete_ShouldReturnPrefixMatchesCaseInsensitivelyInKeyOrder() {
+        assertEquals(List.of("Acme", "Acme Holdings", "Ada Lovelace"), texts(autocompleteIndex.complete("A", 10)));
+        assertEquals(List.of("Acme", "Acme Holdings"), texts(autocompleteIndex.complete("ACM", 10)));
+        assertEquals(List.of("Acme Holdings"), texts(autocompleteIndex.complete("acme h", 10)));
+    }
+
+    @Test
+    void complete_ShouldMatchLaterWords() {
+        assertEquals(List.of("Globex Corp", "Acme Corporation"), texts(autocompleteIndex.complete("corp", 10)));
+        assertEquals(List.of("Ada Lovelace"), texts(autocompleteIndex.complete("love", 10)));
+    }
+
+    @Test
+    void complete_ShouldReturnOneCompletionPerEntityUpToTheLimit() {
+        List<AutocompleteIndex.Completion> completions = autocompleteIndex.complete("acme", 10);
+        assertEquals(List.of(1L, 2L), completions.stream().map(AutocompleteIndex.Completion::id).toList());
+
+        assertEquals(List.of("Acme"), texts(autocompleteIndex.complete("a", 1)));
+        assertEquals(List.of(), autocompleteIndex.complete("zzz", 10));
+        assertEquals(List.of(), autocompleteIndex.complete("  ", 10));
+    }
+
+    @Test
+    void index_ShouldReplaceTheEntitysValues() {
+        autocompleteIndex.index(Customer.class, 1L, "Initech", null);
+
+        assertEquals(List.of("Acme Holdings"), texts(autocompleteIndex.complete("acme", 10)));
+        assertEquals(List.of("Initech"), texts(autocompleteIndex.complete("ini", 10)));
+        assertEquals(List.of("Globex Corp"), texts(autocompleteIndex.complete("corp", 10)));
+        assertEquals(4, autocompleteIndex.size());
+    }
+
+    @Test
+    void remove_ShouldDropEveryKeyOfTheEntityOnly() {
+        autocompleteIndex.remove(Customer.class, 1L);
+        autocompleteIndex.remove(Customer.class, 2L);
+
+        assertEquals(List.of("Ada Lovelace"), texts(autocompleteIndex.complete("a", 10)));
+        assertEquals(List.of("ada@acme.test"), texts(autocompleteIndex.complete("ada@", 10)));
+        assertEquals(List.of("Globex Corp"), texts(autocompleteIndex.complete("corp", 10)));
+        assertEquals(2, autocompleteIndex.size());
+    }
+
+    @Test
+    void index_ShouldKeepKeysSharedByManyEntitiesInIdOrder() {
+        for (long id = 100; id < 140; id++) {
+            autocompleteIndex.index(Customer.class, id, "Customer " + id + " Inc");
+        }
+        autocompleteIndex.remove(Customer.class, 100L);
+        autocompleteIndex.index(Customer.class, 101L, "Renamed Ltd");
+
+        List<AutocompleteIndex.Completion> completions = autocompleteIndex.complete("inc", 50);
+        assertEquals(38, completions.size());
+        assertEquals(List.of(102L, 103L), completions.subList(0, 2).stream().map(AutocompleteIndex.Completion::id).toList());
+    }
+
+    private static List<String> texts(List<AutocompleteIndex.Completion> completions) {
+        return completions.stream().map(AutocompleteIndex.Completion::text).toList();
+    }
+}
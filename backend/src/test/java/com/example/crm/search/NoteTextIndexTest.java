@@ -0,0 +1,87 @@
+package com.example.crm.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoteTextIndexTest {
+
+    private NoteTextIndex noteTextIndex;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        noteTextIndex = new NoteTextIndex();
+        noteTextIndex.open();
+        noteTextIndex.index(1L, "Called Acme about the renewal pricing");
+        noteTextIndex.index(2L, "Renewals are due in March, call Globex");
+        noteTextIndex.index(3L, "Pricing sheet sent to Initech");
+        noteTextIndex.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        noteTextIndex.close();
+    }
+
+    @Test
+    void search_ShouldMatchStemmedWordsCaseInsensitively() {
+        assertEquals(List.of(1L, 2L), noteTextIndex.search("renewal", 10).stream().sorted().toList());
+        assertEquals(List.of(1L, 2L), noteTextIndex.search("CALLING", 10).stream().sorted().toList());
+    }
+
+    @Test
+    void search_ShouldRequireEveryWordAndMatchPhrasesInOrder() {
+        assertEquals(List.of(1L), noteTextIndex.search("renewal pricing", 10));
+        assertEquals(List.of(1L), noteTextIndex.search("\"renewal pricing\"", 10));
+        assertEquals(List.of(), noteTextIndex.search("\"pricing renewal\"", 10));
+        assertEquals(List.of(3L), noteTextIndex.search("init*", 10));
+    }
+
+    @Test
+    void search_ShouldTreatMalformedQueriesAsPlainWords() {
+        assertEquals(List.of(3L), noteTextIndex.search("\"initech", 10));
+        assertEquals(List.of(2L), noteTextIndex.search("globex)", 10));
+        assertEquals(List.of(), noteTextIndex.search("   ", 10));
+    }
+
+    @Test
+    void indexAndRemove_ShouldBeSearchableAfterTheNextRefresh() {
+        noteTextIndex.index(3L, "Quote sent to Initech");
+        noteTextIndex.remove(2L);
+
+        assertEquals(List.of(3L), noteTextIndex.search("pricing sheet", 10));
+        noteTextIndex.refresh();
+        assertEquals(List.of(), noteTextIndex.search("pricing sheet", 10));
+        assertEquals(List.of(3L), noteTextIndex.search("quote", 10));
+        assertEquals(List.of(1L), noteTextIndex.search("renewal", 10));
+        assertEquals(2, noteTextIndex.size());
+    }
+
+    @Test
+    void index_ShouldBeRefreshedInTheBackground() throws InterruptedException {
+        noteTextIndex.index(4L, "Quote sent to Umbrella");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (noteTextIndex.search("umbrella", 10).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(List.of(4L), noteTextIndex.search("umbrella", 10));
+    }
+
+    @Test
+    void topMatches_ShouldCoverFirstMatchedWordWhenQueryIsNotVerbatim() {
+        List<SearchIndex.Match> matches = noteTextIndex.topMatches("renewals", 10);
+
+        SearchIndex.Match stemmed = matches.stream().filter(match -> match.id() == 1L).findFirst().orElseThrow();
+        assertEquals("renewal", stemmed.text().substring(stemmed.start(), stemmed.end()));
+        SearchIndex.Match verbatim = matches.stream().filter(match -> match.id() == 2L).findFirst().orElseThrow();
+        assertEquals(0, verbatim.start());
+        assertTrue(verbatim.score() > stemmed.score());
+    }
+}
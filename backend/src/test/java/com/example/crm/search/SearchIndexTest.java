@@ -0,0 +1,85 @@
+package com.example.crm.search;
+
+import com.example.crm.model.Customer;
+import com.example.crm.model.Note;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex();
+        searchIndex.index(Customer.class, 3L, "Acme Corporation");
+        searchIndex.index(Customer.class, 1L, "Globex");
+        searchIndex.index(Customer.class, 2L, "ACME Holdings");
+        searchIndex.index(Note.class, 1L, "Call Acme about renewal");
+    }
+
+    @Test
+    void search_ShouldMatchSubstringsCaseInsensitively() {
+        assertEquals(List.of(2L, 3L), searchIndex.search(Customer.class, "acme", 10));
+        assertEquals(List.of(3L), searchIndex.search(Customer.class, "CORP", 10));
+        assertEquals(List.of(1L), searchIndex.search(Customer.class, "lob", 10));
+    }
+
+    @Test
+    void search_ShouldHandleQueriesShorterThanAGram() {
+        assertEquals(List.of(1L, 2L, 3L), searchIndex.search(Customer.class, "o", 10));
+        assertEquals(List.of(1L), searchIndex.search(Customer.class, "gl", 10));
+    }
+
+    @Test
+    void search_ShouldKeepTheLowestIdsUpToTheLimit() {
+        assertEquals(List.of(1L, 2L), searchIndex.search(Customer.class, "o", 2));
+        assertTrue(searchIndex.search(Customer.class, "o", 0).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRequireTheWholeQueryNotJustItsGrams() {
+        // "acm" and "cme" both occur, but never as "acmecme"
+        assertTrue(searchIndex.search(Customer.class, "acmecme", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldKeepEntityTypesSeparate() {
+        assertEquals(List.of(1L), searchIndex.search(Note.class, "acme", 10));
+    }
+
+    @Test
+    void index_ShouldReplaceTextOnUpdate() {
+        searchIndex.index(Customer.class, 1L, "Initech");
+
+        assertTrue(searchIndex.search(Customer.class, "globex", 10).isEmpty());
+        assertEquals(List.of(1L), searchIndex.search(Customer.class, "initech", 10));
+        assertEquals(3, searchIndex.size(Customer.class));
+    }
+
+    @Test
+    void remove_ShouldDropTheDocument() {
+        searchIndex.remove(Customer.class, 2L);
+
+        assertEquals(List.of(3L), searchIndex.search(Customer.class, "acme", 10));
+        assertEquals(2, searchIndex.size(Customer.class));
+    }
+
+    @Test
+    void topMatches_ShouldLocateTheQueryInTheOriginalTextWhenLowercasingLengthensIt() {
+        // "İ" lowercases to two chars, shifting every offset after it in the lowercased text
+        String text = "İstanbul Acme";
+        searchIndex.index(Customer.class, 4L, text);
+
+        SearchIndex.Match acme = searchIndex.topMatches(Customer.class, "ACME", 10).stream()
+                .filter(match -> match.id() == 4L).findFirst().orElseThrow();
+        assertEquals("Acme", text.substring(acme.start(), acme.end()));
+
+        SearchIndex.Match stanbul = searchIndex.topMatches(Customer.class, "stanbul", 1).get(0);
+        assertEquals("stanbul", text.substring(stanbul.start(), stanbul.end()));
+    }
+}
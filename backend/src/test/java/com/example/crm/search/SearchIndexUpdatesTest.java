@@ -0,0 +1,47 @@
+package com.example.crm.search;
+
+import com.example.crm.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexUpdatesTest {
+
+    private final SearchIndex searchIndex = new SearchIndex();
+
+    private final SearchIndexUpdates updates = new SearchIndexUpdates();
+
+    @Test
+    void updatesDuringTheBuild_ShouldBeAppliedAfterTheSnapshot() {
+        updates.hold();
+        // Committed while the build was reading: the customer was renamed, then another one deleted
+        updates.apply(() -> searchIndex.index(Customer.class, 1L, "Globex"));
+        updates.apply(() -> searchIndex.remove(Customer.class, 2L));
+        assertEquals(0, searchIndex.size(Customer.class));
+
+        // The snapshot still has the rows as they were
+        searchIndex.index(Customer.class, 1L, "Acme Corp");
+        searchIndex.index(Customer.class, 2L, "Initech");
+        updates.release();
+
+        assertEquals(List.of(1L), searchIndex.search(Customer.class, "globex", 10));
+        assertTrue(searchIndex.search(Customer.class, "acme", 10).isEmpty());
+        assertTrue(searchIndex.search(Customer.class, "initech", 10).isEmpty());
+    }
+
+    @Test
+    void release_ShouldReplayTheRestWhenAnUpdateFailsAndStopHolding() {
+        updates.hold();
+        updates.apply(() -> {
+            throw new IllegalStateException("index closed");
+        });
+        updates.apply(() -> searchIndex.index(Customer.class, 1L, "Acme Corp"));
+        updates.release();
+        assertEquals(List.of(1L), searchIndex.search(Customer.class, "acme", 10));
+
+        updates.apply(() -> searchIndex.index(Customer.class, 2L, "Acme Holdings"));
+        assertEquals(List.of(1L, 2L), searchIndex.search(Customer.class, "acme", 10));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.crm.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+    }
+
+    @Test
+    void validateToken_ShouldReturnClaimsAndCacheThem() {
+        String token = jwtUtil.generateToken("alice");
+
+        Claims first = jwtUtil.validateToken(token);
+        Claims second = jwtUtil.validateToken(token);
+
+        assertEquals("alice", first.getSubject());
+        assertSame(first, second);
+        assertEquals(1, claimsCache().size());
+        assertTrue(jwtUtil.isTokenValid(token, "alice"));
+        assertFalse(jwtUtil.isTokenValid(token, "bob"));
+    }
+
+    @Test
+    void validateToken_ShouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken("alice");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.validateToken(tampered));
+        assertEquals(0, claimsCache().size());
+    }
+
+    @Test
+    void validateToken_ShouldRejectTokenIssuedBeforeServerStart() {
+        String token = jwtUtil.generateToken("alice");
+        ReflectionTestUtils.setField(jwtUtil, "serverStartTime", System.currentTimeMillis() + 60_000);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCache", new JwtClaimsCache(10));
+
+        assertNull(jwtUtil.validateToken(token));
+        assertFalse(jwtUtil.isTokenValid(token, "alice"));
+    }
+
+    private JwtClaimsCache claimsCache() {
+        return (JwtClaimsCache) ReflectionTestUtils.getField(jwtUtil, "claimsCache");
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.crm.seed;
+
+import com.example.crm.cache.DtoCacheEvictor;
+import com.example.crm.config.DtoCacheConfig;
+import com.example.crm.model.Deal;
+import com.example.crm.repository.BulkInsertRepository;
+import com.example.crm.repository.ContactRepository;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.repository.DealRepository;
+import com.example.crm.repository.NoteRepository;
+import com.example.crm.repository.TaskRepository;
+import com.example.crm.repository.UserRepository;
+import com.example.crm.seed.SyntheticDataGenerator.SeedSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside a test transaction: every chunk commits on its own connection.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SyntheticDataGenerator.class, BulkInsertRepository.class, DtoCacheConfig.class,
+        DtoCacheEvictor.class})
+class SyntheticDataGeneratorTest {
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @AfterEach
+    void tearDown() {
+        noteRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        dealRepository.deleteAllInBatch();
+        contactRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void generate_ShouldWriteEveryTableAndReportWhatItWrote() {
+        SeedSummary summary = generator.generate(settings(7, 1));
+
+        assertEquals(5, userRepository.count());
+        assertEquals(600, customerRepository.count());
+        assertEquals(summary.contacts(), contactRepository.count());
+        assertEquals(summary.deals(), dealRepository.count());
+        assertEquals(summary.tasks(), taskRepository.count());
+        assertEquals(summary.notes(), noteRepository.count());
+        // Means are per customer; with 600 customers the totals land near them
+        assertEquals(1800, summary.deals(), 450);
+        assertEquals(0, count("SELECT COUNT(*) FROM deals WHERE customer_id IS NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM notes n JOIN deals d ON n.deal_id = d.id "
+                + "WHERE n.customer_id <> d.customer_id"));
+    }
+
+    @Test
+    void generate_ShouldProduceSameRowsFromSameSeedOnAnyNumberOfThreads() {
+        generator.generate(settings(7, 1));
+        List<String> serial = fingerprint();
+        tearDown();
+
+        generator.generate(settings(7, 4));
+        assertEquals(serial, fingerprint());
+        tearDown();
+
+        generator.generate(settings(8, 4));
+        assertNotEquals(serial, fingerprint());
+    }
+
+    @Test
+    void generate_ShouldSkewStagesAndCustomerOwnership() {
+        generator.generate(settings(7, 2));
+
+        Map<String, Long> stages = dealRepository.findAll().stream()
+                .collect(Collectors.groupingBy(Deal::getStage, Collectors.counting()));
+        assertTrue(stages.get("New") > 2 * stages.get("Negotiation"), stages.toString());
+        Map<Long, Long> owned = jdbcTemplate.queryForList("SELECT user_id FROM customers", Long.class).stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        long mostOwned = owned.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        long leastOwned = owned.values().stream().mapToLong(Long::longValue).min().orElseThrow();
+        assertTrue(mostOwned > 3 * leastOwned, owned.toString());
+    }
+
+    private static SeedSettings settings(long seed, int threads) {
+        return new SeedSettings(seed, 5, 600, 2, 3, 2, 3, 100, threads, "password");
+    }
+
+    // Generated rows without their keys, sorted, so runs whose chunks committed in another order compare equal
+    private List<String> fingerprint() {
+        return jdbcTemplate.queryForList("SELECT c.email || '|' || c.name || '|' || COALESCE(c.city, '') || '|' || "
+                + "(SELECT COUNT(*) FROM deals d WHERE d.customer_id = c.id) || '|' || "
+                + "(SELECT COALESCE(SUM(d.amount), 0) FROM deals d WHERE d.customer_id = c.id) || '|' || "
+                + "(SELECT COUNT(*) FROM notes n WHERE n.customer_id = c.id) "
+                + "FROM customers c ORDER BY c.email", String.class);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
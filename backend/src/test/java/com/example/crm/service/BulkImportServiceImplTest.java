@@ -0,0 +1,202 @@
+package com.example.crm.service;
+
+import com.example.crm.cache.DtoCacheEvictor;
+import com.example.crm.config.DtoCacheConfig;
+import com.example.crm.dto.ImportErrorDTO;
+import com.example.crm.dto.ImportResultDTO;
+import com.example.crm.dto.PipelineTotalDTO;
+import com.example.crm.exception.BadRequestException;
+import com.example.crm.importer.ImportFormat;
+import com.example.crm.importer.ImportJobRegistry;
+import com.example.crm.mapper.*;
+import com.example.crm.metrics.PipelineMetrics;
+import com.example.crm.model.Contact;
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.repository.BulkInsertRepository;
+import com.example.crm.repository.ContactRepository;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.repository.DealRepository;
+import com.example.crm.search.SearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static com.example.crm.TestEntities.customer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the import against H2 outside a test transaction, so every batch really commits and the
+ * after-commit index and metrics updates fire.
+ */
+@DataJpaTest(properties = {
+        "crm.import.batch-size=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({BulkImportServiceImpl.class, BulkInsertRepository.class, ImportJobRegistry.class, SearchIndex.class, PipelineMetrics.class,
+        DtoCacheConfig.class, DtoCacheEvictor.class,
+        CustomerMapperImpl.class, ContactMapperImpl.class, DealMapperImpl.class, TaskMapperImpl.class})
+class BulkImportServiceImplTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @AfterEach
+    void tearDown() {
+        dealRepository.deleteAllInBatch();
+        contactRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importCustomers_ShouldInsertValidRowsAndReportInvalidOnes() {
+        ImportResultDTO result = bulkImportService.importCustomers(upload("""
+                [
+                  {"name": "Acme Corp", "email": "sales@acme.test", "city": "Oslo"},
+                  {"name": "Bad Email Ltd", "email": "not-an-email"},
+                  {"name": "Abc", "email": "abc@abc.test"},
+                  {"name": "Globex", "email": "info@globex.test", "phone": "+4712345678"},
+                  {"name": "Initech", "email": "it@initech.test", "userId": 9999}
+                ]
+                """), ImportFormat.JSON);
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(2L, 3L, 5L), result.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("email:"));
+        assertEquals("Unknown user id 9999", result.getErrors().get(2).getMessage());
+
+        List<Customer> customers = customerRepository.findAll();
+        assertEquals(2, customers.size());
+        Customer acme = customers.stream().filter(c -> c.getName().equals("Acme Corp")).findFirst().orElseThrow();
+        assertEquals("Oslo", acme.getCity());
+        assertNotNull(acme.getCreatedDate());
+        assertTrue(searchIndex.search(Customer.class, "acme", 10).contains(acme.getId()));
+    }
+
+    @Test
+    void importDeals_ShouldCheckCustomersAndUpdatePipelineMetrics() {
+        Long customerId = customerRepository.save(customer("Acme Corp")).getId();
+
+        ImportResultDTO result = bulkImportService.importDeals(upload("""
+                [
+                  {"dealName": "Renewal", "amount": 100.0, "stage": "Imported", "customerId": %d},
+                  {"dealName": "Upsell", "amount": 50.0, "stage": "Imported", "customerId": %d},
+                  {"dealName": "Orphan", "amount": 10.0, "stage": "Imported", "customerId": 424242},
+                  {"dealName": "Free", "amount": 0, "stage": "Imported"}
+                ]
+                """.formatted(customerId, customerId)), ImportFormat.JSON);
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(3L, 4L), result.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+        assertEquals(2, dealRepository.findByCustomerId(customerId).size());
+        assertEquals(new PipelineTotalDTO(2, 150.0), pipelineMetrics.stage("Imported"));
+        assertEquals(1, searchIndex.search(Deal.class, "upsell", 10).size());
+    }
+
+    @Test
+    void importRows_ShouldKeepRowsBeforeMalformedJsonAndSkipUnreadableRows() {
+        ImportResultDTO result = bulkImportService.importCustomers(upload("""
+                [
+                  {"name": "Acme Corp", "email": "sales@acme.test"},
+                  {"name": "Globex", "email": "info@globex.test", "createdDate": "yesterday"},
+                  "not a row",
+                  {"name": "Initech", "email": "it@initech.test"},
+                  {"name": "Umbrella", "email":
+                """), ImportFormat.JSON);
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L, 3L, 5L), result.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+        assertEquals("ABORTED", result.getStatus());
+        assertTrue(result.getErrors().get(2).getMessage().startsWith("Malformed JSON"));
+        assertEquals(2, customerRepository.count());
+    }
+
+    @Test
+    void importContacts_ShouldReadCsvWithHeaderAndTreatEmptyCellsAsMissing() {
+        Long customerId = customerRepository.save(customer("Acme Corp")).getId();
+
+        ImportResultDTO result = bulkImportService.importContacts(upload("""
+                name,email,phone,position,customerId
+                Jane Doe,jane@acme.test,,Buyer,%d
+                "Doe, John",,+4712345678,"Head of ""Ops""\",%d
+                ,nobody@acme.test,,,
+                """.formatted(customerId, customerId)), ImportFormat.CSV);
+
+        assertEquals("COMPLETED", result.getStatus(), result.getMessage());
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(3L), result.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+
+        List<Contact> contacts = contactRepository.findAll();
+        Contact john = contacts.stream().filter(c -> c.getName().equals("Doe, John")).findFirst().orElseThrow();
+        assertEquals("Head of \"Ops\"", john.getPosition());
+        assertNull(john.getEmail());
+        assertNull(contacts.stream().filter(c -> c.getName().equals("Jane Doe")).findFirst().orElseThrow().getPhone());
+    }
+
+    @Test
+    void importCustomers_ShouldSkipMalformedNdjsonLinesAndWriteErrorFile() throws IOException {
+        ImportResultDTO result = bulkImportService.importCustomers(upload("""
+                {"name": "Acme Corp", "email": "sales@acme.test"}
+
+                {"name": "Globex", "email":
+                {"name": "Initech", "email": "it@initech.test"}
+                {"name": "Abc", "email": "abc@abc.test"}
+                """), ImportFormat.NDJSON);
+
+        assertEquals("COMPLETED", result.getStatus(), result.getMessage());
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertTrue(result.getBytesRead() > 0);
+        assertEquals(result, bulkImportService.getImport(result.getJobId()));
+
+        List<String> errorFile = Files.readAllLines(bulkImportService.getImportErrors(result.getJobId()));
+        assertEquals("row,message", errorFile.get(0));
+        assertEquals(3, errorFile.size());
+        assertTrue(errorFile.get(1).startsWith("2,\"Malformed JSON"));
+        assertTrue(errorFile.get(2).startsWith("4,\"name:"));
+    }
+
+    @Test
+    void importRows_ShouldRejectBodyThatIsNotAnArray() {
+        assertThrows(BadRequestException.class,
+                () -> bulkImportService.importContacts(upload("{\"name\": \"Jane\"}"), ImportFormat.JSON));
+    }
+
+    private static InputStream upload(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
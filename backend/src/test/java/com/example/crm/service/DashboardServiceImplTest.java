@@ -0,0 +1,68 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.DashboardSummaryDTO;
+import com.example.crm.repository.DashboardRepository;
+import com.example.crm.repository.DashboardRepository.SummaryRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @Mock
+    private DashboardRepository dashboardRepository;
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    private static final List<SummaryRow> ROWS = List.of(
+            new SummaryRow(DashboardRepository.CUSTOMERS, null, 12, 0),
+            new SummaryRow(DashboardRepository.CONTACTS, null, 30, 0),
+            new SummaryRow(DashboardRepository.DEAL_STAGE, "New", 4, 4000.0),
+            new SummaryRow(DashboardRepository.DEAL_STAGE, "Closed", 3, 9000.0),
+            new SummaryRow(DashboardRepository.DEAL_STAGE, null, 1, 50.0),
+            new SummaryRow(DashboardRepository.TASK_STATUS, "Pending", 5, 0),
+            new SummaryRow(DashboardRepository.TASK_STATUS, "Completed", 2, 0),
+            new SummaryRow(DashboardRepository.TASK_PRIORITY, "High", 7, 0));
+
+    @Test
+    void getSummary_ShouldFoldAggregateRowsIntoTotals() {
+        ReflectionTestUtils.setField(dashboardService, "cacheTtlSeconds", 0L);
+        when(dashboardRepository.findSummaryRows()).thenReturn(ROWS);
+
+        DashboardSummaryDTO summary = dashboardService.getSummary();
+
+        assertEquals(12, summary.getTotalCustomers());
+        assertEquals(30, summary.getTotalContacts());
+        assertEquals(8, summary.getTotalDeals());
+        assertEquals(5, summary.getOpenDeals());
+        assertEquals(4050.0, summary.getPipelineValue());
+        assertEquals(9000.0, summary.getPipelineValueByStage().get("Closed"));
+        assertEquals(1, summary.getDealsByStage().get("Unspecified"));
+        assertEquals(7, summary.getTotalTasks());
+        assertEquals(5, summary.getPendingTasks());
+        assertEquals(7, summary.getTasksByPriority().get("High"));
+        assertNotNull(summary.getGeneratedAt());
+    }
+
+    @Test
+    void getSummary_ShouldServeRepeatCallsFromCacheWithinTtl() {
+        ReflectionTestUtils.setField(dashboardService, "cacheTtlSeconds", 60L);
+        when(dashboardRepository.findSummaryRows()).thenReturn(ROWS);
+
+        DashboardSummaryDTO first = dashboardService.getSummary();
+        DashboardSummaryDTO second = dashboardService.getSummary();
+
+        assertSame(first, second);
+        verify(dashboardRepository, times(1)).findSummaryRows();
+    }
+}
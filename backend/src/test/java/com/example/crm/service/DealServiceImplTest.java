@@ -0,0 +1,136 @@
+package com.example.crm.service;
+
+import com.example.crm.dto.CursorPageDTO;
+import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.DealFilterDTO;
+import com.example.crm.exception.BadRequestException;
+import com.example.crm.mapper.DealMapper;
+import com.example.crm.model.Deal;
+import com.example.crm.repository.DealRepository;
+import com.example.crm.repository.DealSortField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealServiceImplTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private DealMapper dealMapper;
+
+    @InjectMocks
+    private DealServiceImpl dealService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(dealMapper.toDto(any(Deal.class))).thenAnswer(invocation -> {
+            Deal deal = invocation.getArgument(0);
+            DealDTO dto = new DealDTO();
+            dto.setId(deal.getId());
+            return dto;
+        });
+    }
+
+    @Test
+    void getDealsAfter_ShouldFetchOneExtraRowAndResumeFromCursor() {
+        when(dealRepository.findPageAfter(DealSortField.AMOUNT, false, null, null, null, 3))
+                .thenReturn(List.of(deal(9L, 500.0, null), deal(4L, 400.0, null), deal(7L, 400.0, null)));
+
+        CursorPageDTO<DealDTO> first = dealService.getDealsAfter(null, "amount", "desc", 2, null);
+
+        assertEquals(List.of(9L, 4L), first.getContent().stream().map(DealDTO::getId).toList());
+        assertNotNull(first.getNextCursor());
+
+        when(dealRepository.findPageAfter(DealSortField.AMOUNT, false, null, 400.0, 4L, 3))
+                .thenReturn(List.of(deal(7L, 400.0, null)));
+
+        CursorPageDTO<DealDTO> second = dealService.getDealsAfter(null, "amount", "desc", 2, first.getNextCursor());
+
+        assertEquals(List.of(7L), second.getContent().stream().map(DealDTO::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void getDealsAfter_ShouldCarryNullSortValuesInCursor() {
+        when(dealRepository.findPageAfter(DealSortField.DEAL_DATE, true, 5L, null, null, 2))
+                .thenReturn(List.of(deal(3L, 1.0, null), deal(8L, 1.0, LocalDate.of(2024, 1, 1))));
+
+        CursorPageDTO<DealDTO> first = dealService.getDealsAfter(5L, "dealDate", "asc", 1, null);
+        dealService.getDealsAfter(5L, "dealDate", "asc", 1, first.getNextCursor());
+
+        verify(dealRepository).findPageAfter(DealSortField.DEAL_DATE, true, 5L, null, 3L, 2);
+    }
+
+    @Test
+    void getDealsAfter_ShouldRejectUnknownSortFieldAndBadCursor() {
+        assertThrows(BadRequestException.class,
+                () -> dealService.getDealsAfter(null, "customer", "asc", 20, null));
+        assertThrows(BadRequestException.class,
+                () -> dealService.getDealsAfter(null, "amount", "asc", 20, "not-a-cursor"));
+        verify(dealRepository, never()).findPageAfter(any(), anyBoolean(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getSortedDeals_ShouldSortInDatabaseWithIdTieBreakerAndCapTheRows() {
+        ReflectionTestUtils.setField(dealService, "maxListRows", 1000);
+        when(dealRepository.findSlice(any(), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+
+        dealService.getSortedDeals(null, "DEALNAME", "desc");
+
+        verify(dealRepository).findSlice(isNull(), eq(PageRequest.of(0, 1000, Sort.by(Sort.Direction.DESC, "dealName", "id"))));
+    }
+
+    @Test
+    void getDeals_ShouldSkipTheCountUnlessTheTotalIsAskedFor() {
+        DealFilterDTO filter = new DealFilterDTO();
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by("amount"));
+        when(dealRepository.findSlice(any(), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(deal(1L, 100.0, null)), pageable, true));
+
+        Slice<DealDTO> deals = dealService.getDeals(filter, pageable, false);
+
+        assertTrue(deals.hasNext());
+        assertFalse(deals instanceof Page);
+        verify(dealRepository, never()).findAll(ArgumentMatchers.<Specification<Deal>>any(), any(Pageable.class));
+    }
+
+    @Test
+    void getDeals_ShouldRejectSortFieldsOutsideTheWhitelist() {
+        DealFilterDTO filter = new DealFilterDTO();
+
+        assertThrows(BadRequestException.class,
+                () -> dealService.getDeals(filter, PageRequest.of(0, 20, Sort.by("customer")), false));
+        assertThrows(BadRequestException.class,
+                () -> dealService.getDeals(filter, PageRequest.of(0, 20, Sort.by("id", "nope")), true));
+        verifyNoInteractions(dealRepository);
+    }
+
+    private static Deal deal(Long id, Double amount, LocalDate dealDate) {
+        Deal deal = new Deal();
+        deal.setId(id);
+        deal.setAmount(amount);
+        deal.setDealDate(dealDate);
+        return deal;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.crm.service;
+
+import com.example.crm.exporter.ExportFormat;
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.model.Note;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.repository.DealRepository;
+import com.example.crm.repository.ExportRepository;
+import com.example.crm.repository.NoteRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.crm.TestEntities.customer;
+import static org.junit.jupiter.api.Assertions.*;
+
+// H2 rejects the negative fetch size application.properties sets for MySQL
+@DataJpaTest(properties = {
+        "crm.export.fetch-size=500"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ExportServiceImpl.class, ExportRepository.class})
+class ExportServiceImplTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportCustomers_ShouldWriteCsvHeaderAndOneLinePerRowInIdOrder() throws IOException {
+        Customer acme = customerRepository.save(customer("Acme, Inc."));
+        Customer globex = customerRepository.save(customer("Globex"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportCustomers(ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rows);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("id,name,email,"));
+        assertTrue(lines.get(1).startsWith(acme.getId() + ",\"Acme, Inc.\","));
+        assertTrue(lines.get(2).startsWith(globex.getId() + ",Globex,"));
+    }
+
+    @Test
+    void exportDealsAndNotes_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        Customer customer = customerRepository.save(customer("Acme Corp"));
+        Deal deal = new Deal();
+        deal.setDealName("Renewal");
+        deal.setAmount(100.0);
+        deal.setStage("New");
+        deal.setDealDate(LocalDate.of(2024, 3, 5));
+        deal.setCustomer(customer);
+        dealRepository.save(deal);
+        Note note = new Note();
+        note.setContent("Call back on Monday");
+        note.setCustomer(customer);
+        noteRepository.save(note);
+
+        ByteArrayOutputStream deals = new ByteArrayOutputStream();
+        assertEquals(1, exportService.exportDeals(ExportFormat.NDJSON, deals));
+        JsonNode exportedDeal = objectMapper.readTree(deals.toString(StandardCharsets.UTF_8).lines().findFirst().orElseThrow());
+        assertEquals("Renewal", exportedDeal.get("dealName").asText());
+        assertEquals("2024-03-05", exportedDeal.get("dealDate").asText());
+        assertEquals(customer.getId(), exportedDeal.get("customerId").asLong());
+
+        ByteArrayOutputStream notes = new ByteArrayOutputStream();
+        assertEquals(1, exportService.exportNotes(ExportFormat.NDJSON, notes));
+        JsonNode exportedNote = objectMapper.readTree(notes.toString(StandardCharsets.UTF_8));
+        assertEquals("Call back on Monday", exportedNote.get("content").asText());
+        assertTrue(exportedNote.get("dealId").isNull());
+    }
+}
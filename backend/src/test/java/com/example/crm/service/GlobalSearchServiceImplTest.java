@@ -1,15 +1,35 @@
 package com.example.crm.service;
 
 import com.example.crm.dto.*;
+import com.example.crm.exception.BadRequestException;
+import com.example.crm.exception.ServiceUnavailableException;
+import com.example.crm.model.Contact;
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.model.Task;
+import com.example.crm.search.AutocompleteIndex;
+import com.example.crm.search.SearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,6 +55,9 @@ class GlobalSearchServiceImplTest {
     @Mock
     private NoteService noteService;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private GlobalSearchServiceImpl globalSearchService;
 
@@ -45,19 +68,26 @@ class GlobalSearchServiceImplTest {
     private UserDTO userDTO;
     private NoteDTO noteDTO;
 
+    private ExecutorService searchExecutor;
+
     @BeforeEach
     void setUp() {
+        searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        ReflectionTestUtils.setField(globalSearchService, "searchExecutor", searchExecutor);
+        ReflectionTestUtils.setField(globalSearchService, "entityTimeoutMs", 500L);
+        ReflectionTestUtils.setField(globalSearchService, "searchPermits", new Semaphore(4));
+
         customerDTO = new CustomerDTO();
         customerDTO.setId(1L);
         customerDTO.setName("Test Customer");
 
         dealDTO = new DealDTO();
         dealDTO.setId(1L);
-        dealDTO.setTitle("Test Deal");
+        dealDTO.setDealName("Test Deal");
 
         taskDTO = new TaskDTO();
         taskDTO.setId(1L);
-        taskDTO.setTitle("Test Task");
+        taskDTO.setDescription("Test Task");
 
         contactDTO = new ContactDTO();
         contactDTO.setId(1L);
@@ -65,11 +95,11 @@ class GlobalSearchServiceImplTest {
 
         userDTO = new UserDTO();
         userDTO.setId(1L);
-        userDTO.setName("Test User");
+        userDTO.setUsername("Test User");
 
         noteDTO = new NoteDTO();
         noteDTO.setId(1L);
-        noteDTO.setSubject("Test Note");
+        noteDTO.setContent("Test Note");
     }
 
     @Test
@@ -92,7 +122,7 @@ class GlobalSearchServiceImplTest {
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("Test Deal", result.get(0).getTitle());
+        assertEquals("Test Deal", result.get(0).getDealName());
         verify(dealService).searchByTitle("test");
     }
 
@@ -104,7 +134,7 @@ class GlobalSearchServiceImplTest {
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("Test Task", result.get(0).getTitle());
+        assertEquals("Test Task", result.get(0).getDescription());
         verify(taskService).searchByTitle("test");
     }
 
@@ -128,7 +158,7 @@ class GlobalSearchServiceImplTest {
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("Test User", result.get(0).getName());
+        assertEquals("Test User", result.get(0).getUsername());
         verify(userService).searchByName("test");
     }
 
@@ -140,28 +170,192 @@ class GlobalSearchServiceImplTest {
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("Test Note", result.get(0).getSubject());
+        assertEquals("Test Note", result.get(0).getContent());
         verify(noteService).searchBySubject("test");
     }
 
     @Test
     void globalSearch_ShouldReturnCombinedResults() {
-        when(customerService.searchByName("test")).thenReturn(Arrays.asList(customerDTO));
-        when(dealService.searchByTitle("test")).thenReturn(Arrays.asList(dealDTO));
-        when(taskService.searchByTitle("test")).thenReturn(Arrays.asList(taskDTO));
-        when(contactService.searchByName("test")).thenReturn(Arrays.asList(contactDTO));
-        when(userService.searchByName("test")).thenReturn(Arrays.asList(userDTO));
-        when(noteService.searchBySubject("test")).thenReturn(Arrays.asList(noteDTO));
+        when(customerService.searchByName(eq("test"), eq(51))).thenReturn(Arrays.asList(customerDTO));
+        when(dealService.searchByTitle(eq("test"), eq(51))).thenReturn(Arrays.asList(dealDTO));
+        when(taskService.searchByTitle(eq("test"), eq(51))).thenReturn(Arrays.asList(taskDTO));
+        when(contactService.searchByName(eq("test"), eq(51))).thenReturn(Arrays.asList(contactDTO));
+        when(userService.searchByName(eq("test"), eq(51))).thenReturn(Arrays.asList(userDTO));
+        when(noteService.searchBySubject(eq("test"), eq(51))).thenReturn(Arrays.asList(noteDTO));
 
-        List<Object> result = globalSearchService.globalSearch("test");
+        GlobalSearchDTO result = globalSearchService.globalSearch("test", 50);
 
         assertNotNull(result);
-        assertEquals(6, result.size());
-        verify(customerService).searchByName("test");
-        verify(dealService).searchByTitle("test");
-        verify(taskService).searchByTitle("test");
-        verify(contactService).searchByName("test");
-        verify(userService).searchByName("test");
-        verify(noteService).searchBySubject("test");
+        assertEquals(6, result.getResults().size());
+        assertEquals(List.of("Customer", "Deal", "Task", "Contact", "User", "Note"),
+                result.getResults().stream().map(SearchResultDTO::getEntityType).toList());
+        assertSame(dealDTO, result.getResults().get(1).getData());
+        assertEquals(List.of(), result.getTimedOut());
+        assertEquals(List.of(), result.getFailed());
+        verify(customerService).searchByName(eq("test"), eq(51));
+        verify(dealService).searchByTitle(eq("test"), eq(51));
+        verify(taskService).searchByTitle(eq("test"), eq(51));
+        verify(contactService).searchByName(eq("test"), eq(51));
+        verify(userService).searchByName(eq("test"), eq(51));
+        verify(noteService).searchBySubject(eq("test"), eq(51));
+    }
+
+    @Test
+    void globalSearch_ShouldCapEachEntityTypeAndReportTheOnesCutShort() {
+        CustomerDTO other = new CustomerDTO();
+        other.setId(2L);
+        when(customerService.searchByName(eq("test"), eq(2))).thenReturn(Arrays.asList(customerDTO, other));
+        when(dealService.searchByTitle(eq("test"), eq(2))).thenReturn(Arrays.asList(dealDTO));
+
+        GlobalSearchDTO result = globalSearchService.globalSearch("test", 1);
+
+        assertEquals(List.of("Customer", "Deal"),
+                result.getResults().stream().map(SearchResultDTO::getEntityType).toList());
+        assertSame(customerDTO, result.getResults().get(0).getData());
+        assertEquals(List.of("Customer"), result.getTruncated());
+    }
+
+    @Test
+    void globalSearch_ShouldReportEntityTypesThatFailedOrTimedOut() {
+        when(customerService.searchByName(eq("test"), eq(51))).thenReturn(Arrays.asList(customerDTO));
+        when(dealService.searchByTitle(eq("test"), eq(51))).thenThrow(new IllegalStateException("database unavailable"));
+        when(taskService.searchByTitle(eq("test"), eq(51))).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return Arrays.asList(taskDTO);
+        });
+        when(contactService.searchByName(eq("test"), eq(51))).thenThrow(new QueryTimeoutException("statement cancelled"));
+        when(userService.searchByName(eq("test"), eq(51))).thenReturn(Collections.emptyList());
+        when(noteService.searchBySubject(eq("test"), eq(51))).thenReturn(Arrays.asList(noteDTO));
+
+        long start = System.nanoTime();
+        GlobalSearchDTO result = globalSearchService.globalSearch("test", 50);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of("Customer", "Note"),
+                result.getResults().stream().map(SearchResultDTO::getEntityType).toList());
+        assertEquals(List.of("Task", "Contact"), result.getTimedOut());
+        assertEquals(List.of("Deal"), result.getFailed());
+        assertTrue(elapsedMs < 5_000, "slow entity search should be cut off by the timeout");
+    }
+
+    @Test
+    void globalSearch_ShouldRunEachSearchInAReadOnlyTransactionBoundByTheTimeout() {
+        globalSearchService.globalSearch("test", 50);
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(6)).getTransaction(definitions.capture());
+        for (TransactionDefinition definition : definitions.getAllValues()) {
+            assertTrue(definition.isReadOnly());
+            // 500 ms rounded up to the one-second granularity of JDBC query timeouts
+            assertEquals(1, definition.getTimeout());
+        }
+    }
+
+    @Test
+    void globalSearch_ShouldNotRunMoreSearchesAtOnceThanThereArePermits() {
+        ReflectionTestUtils.setField(globalSearchService, "searchPermits", new Semaphore(2));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        Answer<List<?>> slowSearch = invocation -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return Collections.emptyList();
+        };
+        when(customerService.searchByName(eq("test"), eq(51))).thenAnswer(slowSearch);
+        when(dealService.searchByTitle(eq("test"), eq(51))).thenAnswer(slowSearch);
+        when(taskService.searchByTitle(eq("test"), eq(51))).thenAnswer(slowSearch);
+        when(contactService.searchByName(eq("test"), eq(51))).thenAnswer(slowSearch);
+        when(userService.searchByName(eq("test"), eq(51))).thenAnswer(slowSearch);
+        when(noteService.searchBySubject(eq("test"), eq(51))).thenAnswer(slowSearch);
+
+        GlobalSearchDTO result = globalSearchService.globalSearch("test", 50);
+
+        assertEquals(List.of(), result.getTimedOut());
+        assertEquals(2, mostRunning.get());
+    }
+
+    @Test
+    void globalSearch_ShouldBeUnavailableWhenNoEntityTypeCouldBeSearched() {
+        ReflectionTestUtils.setField(globalSearchService, "searchPermits", new Semaphore(0));
+
+        assertThrows(ServiceUnavailableException.class, () -> globalSearchService.globalSearch("test", 50));
+        verifyNoInteractions(customerService, dealService, taskService, contactService, userService, noteService);
+    }
+
+    @Test
+    void rankedSearch_ShouldRankExactAndPrefixMatchesFirstAndCapEachType() {
+        SearchIndex searchIndex = new SearchIndex();
+        searchIndex.index(Customer.class, 1L, "Big Acme Holdings");
+        searchIndex.index(Customer.class, 2L, "Acme");
+        searchIndex.index(Deal.class, 1L, "Acme renewal");
+        searchIndex.index(Deal.class, 2L, "Acme expansion");
+        searchIndex.index(Deal.class, 3L, "Acme upsell");
+        searchIndex.markReady();
+        ReflectionTestUtils.setField(globalSearchService, "searchIndex", searchIndex);
+
+        SearchPageDTO page = globalSearchService.rankedSearch("acme", 10, 2, null);
+
+        List<SearchHitDTO> hits = page.getHits();
+        assertEquals(4, hits.size());
+        assertEquals("Customer", hits.get(0).getEntityType());
+        assertEquals(2L, hits.get(0).getId());
+        assertEquals(2, hits.stream().filter(hit -> hit.getEntityType().equals("Deal")).count());
+        assertEquals("Customer", hits.get(3).getEntityType());
+        assertEquals(4, hits.get(3).getHighlightStart());
+        assertEquals(8, hits.get(3).getHighlightEnd());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void rankedSearch_ShouldPageWithCursorWithoutRepeatsOrGaps() {
+        SearchIndex searchIndex = new SearchIndex();
+        for (long id = 1; id <= 7; id++) {
+            searchIndex.index(Task.class, id, "follow up " + id);
+        }
+        searchIndex.markReady();
+        ReflectionTestUtils.setField(globalSearchService, "searchIndex", searchIndex);
+
+        SearchPageDTO first = globalSearchService.rankedSearch("follow", 3, 50, null);
+        SearchPageDTO second = globalSearchService.rankedSearch("follow", 3, 50, first.getNextCursor());
+        SearchPageDTO third = globalSearchService.rankedSearch("follow", 3, 50, second.getNextCursor());
+
+        List<Long> ids = new ArrayList<>();
+        List.of(first, second, third).forEach(page -> page.getHits().forEach(hit -> ids.add(hit.getId())));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), ids);
+        assertNotNull(second.getNextCursor());
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void rankedSearch_ShouldRejectInvalidCursor() {
+        SearchIndex searchIndex = new SearchIndex();
+        searchIndex.markReady();
+        ReflectionTestUtils.setField(globalSearchService, "searchIndex", searchIndex);
+
+        assertThrows(BadRequestException.class, () -> globalSearchService.rankedSearch("acme", 10, 10, "not-a-cursor"));
+    }
+
+    @Test
+    void autocomplete_ShouldReturnCompletionsAcrossCustomersAndContacts() {
+        AutocompleteIndex autocompleteIndex = new AutocompleteIndex();
+        autocompleteIndex.index(Customer.class, 1L, "Acme", "Acme Corporation");
+        autocompleteIndex.index(Contact.class, 2L, "Ada Lovelace", "ada@acme.test");
+        autocompleteIndex.index(Customer.class, 3L, "Adatum", null);
+        autocompleteIndex.markReady();
+        ReflectionTestUtils.setField(globalSearchService, "autocompleteIndex", autocompleteIndex);
+
+        List<CompletionDTO> completions = globalSearchService.autocomplete("a", 2);
+
+        assertEquals(List.of(new CompletionDTO("Customer", 1L, "Acme"), new CompletionDTO("Contact", 2L, "Ada Lovelace")),
+                completions);
+    }
+
+    @Test
+    void autocomplete_ShouldRejectBlankPrefixAndWaitForTheIndex() {
+        ReflectionTestUtils.setField(globalSearchService, "autocompleteIndex", new AutocompleteIndex());
+
+        assertThrows(BadRequestException.class, () -> globalSearchService.autocomplete(" ", 10));
+        assertThrows(ServiceUnavailableException.class, () -> globalSearchService.autocomplete("acme", 10));
     }
 }
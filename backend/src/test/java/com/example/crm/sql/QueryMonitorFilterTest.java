@@ -0,0 +1,158 @@
+package com.example.crm.sql;
+
+import com.example.crm.cache.DtoCacheEvictor;
+import com.example.crm.config.DtoCacheConfig;
+import com.example.crm.repository.CustomerRepository;
+import com.example.crm.sql.QueryBudgets.EndpointStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "crm.sql.default-budget=5",
+        "crm.sql.budgets=GET /api/customers/{id}=1, POST  /api/customers=2",
+        "crm.sql.n-plus-one-threshold=3"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({QueryMonitorFilter.class, QueryBudgets.class, QueryMonitorFilterTest.Registry.class, DtoCacheConfig.class,
+        DtoCacheEvictor.class})
+class QueryMonitorFilterTest {
+
+    @TestConfiguration
+    static class Registry {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private QueryMonitorFilter queryMonitorFilter;
+
+    @Autowired
+    private QueryBudgets queryBudgets;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    // The filter keeps the meters it registers, so the registry is not cleared and meter counts are compared
+    // before and after each request
+    @AfterEach
+    void tearDown() {
+        queryBudgets.stats().clear();
+    }
+
+    @Test
+    void parse_ShouldReadMethodAndMappingPairs() {
+        assertEquals(Map.of("GET /api/customers/{id}", 1, "POST /api/customers", 2), queryBudgets.budgets());
+        assertEquals(1, queryBudgets.budgetFor("GET /api/customers/{id}"));
+        assertEquals(5, queryBudgets.budgetFor("GET /api/deals"));
+        assertThrows(IllegalArgumentException.class, () -> QueryBudgets.parse("GET /api/deals"));
+    }
+
+    @Test
+    void request_ShouldCountItsStatementsAgainstTheEndpoint() throws Exception {
+        long recorded = statementsRecorded("/api/customers/{id}");
+        perform("GET", "/api/customers/{id}", (request, response) -> customerRepository.findByCountry("NL"));
+
+        EndpointStats stats = queryBudgets.stats().get("GET /api/customers/{id}");
+        assertEquals(1, stats.requests());
+        assertEquals(1, stats.statements());
+        assertEquals(0, stats.overBudget());
+        assertTrue(stats.sqlNanos() > 0);
+        assertEquals(recorded + 1, statementsRecorded("/api/customers/{id}"));
+    }
+
+    @Test
+    void request_ShouldBeFlaggedWhenOverBudgetOrRepeatingAStatement() throws Exception {
+        double flagged = nPlusOneViolations();
+        perform("GET", "/api/customers/{id}", (request, response) -> {
+            for (int i = 0; i < 3; i++) {
+                customerRepository.findByCountry("NL");
+            }
+        });
+
+        EndpointStats stats = queryBudgets.stats().get("GET /api/customers/{id}");
+        assertEquals(3, stats.maxStatements());
+        assertEquals(1, stats.overBudget());
+        assertEquals(1, stats.nPlusOne());
+        assertEquals(flagged + 1, nPlusOneViolations());
+    }
+
+    @Test
+    void propagatedTasks_ShouldCountAgainstTheRequestThatStartedThem() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            perform("GET", "/api/search/global", (request, response) -> {
+                try {
+                    executor.submit(RequestQueries.propagate(() -> customerRepository.findByCountry("NL"))).get();
+                    executor.submit(() -> customerRepository.findByCountry("DE")).get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, queryBudgets.stats().get("GET /api/search/global").statements());
+    }
+
+    @Test
+    void statementsOutsideARequest_ShouldNotBeCounted() throws Exception {
+        customerRepository.findByCountry("NL");
+        perform("GET", "/api/customers/{id}", (request, response) -> { });
+
+        assertEquals(0, queryBudgets.stats().get("GET /api/customers/{id}").statements());
+    }
+
+    @Test
+    void unmatchedRequest_ShouldBeRecordedAsUnknownInTheMetricsAndTheBudgets() throws Exception {
+        long recorded = statementsRecorded("UNKNOWN");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/no/such/path");
+        queryMonitorFilter.doFilter(request, new MockHttpServletResponse(),
+                (req, response) -> customerRepository.findByCountry("NL"));
+
+        assertEquals(recorded + 1, statementsRecorded("UNKNOWN"));
+        assertEquals(1, queryBudgets.stats().get("GET UNKNOWN").statements());
+    }
+
+    private void perform(String method, String pattern, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        queryMonitorFilter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private long statementsRecorded(String uri) {
+        DistributionSummary summary = meterRegistry.find("crm.sql.statements").tag("uri", uri).summary();
+        return summary != null ? summary.count() : 0;
+    }
+
+    private double nPlusOneViolations() {
+        Counter counter = meterRegistry.find("crm.sql.violations").tag("type", "n-plus-one").counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.crm.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBatchesTest {
+
+    @Test
+    void load_ShouldLookUpAtMostABatchOfIdsAtATimeAndKeepTheirOrder() {
+        List<Long> ids = LongStream.rangeClosed(1, 2 * IdBatches.BATCH_SIZE + 1).boxed().toList();
+        List<Integer> batchSizes = new ArrayList<>();
+
+        List<Long> rows = IdBatches.load(ids, batch -> {
+            batchSizes.add(batch.size());
+            return List.copyOf(batch);
+        });
+
+        assertEquals(List.of(IdBatches.BATCH_SIZE, IdBatches.BATCH_SIZE, 1), batchSizes);
+        assertEquals(ids, rows);
+    }
+
+    @Test
+    void load_ShouldLookUpASmallListInOneGo() {
+        List<Integer> batchSizes = new ArrayList<>();
+        IdBatches.load(List.of(3L, 1L), batch -> {
+            batchSizes.add(batch.size());
+            return batch;
+        });
+        assertEquals(List.of(2), batchSizes);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.model.Contact;
+import com.example.crm.model.Customer;
+import com.example.crm.search.AutocompleteIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup and update latency of {@link AutocompleteIndex} over synthetic customers and contacts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AutocompleteIndexBenchmark {
+
+    private static final String[] WORDS = {"acme", "globex", "initech", "umbrella", "stark", "wayne", "hooli",
+            "vandelay", "soylent", "tyrell", "cyberdyne", "wonka", "oscorp", "massive", "dynamic", "northern",
+            "pacific", "atlantic", "global", "united", "digital", "systems", "logistics", "holdings", "partners"};
+    private static final String[] SUFFIXES = {"Inc", "Ltd", "LLC", "GmbH", "Group", "Corp"};
+
+    @Param({"100000", "1000000"})
+    private int customers;
+
+    private AutocompleteIndex autocompleteIndex;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        autocompleteIndex = new AutocompleteIndex();
+        random = new Random(42);
+        for (long id = 1; id <= customers; id++) {
+            String name = name(random) + " " + id;
+            autocompleteIndex.index(Customer.class, id, name, name + " " + SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            autocompleteIndex.index(Contact.class, id, name(random), "contact" + id + "@example.test");
+        }
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Completion> completeOneLetter() {
+        return autocompleteIndex.complete("a", 10);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Completion> completeWord() {
+        return autocompleteIndex.complete("Globex Sys", 10);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Completion> completeEmail() {
+        return autocompleteIndex.complete("contact4242", 10);
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Completion> completeMiss() {
+        return autocompleteIndex.complete("zzz", 10);
+    }
+
+    @Benchmark
+    public void reindexCustomer() {
+        long id = 1 + random.nextInt(customers);
+        String name = name(random) + " " + id;
+        autocompleteIndex.index(Customer.class, id, name, name + " Inc");
+    }
+
+    private static String name(Random random) {
+        return capitalize(WORDS[random.nextInt(WORDS.length)]) + " " + capitalize(WORDS[random.nextInt(WORDS.length)]);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.dto.DealDTO;
+import com.example.crm.mapper.DealMapperImpl;
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.repository.DealRepository;
+import com.example.crm.service.DealServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Java side of the sorted deal listing: sort parsing and mapping every row to a DTO. The sorting itself
+ * happens in the database, so the repository is stubbed to return the rows already loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DealServiceBenchmark {
+
+    @Param({"100", "10000"})
+    private int deals;
+
+    private DealServiceImpl dealService;
+
+    @Setup
+    public void setUp() {
+        Customer customer = Fixtures.customer(1);
+        List<Deal> rows = new ArrayList<>();
+        for (long id = 1; id <= deals; id++) {
+            rows.add(Fixtures.deal(id, customer));
+        }
+        dealService = new DealServiceImpl();
+        Stubs.inject(dealService, "dealRepository",
+                Stubs.stub(DealRepository.class, Map.of("findAll", rows, "findByCustomerId", rows)));
+        Stubs.inject(dealService, "dealMapper", new DealMapperImpl());
+    }
+
+    @Benchmark
+    public List<DealDTO> getSortedDeals() {
+        return dealService.getSortedDeals(null, "amount", "desc");
+    }
+
+    @Benchmark
+    public List<DealDTO> getSortedDealsOfCustomer() {
+        return dealService.getSortedDeals(1L, "dealDate", "asc");
+    }
+}
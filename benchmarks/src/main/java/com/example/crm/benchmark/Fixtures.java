@@ -0,0 +1,82 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.model.Role;
+import com.example.crm.model.Task;
+import com.example.crm.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fully populated entities, shaped like the rows the services load.
+ */
+final class Fixtures {
+
+    private static final String[] STAGES = {"New", "Qualified", "Proposal", "Negotiation", "Closed Won", "Closed Lost"};
+    private static final String[] PRIORITIES = {"High", "Medium", "Low"};
+
+    private Fixtures() {
+    }
+
+    static User user(long id, int customers) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.test");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setRoles(Set.of(Role.MANAGER));
+        List<Customer> owned = new ArrayList<>();
+        for (long i = 1; i <= customers; i++) {
+            Customer customer = customer(id * 1_000 + i);
+            customer.setUser(user);
+            owned.add(customer);
+        }
+        user.setCustomers(owned);
+        return user;
+    }
+
+    static Customer customer(long id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setName("Customer " + id);
+        customer.setEmail("customer" + id + "@example.test");
+        customer.setPhone("+15550100" + id % 100);
+        customer.setCompanyName("Company " + id + " Inc");
+        customer.setAddress(id + " Main Street");
+        customer.setCity("Springfield");
+        customer.setState("IL");
+        customer.setCountry("USA");
+        customer.setPostalCode("62701");
+        customer.setCreatedDate(LocalDateTime.of(2024, 1, 1, 9, 0).plusHours(id));
+        customer.setLastUpdated(customer.getCreatedDate().plusDays(1));
+        return customer;
+    }
+
+    static Deal deal(long id, Customer customer) {
+        Deal deal = new Deal();
+        deal.setId(id);
+        deal.setDealName("Deal " + id);
+        deal.setAmount(1_000.0 + id * 37 % 50_000);
+        deal.setStage(STAGES[(int) (id % STAGES.length)]);
+        deal.setDealDate(LocalDate.of(2024, 1, 1).plusDays(id % 365));
+        deal.setPriority(PRIORITIES[(int) (id % PRIORITIES.length)]);
+        deal.setCustomer(customer);
+        return deal;
+    }
+
+    static Task task(long id, Customer customer) {
+        Task task = new Task();
+        task.setId(id);
+        task.setDescription("Follow up on deal " + id);
+        task.setDueDate(LocalDate.of(2024, 1, 1).plusDays(id % 90));
+        task.setStatus(id % 4 == 0 ? "Completed" : "Pending");
+        task.setPriority(PRIORITIES[(int) (id % PRIORITIES.length)]);
+        task.setCustomer(customer);
+        return task;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.dto.ContactDTO;
+import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.GlobalSearchDTO;
+import com.example.crm.dto.NoteDTO;
+import com.example.crm.dto.TaskDTO;
+import com.example.crm.dto.UserDTO;
+import com.example.crm.service.ContactService;
+import com.example.crm.service.CustomerService;
+import com.example.crm.service.DealService;
+import com.example.crm.service.GlobalSearchServiceImpl;
+import com.example.crm.service.NoteService;
+import com.example.crm.service.TaskService;
+import com.example.crm.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+/**
+ * The fan-out of the global search: one task per entity type on the search executor, then merging the
+ * results. The entity services are stubbed to answer at once, so this is the overhead the search adds on
+ * top of the slowest entity query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalSearchBenchmark {
+
+    @Param({"10", "200"})
+    private int hitsPerType;
+
+    private ExecutorService searchExecutor;
+    private GlobalSearchServiceImpl globalSearchService;
+
+    @Setup
+    public void setUp() {
+        searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        globalSearchService = new GlobalSearchServiceImpl();
+        Stubs.inject(globalSearchService, "searchExecutor", searchExecutor);
+        Stubs.inject(globalSearchService, "entityTimeoutMs", 2_000L);
+        Stubs.inject(globalSearchService, "searchPermits", new Semaphore(6));
+        Stubs.inject(globalSearchService, "transactionManager", Stubs.stub(PlatformTransactionManager.class, Map.of()));
+        Stubs.inject(globalSearchService, "customerService", Stubs.stub(CustomerService.class,
+                Map.of("searchByName", hits(id -> new CustomerDTO(id, "Acme " + id, "acme" + id + "@example.test",
+                        null, "Acme Inc", null, null, null, null, null, null, null, null)))));
+        Stubs.inject(globalSearchService, "dealService", Stubs.stub(DealService.class,
+                Map.of("searchByTitle", hits(id -> {
+                    DealDTO deal = new DealDTO();
+                    deal.setId(id);
+                    deal.setDealName("Acme renewal " + id);
+                    return deal;
+                }))));
+        Stubs.inject(globalSearchService, "taskService", Stubs.stub(TaskService.class,
+                Map.of("searchByTitle", hits(id -> {
+                    TaskDTO task = new TaskDTO();
+                    task.setId(id);
+                    task.setDescription("Call Acme " + id);
+                    return task;
+                }))));
+        Stubs.inject(globalSearchService, "contactService", Stubs.stub(ContactService.class,
+                Map.of("searchByName", hits(id -> new ContactDTO(id, "Acme contact " + id, null, null, null, 1L)))));
+        Stubs.inject(globalSearchService, "userService", Stubs.stub(UserService.class,
+                Map.of("searchByName", hits(id -> {
+                    UserDTO user = new UserDTO();
+                    user.setId(id);
+                    user.setUsername("acme" + id);
+                    return user;
+                }))));
+        Stubs.inject(globalSearchService, "noteService", Stubs.stub(NoteService.class,
+                Map.of("searchBySubject", hits(id -> new NoteDTO(id, "Acme asked about pricing", null, 1L, null)))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        searchExecutor.shutdown();
+    }
+
+    @Benchmark
+    public GlobalSearchDTO globalSearch() {
+        return globalSearchService.globalSearch("acme", 50);
+    }
+
+    private List<?> hits(LongFunction<?> hit) {
+        return LongStream.rangeClosed(1, hitsPerType).mapToObj(hit).toList();
+    }
+}
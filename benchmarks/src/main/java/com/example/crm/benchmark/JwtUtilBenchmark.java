@@ -0,0 +1,61 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.model.Role;
+import com.example.crm.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on every authenticated request: issuing, a full parse and signature check, and the
+ * cached validation that repeat requests with the same token take.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String cachedToken;
+    private String uncachedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        cachedToken = jwtUtil.generateToken("cached", Set.of(Role.MANAGER));
+        if (jwtUtil.validateToken(cachedToken) == null) {
+            throw new IllegalStateException("Benchmark token was rejected");
+        }
+        uncachedToken = jwtUtil.generateToken("uncached", Set.of(Role.MANAGER));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user", Set.of(Role.USER));
+    }
+
+    // extractUsername never fills the claims cache, so every call parses and verifies the signature
+    @Benchmark
+    public String parseAndVerify() {
+        return jwtUtil.extractUsername(uncachedToken);
+    }
+
+    @Benchmark
+    public Claims validateCached() {
+        return jwtUtil.validateToken(cachedToken);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.crm.benchmark;
+
+import com.example.crm.dto.CustomerDTO;
+import com.example.crm.dto.DealDTO;
+import com.example.crm.dto.TaskDTO;
+import com.example.crm.dto.UserDTO;
+import com.example.crm.mapper.CustomerMapper;
+import com.example.crm.mapper.CustomerMapperImpl;
+import com.example.crm.mapper.DealMapper;
+import com.example.crm.mapper.DealMapperImpl;
+import com.example.crm.mapper.TaskMapper;
+import com.example.crm.mapper.TaskMapperImpl;
+import com.example.crm.mapper.UserMapper;
+import com.example.crm.mapper.UserMapperImpl;
+import com.example.crm.model.Customer;
+import com.example.crm.model.Deal;
+import com.example.crm.model.Task;
+import com.example.crm.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct entity-to-DTO mapping, run for every row of every listing. The user benchmarks go through
+ * {@code mapCustomers}, whose cost grows with the customers the user owns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final CustomerMapper customerMapper = new CustomerMapperImpl();
+    private final DealMapper dealMapper = new DealMapperImpl();
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+    private final UserMapper userMapper = new UserMapperImpl();
+
+    private Customer customer;
+    private CustomerDTO customerDto;
+    private Deal deal;
+    private DealDTO dealDto;
+    private Task task;
+
+    @State(Scope.Benchmark)
+    public static class Owner {
+
+        @Param({"10", "1000"})
+        private int customersPerUser;
+
+        private User user;
+
+        @Setup
+        public void setUp() {
+            user = Fixtures.user(2, customersPerUser);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        customer = Fixtures.customer(1);
+        customer.setUser(Fixtures.user(1, 0));
+        customerDto = customerMapper.toDto(customer);
+        deal = Fixtures.deal(1, customer);
+        dealDto = dealMapper.toDto(deal);
+        task = Fixtures.task(1, customer);
+    }
+
+    @Benchmark
+    public CustomerDTO customerToDto() {
+        return customerMapper.toDto(customer);
+    }
+
+    @Benchmark
+    public Customer customerToEntity() {
+        return customerMapper.toEntity(customerDto);
+    }
+
+    @Benchmark
+    public DealDTO dealToDto() {
+        return dealMapper.toDto(deal);
+    }
+
+    @Benchmark
+    public Deal dealToEntity() {
+        return dealMapper.toEntity(dealDto);
+    }
+
+    @Benchmark
+    public TaskDTO taskToDto() {
+        return taskMapper.toDto(task);
+    }
+
+    @Benchmark
+    public UserDTO userToDto(Owner owner) {
+        return userMapper.toDTO(owner.user);
+    }
+
+    @Benchmark
+    public List<UserDTO.CustomerInfo> mapCustomers(Owner owner) {
+        return userMapper.mapCustomers(owner.user.getCustomers());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.crm.benchmark;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-rolled stand-ins for Spring wiring, so a benchmark times the code under test and not a mocking library.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Returns an implementation of the interface whose methods answer with the value registered under their name;
+     * unregistered methods return an empty list, or null.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "toString" -> "Stub of " + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> answers.containsKey(method.getName())
+                            ? answers.get(method.getName())
+                            : method.getReturnType() == List.class ? Collections.emptyList() : null;
+                });
+    }
+
+    /**
+     * Sets a field the way {@code @Autowired} or {@code @Value} would.
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + fieldName);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { Toaster } from 'react-hot-toast';
 import { Routes, Route, Link, useLocation, Navigate, useNavigate } from 'react-router-dom';
 import { AuthProvider, useAuth } from './contexts/AuthContext';
@@ -20,7 +20,7 @@ import About from './pages/About';
 import Contact from './pages/Contact';
 import Careers from './pages/Careers';
 import PublicLayout from './components/PublicLayout';
-import { searchGlobal } from './services/api';
+import { searchTypeahead } from './services/api';
 
 // Main App Component with Sidebar (Protected Routes)
 const AppContent = () => {
@@ -30,27 +30,28 @@ const AppContent = () => {
   const [searchResults, setSearchResults] = useState([]);
   const [showSearchResults, setShowSearchResults] = useState(false);
   const [isSearching, setIsSearching] = useState(false);
+  // Responses can arrive out of order; only the one for the latest keystroke is shown
+  const latestSearch = useRef(0);
   const location = useLocation();
   const { user, logout } = useAuth();
 
   const handleSearch = async (query) => {
+    const search = ++latestSearch.current;
     if (query.trim().length < 2) {
       setSearchResults([]);
       setShowSearchResults(false);
+      setIsSearching(false);
       return;
     }
 
     setIsSearching(true);
-    try {
-      const results = await searchGlobal(query);
-      setSearchResults(results);
-      setShowSearchResults(true);
-    } catch (error) {
-      console.error('Search error:', error);
-      setSearchResults([]);
-    } finally {
-      setIsSearching(false);
+    const results = await searchTypeahead(query.trim());
+    if (search !== latestSearch.current) {
+      return;
     }
+    setSearchResults(results);
+    setShowSearchResults(true);
+    setIsSearching(false);
   };
 
   const handleSearchChange = (e) => {
@@ -213,7 +214,7 @@ const AppContent = () => {
                 type="text" 
                 value={searchQuery} 
                 onChange={handleSearchChange} 
-                placeholder="Search..." 
+                placeholder="Customers, contacts..." 
                 className="border rounded-md p-2 w-48 bg-white dark:bg-gray-700 text-gray-900 dark:text-gray-100 border-gray-300 dark:border-gray-600"
               />
               {isSearching && (
@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { useCustomers } from '../hooks/useCustomers';
+import { customerApi } from '../services/api';
 
 const ContactForm = ({ contact, onSubmit, onCancel }) => {
   const [formData, setFormData] = useState({
@@ -10,7 +10,15 @@ const ContactForm = ({ contact, onSubmit, onCancel }) => {
     customerId: ''
   });
   const [errors, setErrors] = useState({});
-  const { customers, loading: customersLoading } = useCustomers();
+  const [customers, setCustomers] = useState([]);
+  const [customersLoading, setCustomersLoading] = useState(true);
+
+  useEffect(() => {
+    customerApi.getCustomerOptions()
+      .then(setCustomers)
+      .catch(error => console.error('Error fetching customers:', error))
+      .finally(() => setCustomersLoading(false));
+  }, []);
 
   useEffect(() => {
     if (contact) {
@@ -8,7 +8,7 @@ const CustomerFilters = ({ onFilterChange, currentFilters }) => {
 
   const filterOptions = [
     { value: '', label: 'Select Filter...' },
-    { value: 'searchTerm', label: 'Search by Name/Email' },
+    { value: 'searchTerm', label: 'Search by Name' },
     { value: 'city', label: 'Filter by City' },
     { value: 'state', label: 'Filter by State' },
     { value: 'country', label: 'Filter by Country' },
@@ -17,14 +17,13 @@ const CustomerFilters = ({ onFilterChange, currentFilters }) => {
 
   const sortOptions = [
     { value: '', label: 'Default' },
-    { value: 'firstName', label: 'First Name' },
-    { value: 'lastName', label: 'Last Name' },
+    { value: 'name', label: 'Name' },
     { value: 'email', label: 'Email' },
     { value: 'companyName', label: 'Company' },
     { value: 'city', label: 'City' },
     { value: 'state', label: 'State' },
     { value: 'country', label: 'Country' },
-    { value: 'createdAt', label: 'Created Date' }
+    { value: 'createdDate', label: 'Created Date' }
   ];
 
   const handleFilterSelect = (filterType) => {
@@ -20,7 +20,7 @@ const DealFilters = ({ onFilterChange, currentFilters, users = [] }) => {
 
   const fetchCustomers = async () => {
     try {
-      const response = await customerApi.getAllCustomers();
+      const response = await customerApi.getCustomerOptions();
       console.log('Customers for filters:', response);
       // Check if response has data property or if it's the data itself
       const customersData = response && (response.data || response);
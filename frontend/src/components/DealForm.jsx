@@ -36,7 +36,7 @@ const DealForm = ({ deal, onSubmit, onCancel }) => {
   const fetchCustomers = async () => {
     console.log('Fetching customers for dropdown...');
     try {
-      const response = await customerApi.getAllCustomers();
+      const response = await customerApi.getCustomerOptions();
       console.log('Customers for dropdown:', response);
       // Check if response has data property or if it's the data itself
       const customersData = response && (response.data || response);
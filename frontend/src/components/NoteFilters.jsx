@@ -114,21 +114,6 @@ const NoteFilters = ({ onFilterChange, customers, deals }) => {
                   <ArrowDown className="w-4 h-4 ml-1" />
               )}
             </button>
-            <button
-              onClick={() => handleSortChange('content')}
-              className={`px-3 py-2 text-sm rounded-md flex items-center ${
-                filters.sortField === 'content'
-                  ? 'bg-indigo-100 dark:bg-indigo-600 text-indigo-700 dark:text-indigo-100'
-                  : 'bg-gray-100 dark:bg-gray-600 text-gray-700 dark:text-gray-300 hover:bg-gray-200 dark:hover:bg-gray-500'
-              }`}
-            >
-              Content
-              {filters.sortField === 'content' && (
-                filters.sortDirection === 'asc' ? 
-                  <ArrowUp className="w-4 h-4 ml-1" /> : 
-                  <ArrowDown className="w-4 h-4 ml-1" />
-              )}
-            </button>
           </div>
         </div>
 
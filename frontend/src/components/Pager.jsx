@@ -0,0 +1,32 @@
+import React from 'react';
+
+// Previous/next controls for the paged list endpoints, which report hasNext instead of a total
+const Pager = ({ page, hasNext, onPageChange, disabled = false }) => {
+  if (page === 0 && !hasNext) {
+    return null;
+  }
+
+  const buttonClass = 'px-3 py-1 text-sm rounded-md border border-gray-300 dark:border-gray-600 text-gray-700 dark:text-gray-300 hover:bg-gray-100 dark:hover:bg-gray-700 disabled:opacity-50 disabled:cursor-not-allowed';
+
+  return (
+    <div className="flex items-center justify-end gap-3 px-6 py-3">
+      <button
+        onClick={() => onPageChange(page - 1)}
+        disabled={disabled || page === 0}
+        className={buttonClass}
+      >
+        Previous
+      </button>
+      <span className="text-sm text-gray-600 dark:text-gray-400">Page {page + 1}</span>
+      <button
+        onClick={() => onPageChange(page + 1)}
+        disabled={disabled || !hasNext}
+        className={buttonClass}
+      >
+        Next
+      </button>
+    </div>
+  );
+};
+
+export default Pager;
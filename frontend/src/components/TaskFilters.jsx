@@ -13,8 +13,8 @@ const TaskFilters = ({ onFilterChange, currentFilters }) => {
   const loadFiltersData = async () => {
     try {
       const [customersData, usersData] = await Promise.all([
-        customerApi.getAllCustomers(),
-        userApi.getAllUsers()
+        customerApi.getCustomerOptions(),
+        userApi.getUserOptions()
       ]);
       setCustomers(customersData);
       setUsers(usersData);
@@ -192,11 +192,10 @@ const TaskFilters = ({ onFilterChange, currentFilters }) => {
             className="w-full px-3 py-2 border border-gray-300 dark:border-gray-600 rounded-md focus:outline-none focus:ring-2 focus:ring-indigo-500 dark:bg-gray-700 dark:text-gray-100"
           >
             <option value="">Default</option>
-            <option value="title">Title</option>
+            <option value="description">Description</option>
             <option value="dueDate">Due Date</option>
             <option value="priority">Priority</option>
             <option value="status">Status</option>
-            <option value="createdAt">Created Date</option>
           </select>
         </div>
 
@@ -1,8 +1,8 @@
 import { useState, useEffect } from 'react';
-import { useCustomers } from '../hooks/useCustomers';
+import { customerApi } from '../services/api';
 
 const TaskForm = ({ task, onSubmit, onCancel }) => {
-  const { customers } = useCustomers();
+  const [customers, setCustomers] = useState([]);
   const [formData, setFormData] = useState({
     description: '',
     dueDate: '',
@@ -11,6 +11,12 @@ const TaskForm = ({ task, onSubmit, onCancel }) => {
     customer: { id: '' }
   });
 
+  useEffect(() => {
+    customerApi.getCustomerOptions()
+      .then(setCustomers)
+      .catch(error => console.error('Error fetching customers:', error));
+  }, []);
+
   useEffect(() => {
     if (task) {
       setFormData({
@@ -17,7 +17,7 @@ const UserForm = ({ user, onSubmit, onCancel, loading }) => {
     // Fetch customers when the form is opened
     const fetchCustomers = async () => {
       try {
-        const customerData = await customerApi.getAllCustomers(); // Fetch all customers
+        const customerData = await customerApi.getCustomerOptions();
         setCustomers(customerData);
       } catch (error) {
         console.error('Error fetching customers:', error);
@@ -2,16 +2,24 @@ import { useState, useEffect } from 'react';
 import { contactApi } from '../services/api';
 import toast from 'react-hot-toast';
 
-export const useContacts = () => {
+const PAGE_SIZE = 20;
+
+export const useContacts = (initialQuery = {}) => {
   const [contacts, setContacts] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [page, setPage] = useState(0);
+  const [hasNext, setHasNext] = useState(false);
+  const [query, setQuery] = useState(initialQuery);
 
-  const fetchContacts = async () => {
+  const fetchContacts = async (pageNumber = page, params = query) => {
     try {
       setLoading(true);
-      const data = await contactApi.getAllContacts();
-      setContacts(data);
+      const data = await contactApi.getContactPage({ ...params, page: pageNumber, size: PAGE_SIZE });
+      setContacts(data.content);
+      setPage(data.page);
+      setHasNext(data.hasNext);
+      setQuery(params);
       setError(null);
     } catch (err) {
       setError(err.message);
@@ -67,6 +75,8 @@ export const useContacts = () => {
     createContact,
     updateContact,
     deleteContact,
-    refetch: fetchContacts
+    refetch: fetchContacts,
+    page,
+    hasNext
   };
 };
@@ -3,6 +3,8 @@ import { customerApi } from '../services/api';
 import { useCrm } from '../contexts/CrmContext';
 import toast from 'react-hot-toast';
 
+const PAGE_SIZE = 20;
+
 export const useCustomers = () => {
   const { 
     customers, 
@@ -18,13 +20,20 @@ export const useCustomers = () => {
   const [localLoading, setLocalLoading] = useState(false);
   const [localError, setLocalError] = useState(null);
 
-  // Fetch all customers
-  const fetchCustomers = async () => {
+  const [page, setPage] = useState(0);
+  const [hasNext, setHasNext] = useState(false);
+  const [query, setQuery] = useState({});
+
+  // Fetch one page of customers; params are the /customers/page filter and sort parameters
+  const fetchCustomers = async (pageNumber = page, params = query) => {
     try {
       setLocalLoading(true);
       clearError();
-      const data = await customerApi.getAllCustomers();
-      setCustomers(data);
+      const data = await customerApi.getCustomerPage({ ...params, page: pageNumber, size: PAGE_SIZE });
+      setCustomers(data.content);
+      setPage(data.page);
+      setHasNext(data.hasNext);
+      setQuery(params);
     } catch (error) {
       const errorMessage = error.message || 'Failed to fetch customers';
       setError(errorMessage);
@@ -188,6 +197,8 @@ export const useCustomers = () => {
     customers,
     loading: localLoading,
     error: localError,
+    page,
+    hasNext,
     fetchCustomers,
     fetchCustomerDetails,
     createCustomer,
@@ -2,6 +2,8 @@ import { useState, useEffect } from 'react';
 import { dealApi } from '../services/api';
 import toast from 'react-hot-toast';
 
+const PAGE_SIZE = 20;
+
 export const useDeals = () => {
   const [deals, setDeals] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -12,22 +14,23 @@ export const useDeals = () => {
     sortOrder: 'asc'
   });
 
-  const fetchDeals = async (filterParams = {}) => {
+  const [page, setPage] = useState(0);
+  const [hasNext, setHasNext] = useState(false);
+
+  const fetchDeals = async (pageNumber = page, activeFilters = filters) => {
     try {
       setLoading(true);
-      const params = {};
-      
-      if (filterParams.customerId) {
-        params.customerId = filterParams.customerId;
-      }
-      
-      if (filterParams.sortBy) {
-        params.sortBy = filterParams.sortBy;
-        params.sortOrder = filterParams.sortOrder || 'asc';
-      }
-      
-      const data = await dealApi.getAllDeals(params);
-      setDeals(data);
+      const data = await dealApi.getDealPage({
+        page: pageNumber,
+        size: PAGE_SIZE,
+        customerId: activeFilters.customerId,
+        stage: activeFilters.status,
+        priority: activeFilters.priority,
+        sort: activeFilters.sortBy ? `${activeFilters.sortBy},${activeFilters.sortOrder || 'asc'}` : null
+      });
+      setDeals(data.content);
+      setPage(data.page);
+      setHasNext(data.hasNext);
       setError(null);
     } catch (err) {
       setError(err.message);
@@ -74,7 +77,7 @@ export const useDeals = () => {
 
   const applyFilters = (newFilters) => {
     setFilters(newFilters);
-    fetchDeals(newFilters);
+    fetchDeals(0, newFilters);
   };
 
   useEffect(() => {
@@ -90,6 +93,8 @@ export const useDeals = () => {
     deleteDeal,
     fetchDeals,
     applyFilters,
-    filters
+    filters,
+    page,
+    hasNext
   };
 };
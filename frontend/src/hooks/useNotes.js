@@ -2,16 +2,25 @@ import { useState, useEffect } from 'react';
 import { noteApi } from '../services/api';
 import toast from 'react-hot-toast';
 
-export const useNotes = () => {
+const PAGE_SIZE = 20;
+
+// initialQuery holds the filter and sort parameters of the first page, as the list endpoint names them
+export const useNotes = (initialQuery = {}) => {
   const [notes, setNotes] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [page, setPage] = useState(0);
+  const [hasNext, setHasNext] = useState(false);
+  const [query, setQuery] = useState(initialQuery);
 
-  const fetchNotes = async () => {
+  const fetchNotes = async (pageNumber = page, params = query) => {
     try {
       setLoading(true);
-      const data = await noteApi.getAllNotes();
-      setNotes(data);
+      const data = await noteApi.getNotePage({ ...params, page: pageNumber, size: PAGE_SIZE });
+      setNotes(data.content);
+      setPage(data.page);
+      setHasNext(data.hasNext);
+      setQuery(params);
       setError(null);
     } catch (err) {
       setError(err.message);
@@ -67,6 +76,8 @@ export const useNotes = () => {
     createNote,
     updateNote,
     deleteNote,
-    refetch: fetchNotes
+    refetch: fetchNotes,
+    page,
+    hasNext
   };
 };
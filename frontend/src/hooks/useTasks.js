@@ -2,6 +2,8 @@ import { useState, useEffect } from 'react';
 import { taskApi } from '../services/api';
 import toast from 'react-hot-toast';
 
+const PAGE_SIZE = 20;
+
 export const useTasks = () => {
   const [tasks, setTasks] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -17,11 +19,26 @@ export const useTasks = () => {
     sortOrder: 'asc'
   });
 
-  const fetchTasks = async () => {
+  const [page, setPage] = useState(0);
+  const [hasNext, setHasNext] = useState(false);
+
+  const fetchTasks = async (pageNumber = page, activeFilters = filters) => {
     try {
       setLoading(true);
-      const data = await taskApi.getAllTasks();
-      setTasks(data);
+      const data = await taskApi.getTaskPage({
+        page: pageNumber,
+        size: PAGE_SIZE,
+        customerId: activeFilters.customerId,
+        status: activeFilters.status,
+        priority: activeFilters.priority,
+        assignedUserId: activeFilters.assignedUserId,
+        dueDateFrom: activeFilters.dueDateFrom,
+        dueDateTo: activeFilters.dueDateTo,
+        sort: activeFilters.sortBy ? `${activeFilters.sortBy},${activeFilters.sortOrder}` : null
+      });
+      setTasks(data.content);
+      setPage(data.page);
+      setHasNext(data.hasNext);
       setError(null);
     } catch (err) {
       setError(err.message);
@@ -33,6 +50,7 @@ export const useTasks = () => {
 
   const applyFilters = (newFilters) => {
     setFilters(newFilters);
+    fetchTasks(0, newFilters);
   };
 
   const createTask = async (taskData) => {
@@ -96,6 +114,8 @@ export const useTasks = () => {
     deleteTask,
     refetch: fetchTasks,
     applyFilters,
-    filters
+    filters,
+    page,
+    hasNext
   };
 };
@@ -1,17 +1,24 @@
 import { useState, useEffect } from 'react';
 import { userApi } from '../services/api';
 
+const PAGE_SIZE = 20;
+
 export const useUsers = () => {
   const [users, setUsers] = useState([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
 
-  const fetchUsers = async () => {
+  const [page, setPage] = useState(0);
+  const [hasNext, setHasNext] = useState(false);
+
+  const fetchUsers = async (pageNumber = page) => {
     setLoading(true);
     setError(null);
     try {
-      const usersData = await userApi.getAllUsers();
-      setUsers(usersData);
+      const usersPage = await userApi.getUserPage({ page: pageNumber, size: PAGE_SIZE, sort: 'username' });
+      setUsers(usersPage.content);
+      setPage(usersPage.page);
+      setHasNext(usersPage.hasNext);
     } catch (err) {
       setError(err.message);
       console.error('Error fetching users:', err);
@@ -129,6 +136,8 @@ export const useUsers = () => {
     users,
     loading,
     error,
+    page,
+    hasNext,
     fetchUsers,
     createUser,
     updateUser,
@@ -1,63 +1,40 @@
 import React, { useState, useEffect } from 'react';
 import { Plus } from 'lucide-react';
 import { useContacts } from '../hooks/useContacts';
-import { useCustomers } from '../hooks/useCustomers';
+import { customerApi } from '../services/api';
 import EnhancedContactTable from '../components/EnhancedContactTable';
 import ContactForm from '../components/ContactForm';
 import ContactFilters from '../components/ContactFilters';
+import Pager from '../components/Pager';
 import Modal from '../components/Modal';
 import toast from 'react-hot-toast';
 
+const INITIAL_FILTERS = {
+  name: '',
+  email: '',
+  customerId: '',
+  sortField: 'name',
+  sortDirection: 'asc'
+};
+
+const toContactQuery = (filters) => ({
+  name: filters.name,
+  email: filters.email,
+  customerId: filters.customerId,
+  sort: `${filters.sortField},${filters.sortDirection}`
+});
+
 const Contacts = () => {
-  const { contacts, loading, error, createContact, updateContact, deleteContact, refetch } = useContacts();
-  const { customers } = useCustomers();
+  const { contacts, loading, error, createContact, updateContact, deleteContact, refetch, page, hasNext } = useContacts(toContactQuery(INITIAL_FILTERS));
+  const [customers, setCustomers] = useState([]);
   const [showModal, setShowModal] = useState(false);
   const [editingContact, setEditingContact] = useState(null);
-  const [filteredContacts, setFilteredContacts] = useState([]);
-  const [filters, setFilters] = useState({
-    name: '',
-    email: '',
-    customerId: '',
-    sortField: 'name',
-    sortDirection: 'asc'
-  });
 
   useEffect(() => {
-    // Apply filters to contacts
-    let filtered = contacts;
-    
-    if (filters.name) {
-      filtered = filtered.filter(contact => 
-        contact.name.toLowerCase().includes(filters.name.toLowerCase())
-      );
-    }
-    
-    if (filters.email) {
-      filtered = filtered.filter(contact => 
-        contact.email?.toLowerCase().includes(filters.email.toLowerCase())
-      );
-    }
-    
-    if (filters.customerId) {
-      filtered = filtered.filter(contact => 
-        contact.customerId === parseInt(filters.customerId)
-      );
-    }
-    
-    // Apply sorting
-    const sorted = [...filtered].sort((a, b) => {
-      const fieldA = a[filters.sortField]?.toLowerCase() || '';
-      const fieldB = b[filters.sortField]?.toLowerCase() || '';
-      
-      if (filters.sortDirection === 'asc') {
-        return fieldA.localeCompare(fieldB);
-      } else {
-        return fieldB.localeCompare(fieldA);
-      }
-    });
-    
-    setFilteredContacts(sorted);
-  }, [contacts, filters]);
+    customerApi.getCustomerOptions()
+      .then(setCustomers)
+      .catch(() => toast.error('Failed to fetch customers'));
+  }, []);
 
   const handleAddContact = () => {
     setEditingContact(null);
@@ -96,7 +73,7 @@ const Contacts = () => {
   };
 
   const handleFilterChange = (newFilters) => {
-    setFilters(newFilters);
+    refetch(0, toContactQuery(newFilters));
   };
 
   const handleCloseModal = () => {
@@ -129,11 +106,12 @@ const Contacts = () => {
       )}
 
       <EnhancedContactTable
-        contacts={filteredContacts}
+        contacts={contacts}
         onEdit={handleEditContact}
         onDelete={handleDeleteContact}
         loading={loading}
       />
+      <Pager page={page} hasNext={hasNext} onPageChange={refetch} disabled={loading} />
 
       <Modal
         isOpen={showModal}
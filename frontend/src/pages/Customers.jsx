@@ -1,16 +1,19 @@
-import React, { useState, useEffect, useMemo } from 'react';
+import React, { useState, useEffect } from 'react';
 import { useCustomers } from '../hooks/useCustomers';
 import CustomerTable from '../components/CustomerTable';
 import CustomerForm from '../components/CustomerForm';
 import CustomerFilters from '../components/CustomerFilters';
+import Pager from '../components/Pager';
 import Modal from '../components/Modal';
 import toast from 'react-hot-toast';
 
 const Customers = () => {
   const {
-    customers: allCustomers,
+    customers,
     loading,
     error,
+    page,
+    hasNext,
     fetchCustomers,
     createCustomer,
     updateCustomerData,
@@ -41,10 +44,17 @@ const Customers = () => {
   });
   const [activeFilters, setActiveFilters] = useState([]);
 
-  // Fetch customers on component mount
+  // Filtering and sorting happen on the server, one page at a time
   useEffect(() => {
-    fetchCustomers();
-  }, []);
+    fetchCustomers(0, {
+      name: filters.searchTerm,
+      city: filters.city,
+      state: filters.state,
+      country: filters.country,
+      companyName: filters.companyName,
+      sort: filters.sortBy ? `${filters.sortBy},${filters.sortOrder}` : null
+    });
+  }, [filters]);
 
   // Validate customer form
   const validateForm = () => {
@@ -152,73 +162,6 @@ const Customers = () => {
     }
   };
 
-  // Filter and sort customers based on active filters
-  const filteredAndSortedCustomers = useMemo(() => {
-    let filtered = [...allCustomers];
-
-    // Apply search filter
-    if (filters.searchTerm) {
-      const searchTerm = filters.searchTerm.toLowerCase();
-      filtered = filtered.filter(customer => 
-        customer.name?.toLowerCase().includes(searchTerm) ||
-        customer.email?.toLowerCase().includes(searchTerm) ||
-        customer.companyName?.toLowerCase().includes(searchTerm)
-      );
-    }
-
-    // Apply city filter
-    if (filters.city) {
-      filtered = filtered.filter(customer => 
-        customer.city?.toLowerCase() === filters.city.toLowerCase()
-      );
-    }
-
-    // Apply state filter
-    if (filters.state) {
-      filtered = filtered.filter(customer => 
-        customer.state?.toLowerCase() === filters.state.toLowerCase()
-      );
-    }
-
-    // Apply country filter
-    if (filters.country) {
-      filtered = filtered.filter(customer => 
-        customer.country?.toLowerCase() === filters.country.toLowerCase()
-      );
-    }
-
-    // Apply company filter
-    if (filters.companyName) {
-      filtered = filtered.filter(customer => 
-        customer.companyName?.toLowerCase() === filters.companyName.toLowerCase()
-      );
-    }
-
-    // Apply sorting
-    if (filters.sortBy) {
-      filtered.sort((a, b) => {
-        let valueA = a[filters.sortBy];
-        let valueB = b[filters.sortBy];
-
-        // Handle null/undefined values
-        if (valueA === null || valueA === undefined) valueA = '';
-        if (valueB === null || valueB === undefined) valueB = '';
-
-        // Convert to string for comparison
-        valueA = String(valueA).toLowerCase();
-        valueB = String(valueB).toLowerCase();
-
-        if (filters.sortOrder === 'asc') {
-          return valueA < valueB ? -1 : valueA > valueB ? 1 : 0;
-        } else {
-          return valueA > valueB ? -1 : valueA < valueB ? 1 : 0;
-        }
-      });
-    }
-
-    return filtered;
-  }, [allCustomers, filters]);
-
   // Update active filters display
   useEffect(() => {
     const newActiveFilters = [];
@@ -306,7 +249,7 @@ const Customers = () => {
               </div>
             </div>
             <span className="text-sm text-gray-600 dark:text-gray-400">
-              {filteredAndSortedCustomers.length} results
+              {customers.length} on this page
             </span>
           </div>
         </div>
@@ -314,10 +257,11 @@ const Customers = () => {
       
       <div className="bg-white dark:bg-gray-800 shadow rounded-lg overflow-hidden">
         <CustomerTable
-          customers={filteredAndSortedCustomers}
+          customers={customers}
           onEdit={openEditModal}
           onDelete={handleDelete}
         />
+        <Pager page={page} hasNext={hasNext} onPageChange={fetchCustomers} disabled={loading} />
       </div>
 
       <Modal
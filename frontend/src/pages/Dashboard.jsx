@@ -1,23 +1,27 @@
-import React, { useEffect } from 'react';
-import { useCustomers } from '../hooks/useCustomers';
-import { useDeals } from '../hooks/useDeals';
-import { useContacts } from '../hooks/useContacts';
-import { useTasks } from '../hooks/useTasks';
+import React, { useEffect, useState } from 'react';
+import { dashboardApi } from '../services/api';
 
 const Dashboard = () => {
-  const { customers, loading: customersLoading, error: customersError, fetchCustomers } = useCustomers();
-  const { deals, loading: dealsLoading, error: dealsError, fetchDeals } = useDeals();
-  const { contacts, loading: contactsLoading, error: contactsError, refetch: fetchContacts } = useContacts();
-  const { tasks, loading: tasksLoading, error: tasksError, refetch: fetchTasks } = useTasks();
+  const [summary, setSummary] = useState(null);
+  const [loading, setLoading] = useState(true);
+  const [error, setError] = useState(null);
 
   useEffect(() => {
-    fetchCustomers();
-    fetchDeals();
-    fetchContacts();
-    fetchTasks();
+    const fetchSummary = async () => {
+      try {
+        setLoading(true);
+        setSummary(await dashboardApi.getSummary());
+        setError(null);
+      } catch (err) {
+        setError(err.message);
+      } finally {
+        setLoading(false);
+      }
+    };
+    fetchSummary();
   }, []);
 
-  if (customersLoading || dealsLoading || contactsLoading || tasksLoading) {
+  if (loading) {
     return (
       <div className="p-4">
         <h1 className="text-2xl font-bold text-gray-800 mb-6">Dashboard</h1>
@@ -28,12 +32,12 @@ const Dashboard = () => {
     );
   }
 
-  if (customersError || dealsError || contactsError || tasksError) {
+  if (error) {
     return (
       <div className="p-4">
         <h1 className="text-2xl font-bold text-gray-800 mb-6">Dashboard</h1>
         <div className="bg-red-100 border border-red-400 text-red-700 px-4 py-3 rounded">
-          <p>Error loading dashboard: {customersError || dealsError || contactsError || tasksError}</p>
+          <p>Error loading dashboard: {error}</p>
         </div>
       </div>
     );
@@ -47,24 +51,24 @@ const Dashboard = () => {
       <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-4 gap-6 mb-8">
         <div className="bg-white dark:bg-gray-800 p-6 rounded-lg shadow">
           <h3 className="text-lg font-semibold text-gray-700 dark:text-gray-300">Total Customers</h3>
-          <p className="text-3xl font-bold text-indigo-600 dark:text-indigo-400">{customers.length}</p>
+          <p className="text-3xl font-bold text-indigo-600 dark:text-indigo-400">{summary.totalCustomers}</p>
         </div>
         <div className="bg-white dark:bg-gray-800 p-6 rounded-lg shadow">
           <h3 className="text-lg font-semibold text-gray-700 dark:text-gray-300">Active Deals</h3>
           <p className="text-3xl font-bold text-green-600 dark:text-green-400">
-            {dealsLoading ? '...' : deals.filter(deal => deal.stage !== 'Closed').length}
+            {summary.openDeals}
           </p>
         </div>
         <div className="bg-white dark:bg-gray-800 p-6 rounded-lg shadow">
           <h3 className="text-lg font-semibold text-gray-700 dark:text-gray-300">Pending Tasks</h3>
           <p className="text-3xl font-bold text-yellow-600 dark:text-yellow-400">
-            {tasksLoading ? '...' : tasks.filter(task => task.status === 'Pending').length}
+            {summary.pendingTasks}
           </p>
         </div>
         <div className="bg-white dark:bg-gray-800 p-6 rounded-lg shadow">
           <h3 className="text-lg font-semibold text-gray-700 dark:text-gray-300">Total Contacts</h3>
           <p className="text-3xl font-bold text-purple-600 dark:text-purple-400">
-            {contactsLoading ? '...' : contacts.length}
+            {summary.totalContacts}
           </p>
         </div>
       </div>
@@ -3,29 +3,28 @@ import DealTable from '../components/DealTable';
 import DealForm from '../components/DealForm';
 import Modal from '../components/Modal';
 import DealFilters from '../components/DealFilters';
+import Pager from '../components/Pager';
 import { useDeals } from '../hooks/useDeals';
-import { useUsers } from '../hooks/useUsers';
-import { customerApi } from '../services/api';
+import { customerApi, userApi } from '../services/api';
 
 const Deals = () => {
   const [isModalOpen, setIsModalOpen] = useState(false);
   const [selectedDeal, setSelectedDeal] = useState(null);
   const [customers, setCustomers] = useState([]);
-  const [filteredDeals, setFilteredDeals] = useState([]);
-  const { deals, loading, error, createDeal, updateDeal, deleteDeal, fetchDeals, applyFilters, filters } = useDeals();
-  const { users } = useUsers();
-  console.log('Users in Deals page:', users);
+  const [users, setUsers] = useState([]);
+  const { deals, loading, error, createDeal, updateDeal, deleteDeal, fetchDeals, applyFilters, filters, page, hasNext } = useDeals();
 
   useEffect(() => {
     fetchCustomers();
-    // Initialize filtered deals with all deals
-    setFilteredDeals(deals);
-  }, [deals]);
+    userApi.getUserOptions()
+      .then(setUsers)
+      .catch(error => console.error('Error fetching users:', error));
+  }, []);
 
   const fetchCustomers = async () => {
     console.log('Fetching customers...');
     try {
-      const response = await customerApi.getAllCustomers();
+      const response = await customerApi.getCustomerOptions();
       console.log('Customers fetched:', response);
       // Check if response has data property or if it's the data itself
       const customersData = response.data || response;
@@ -79,13 +78,6 @@ const Deals = () => {
 
   const handleFilterChange = (newFilters) => {
     applyFilters(newFilters);
-    // Filter deals based on the new filters
-    const filteredDeals = deals.filter(deal => {
-      const matchesCustomer = newFilters.customerId ? deal.customerId === newFilters.customerId : true;
-      const matchesAssignedTo = newFilters.assignedTo ? deal.assignedTo === newFilters.assignedTo : true;
-      return matchesCustomer && matchesAssignedTo;
-    });
-    setFilteredDeals(filteredDeals);
   };
 
   if (loading) {
@@ -149,11 +141,11 @@ const Deals = () => {
         <div className="px-6 py-4 border-b border-gray-200 dark:border-gray-700">
           <h2 className="text-lg font-semibold text-gray-800 dark:text-gray-100">All Deals</h2>
           <p className="text-sm text-gray-600 dark:text-gray-400 mt-1">
-            {filteredDeals.length} {filteredDeals.length === 1 ? 'deal' : 'deals'} found
+            {deals.length} {deals.length === 1 ? 'deal' : 'deals'} on this page
           </p>
         </div>
         
-        {filteredDeals.length === 0 ? (
+        {deals.length === 0 ? (
           <div className="p-12 text-center">
             <svg className="mx-auto h-12 w-12 text-gray-400" fill="none" stroke="currentColor" viewBox="0 0 24 24">
               <path strokeLinecap="round" strokeLinejoin="round" strokeWidth={2} d="M9 5H7a2 2 0 00-2 2v12a2 2 0 002 2h10a2 2 0 002-2V7a2 2 0 00-2-2h-2M9 5a2 2 0 002 2h2a2 2 0 002-2M9 5a2 2 0 012-2h2a2 2 0 012 2" />
@@ -177,12 +169,13 @@ const Deals = () => {
           </div>
         ) : (
           <DealTable 
-            deals={filteredDeals} 
+            deals={deals} 
             onEdit={handleEdit} 
             onDelete={handleDelete} 
             customers={customers}
           />
         )}
+        <Pager page={page} hasNext={hasNext} onPageChange={fetchDeals} />
       </div>
 
       <Modal isOpen={isModalOpen} onClose={handleCloseModal}>
@@ -1,12 +1,29 @@
-import React, { useState, useEffect, useMemo } from 'react';
+import React, { useState, useEffect } from 'react';
 import { useNotes } from '../hooks/useNotes';
 import { customerApi, dealApi } from '../services/api';
 import NoteTable from '../components/NoteTable';
 import NoteForm from '../components/NoteForm';
 import NoteFilters from '../components/NoteFilters';
+import Pager from '../components/Pager';
 import Modal from '../components/Modal';
 import toast from 'react-hot-toast';
 
+const INITIAL_FILTERS = {
+  content: '',
+  customerId: '',
+  dealId: '',
+  sortField: 'createdAt',
+  sortDirection: 'desc'
+};
+
+// Filter state as the /notes/page query parameters
+const toNoteQuery = (filters) => ({
+  content: filters.content,
+  customerId: filters.customerId,
+  dealId: filters.dealId,
+  sort: `${filters.sortField},${filters.sortDirection}`
+});
+
 const Notes = () => {
   const {
     notes,
@@ -15,8 +32,10 @@ const Notes = () => {
     createNote,
     updateNote,
     deleteNote,
-    refetch
-  } = useNotes();
+    refetch,
+    page,
+    hasNext
+  } = useNotes(toNoteQuery(INITIAL_FILTERS));
 
   const [isModalOpen, setIsModalOpen] = useState(false);
   const [editingNote, setEditingNote] = useState(null);
@@ -30,76 +49,21 @@ const Notes = () => {
   const [deals, setDeals] = useState([]);
   const [loadingCustomers, setLoadingCustomers] = useState(false);
   const [loadingDeals, setLoadingDeals] = useState(false);
-  const [filters, setFilters] = useState({
-    content: '',
-    customerId: '',
-    dealId: '',
-    sortField: 'createdAt',
-    sortDirection: 'desc'
-  });
 
-  // Fetch notes, customers, and deals on component mount
+  // Fetch customers and deals on component mount; the hook loads the first page of notes
   useEffect(() => {
-    refetch();
     fetchCustomers();
     fetchDeals();
   }, []);
 
-  // Filter and sort notes based on filters
-  const filteredAndSortedNotes = useMemo(() => {
-    let filtered = [...notes];
-
-    // Filter by content
-    if (filters.content) {
-      filtered = filtered.filter(note =>
-        note.content.toLowerCase().includes(filters.content.toLowerCase())
-      );
-    }
-
-    // Filter by customer
-    if (filters.customerId) {
-      filtered = filtered.filter(note =>
-        note.customerId === parseInt(filters.customerId)
-      );
-    }
-
-    // Filter by deal
-    if (filters.dealId) {
-      filtered = filtered.filter(note =>
-        note.dealId === parseInt(filters.dealId)
-      );
-    }
-
-    // Sort notes
-    filtered.sort((a, b) => {
-      let aValue, bValue;
-
-      if (filters.sortField === 'createdAt') {
-        aValue = new Date(a.createdAt);
-        bValue = new Date(b.createdAt);
-      } else if (filters.sortField === 'content') {
-        aValue = a.content.toLowerCase();
-        bValue = b.content.toLowerCase();
-      }
-
-      if (filters.sortDirection === 'asc') {
-        return aValue > bValue ? 1 : -1;
-      } else {
-        return aValue < bValue ? 1 : -1;
-      }
-    });
-
-    return filtered;
-  }, [notes, filters]);
-
   const handleFilterChange = (newFilters) => {
-    setFilters(newFilters);
+    refetch(0, toNoteQuery(newFilters));
   };
 
   const fetchCustomers = async () => {
     try {
       setLoadingCustomers(true);
-      const customersData = await customerApi.getAllCustomers();
+      const customersData = await customerApi.getCustomerOptions();
       setCustomers(customersData);
     } catch (error) {
       toast.error('Failed to fetch customers');
@@ -111,7 +75,7 @@ const Notes = () => {
   const fetchDeals = async () => {
     try {
       setLoadingDeals(true);
-      const dealsData = await dealApi.getAllDeals();
+      const dealsData = await dealApi.getDealOptions();
       setDeals(dealsData);
     } catch (error) {
       toast.error('Failed to fetch deals');
@@ -250,23 +214,23 @@ const Notes = () => {
         </div>
       )}
 
+      <NoteFilters
+        onFilterChange={handleFilterChange}
+        customers={customers}
+        deals={deals}
+      />
+
       {!loading && !error && (
-        <>
-          <NoteFilters
-            onFilterChange={handleFilterChange}
+        <div className="bg-white dark:bg-gray-800 shadow rounded-lg overflow-hidden">
+          <NoteTable
+            notes={notes}
             customers={customers}
             deals={deals}
+            onEdit={openEditModal}
+            onDelete={handleDelete}
           />
-          <div className="bg-white dark:bg-gray-800 shadow rounded-lg overflow-hidden">
-            <NoteTable
-              notes={filteredAndSortedNotes}
-              customers={customers}
-              deals={deals}
-              onEdit={openEditModal}
-              onDelete={handleDelete}
-            />
-          </div>
-        </>
+          <Pager page={page} hasNext={hasNext} onPageChange={refetch} />
+        </div>
       )}
 
       <Modal
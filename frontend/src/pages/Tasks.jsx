@@ -1,63 +1,15 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState } from 'react';
 import { useTasks } from '../hooks/useTasks';
 import TaskForm from '../components/TaskForm';
 import Modal from '../components/Modal';
 import TaskFilters from '../components/TaskFilters';
+import Pager from '../components/Pager';
 
 const Tasks = () => {
-  const { tasks, loading, error, createTask, updateTask, deleteTask, fetchTasks, applyFilters, filters } = useTasks();
+  const { tasks, loading, error, createTask, updateTask, deleteTask, refetch, applyFilters, filters, page, hasNext } = useTasks();
   const [showModal, setShowModal] = useState(false);
   const [selectedTask, setSelectedTask] = useState(null);
   const [isEditMode, setIsEditMode] = useState(false);
-  const [filteredTasks, setFilteredTasks] = useState([]);
-
-  useEffect(() => {
-    // Filter tasks based on current filters
-    const filtered = tasks.filter(task => {
-      const matchesCustomer = filters.customerId ? task.customer?.id === filters.customerId : true;
-      const matchesStatus = filters.status ? task.status === filters.status : true;
-      const matchesPriority = filters.priority ? task.priority === filters.priority : true;
-      const matchesAssignedUser = filters.assignedUserId ? task.assignedTo === filters.assignedUserId : true;
-      
-      // Date filtering
-      let matchesDueDate = true;
-      if (filters.dueDateFrom) {
-        const dueDateFrom = new Date(filters.dueDateFrom);
-        const taskDueDate = task.dueDate ? new Date(task.dueDate) : null;
-        matchesDueDate = taskDueDate && taskDueDate >= dueDateFrom;
-      }
-      if (filters.dueDateTo && matchesDueDate) {
-        const dueDateTo = new Date(filters.dueDateTo);
-        const taskDueDate = task.dueDate ? new Date(task.dueDate) : null;
-        matchesDueDate = taskDueDate && taskDueDate <= dueDateTo;
-      }
-      
-      return matchesCustomer && matchesStatus && matchesPriority && matchesAssignedUser && matchesDueDate;
-    });
-
-    // Apply sorting
-    if (filters.sortBy) {
-      filtered.sort((a, b) => {
-        let aValue = a[filters.sortBy];
-        let bValue = b[filters.sortBy];
-        
-        // Handle date sorting
-        if (filters.sortBy === 'dueDate' || filters.sortBy === 'createdAt') {
-          aValue = aValue ? new Date(aValue) : null;
-          bValue = bValue ? new Date(bValue) : null;
-        }
-        
-        if (aValue === null || aValue === undefined) return 1;
-        if (bValue === null || bValue === undefined) return -1;
-        
-        if (aValue < bValue) return filters.sortOrder === 'asc' ? -1 : 1;
-        if (aValue > bValue) return filters.sortOrder === 'asc' ? 1 : -1;
-        return 0;
-      });
-    }
-
-    setFilteredTasks(filtered);
-  }, [tasks, filters]);
 
   const handleFilterChange = (newFilters) => {
     applyFilters(newFilters);
@@ -154,7 +106,7 @@ const Tasks = () => {
         <div className="px-6 py-4 border-b border-gray-200 dark:border-gray-700">
           <h2 className="text-lg font-semibold text-gray-800 dark:text-gray-100">All Tasks</h2>
           <p className="text-sm text-gray-600 dark:text-gray-400 mt-1">
-            {filteredTasks.length} {filteredTasks.length === 1 ? 'task' : 'tasks'} found
+            {tasks.length} {tasks.length === 1 ? 'task' : 'tasks'} on this page
           </p>
         </div>
         <div className="overflow-x-auto">
@@ -182,14 +134,14 @@ const Tasks = () => {
               </tr>
             </thead>
             <tbody className="bg-white dark:bg-gray-800 divide-y divide-gray-200 dark:divide-gray-700">
-              {filteredTasks.length === 0 ? (
+              {tasks.length === 0 ? (
                 <tr>
                   <td colSpan="6" className="px-6 py-8 text-center text-gray-500 dark:text-gray-400">
-                    {tasks.length === 0 ? 'No tasks found. Create your first task!' : 'No tasks match your current filters.'}
+                    No tasks match your current filters.
                   </td>
                 </tr>
               ) : (
-                filteredTasks.map((task) => (
+                tasks.map((task) => (
                   <tr key={task.id} className="hover:bg-gray-50 dark:hover:bg-gray-700">
                     <td className="px-6 py-4 whitespace-nowrap text-sm font-medium text-gray-900 dark:text-gray-100">
                       {task.title}
@@ -230,6 +182,7 @@ const Tasks = () => {
             </tbody>
           </table>
         </div>
+        <Pager page={page} hasNext={hasNext} onPageChange={refetch} />
       </div>
 
       <Modal 
@@ -3,10 +3,11 @@ import { toast } from 'react-hot-toast';
 import UserTable from '../components/UserTable';
 import UserForm from '../components/UserForm';
 import Modal from '../components/Modal';
+import Pager from '../components/Pager';
 import { useUsers } from '../hooks/useUsers';
 
 const Users = () => {
-  const { users, loading, error, fetchUsers, createUser, updateUser, deleteUser } = useUsers();
+  const { users, loading, error, page, hasNext, fetchUsers, createUser, updateUser, deleteUser } = useUsers();
   const [isModalOpen, setIsModalOpen] = useState(false);
   const [editingUser, setEditingUser] = useState(null);
   const [formLoading, setFormLoading] = useState(false);
@@ -99,6 +100,7 @@ const Users = () => {
         onDelete={handleDeleteUser}
         loading={loading}
       />
+      <Pager page={page} hasNext={hasNext} onPageChange={fetchUsers} disabled={loading} />
 
       <Modal
         isOpen={isModalOpen}
@@ -23,15 +23,33 @@ const getAuthHeaders = () => {
   };
 };
 
+// Fetch one page of a list endpoint; empty filter values are left out of the query
+const fetchPage = async (path, params = {}) => {
+  const query = new URLSearchParams();
+  Object.entries(params).forEach(([key, value]) => {
+    if (value !== null && value !== undefined && value !== '') {
+      query.append(key, value);
+    }
+  });
+  const response = await fetch(`${API_BASE_URL}${path}?${query}`, {
+    headers: getAuthHeaders()
+  });
+  await handleApiError(response);
+  return response.json();
+};
+
+// Select boxes offer the first page at the server's maximum page size (spring.data.web.pageable.max-page-size)
+const OPTIONS_PAGE_SIZE = 200;
+
 // Customer API functions
 export const customerApi = {
-  // Get all customers
-  getAllCustomers: async () => {
-    const response = await fetch(`${API_BASE_URL}/customers/allCustomers`, {
-      headers: getAuthHeaders()
-    });
-    await handleApiError(response);
-    return response.json();
+  // Get one page of customers, filtered and sorted on the server
+  getCustomerPage: async (params = {}) => fetchPage('/customers/page', params),
+
+  // Get customers for select boxes
+  getCustomerOptions: async () => {
+    const page = await fetchPage('/customers/page', { size: OPTIONS_PAGE_SIZE, sort: 'name' });
+    return page.content;
   },
 
   // Get customer by ID
@@ -116,16 +134,13 @@ export const customerApi = {
 
 // Deal API functions
 export const dealApi = {
-  // Get all deals
-  getAllDeals: async (params = {}) => {
-    const queryString = new URLSearchParams(params).toString();
-    const url = `${API_BASE_URL}/deals/getAllDeals${queryString ? '?' + queryString : ''}`;
-    
-    const response = await fetch(url, {
-      headers: getAuthHeaders()
-    });
-    await handleApiError(response);
-    return response.json();
+  // Get one page of deals, filtered and sorted on the server
+  getDealPage: async (params = {}) => fetchPage('/deals/page', params),
+
+  // Get deals for select boxes
+  getDealOptions: async () => {
+    const page = await fetchPage('/deals/page', { size: OPTIONS_PAGE_SIZE, sort: 'dealName' });
+    return page.content;
   },
 
   // Get deal by ID
@@ -175,14 +190,8 @@ export const dealApi = {
 
 // Task API functions
 export const taskApi = {
-  // Get all tasks
-  getAllTasks: async () => {
-    const response = await fetch(`${API_BASE_URL}/tasks/getAllTask`, {
-      headers: getAuthHeaders()
-    });
-    await handleApiError(response);
-    return response.json();
-  },
+  // Get one page of tasks, filtered and sorted on the server
+  getTaskPage: async (params = {}) => fetchPage('/tasks/page', params),
 
   // Get task by ID
   getTaskById: async (id) => {
@@ -231,14 +240,8 @@ export const taskApi = {
 
 // Contact API functions
 export const contactApi = {
-  // Get all contacts
-  getAllContacts: async () => {
-    const response = await fetch(`${API_BASE_URL}/contacts/allContact`, {
-      headers: getAuthHeaders()
-    });
-    await handleApiError(response);
-    return response.json();
-  },
+  // Get one page of contacts, filtered and sorted on the server
+  getContactPage: async (params = {}) => fetchPage('/contacts/page', params),
 
   // Get contact by ID
   getContactById: async (id) => {
@@ -287,13 +290,13 @@ export const contactApi = {
 
 // User API functions
 export const userApi = {
-  // Get all users
-  getAllUsers: async () => {
-    const response = await fetch(`${API_BASE_URL}/users/getAllUsers`, {
-      headers: getAuthHeaders()
-    });
-    await handleApiError(response);
-    return response.json();
+  // Get one page of users, filtered and sorted on the server
+  getUserPage: async (params = {}) => fetchPage('/users/page', params),
+
+  // Get users for select boxes
+  getUserOptions: async () => {
+    const page = await fetchPage('/users/page', { size: OPTIONS_PAGE_SIZE, sort: 'username' });
+    return page.content;
   },
 
   // Get user by ID
@@ -351,14 +354,8 @@ export const userApi = {
 
 // Note API functions
 export const noteApi = {
-  // Get all notes
-  getAllNotes: async () => {
-    const response = await fetch(`${API_BASE_URL}/notes/getAllNotes`, {
-      headers: getAuthHeaders()
-    });
-    await handleApiError(response);
-    return response.json();
-  },
+  // Get one page of notes, filtered and sorted on the server
+  getNotePage: async (params = {}) => fetchPage('/notes/page', params),
 
   // Get note by ID
   getNoteById: async (id) => {
@@ -402,60 +399,38 @@ export const noteApi = {
   },
 };
 
-export const searchGlobal = async (query) => {
-  try {
-    const response = await fetch(`${API_BASE_URL}/search/global?query=${encodeURIComponent(query)}`, {
+// Dashboard API functions
+export const dashboardApi = {
+  // Counts and pipeline totals, aggregated on the server
+  getSummary: async () => {
+    const response = await fetch(`${API_BASE_URL}/dashboard/summary`, {
       headers: getAuthHeaders()
     });
-    
-    await handleApiError(response);
-    const results = await response.json();
-    
-    // Format results with proper type labels
-    return results.map(result => {
-      let type = 'Unknown';
-      let name = 'Unknown';
-      
-      // Determine entity type and name based on available fields
-      // Use more specific checks to avoid ambiguity
-      if (result.email && result.position) {
-        // Contact has both email and position fields
-        type = 'Contact';
-        name = result.name;
-      } else if (result.name && result.company && !result.email) {
-        // Customer has name and company but no email (contacts have email)
-        type = 'Customer';
-        name = result.name;
-      } else if (result.dealName) {
-        type = 'Deal';
-        name = result.dealName;
-      } else if (result.description && result.dueDate) {
-        // Task has description and dueDate
-        type = 'Task';
-        name = result.description;
-      } else if (result.subject && result.content) {
-        // Note has subject and content
-        type = 'Note';
-        name = result.subject;
-      } else if (result.username) {
-        type = 'User';
-        name = result.username;
-      } else if (result.name && result.email) {
-        // If it has name and email but no position, it's likely a customer
-        type = 'Customer';
-        name = result.name;
-      }
-      
-      return {
-        ...result,
-        type: type,
-        name: name,
-        displayName: `${type}: ${name}`,
-        id: result.id // Ensure the ID is included for navigation
-      };
+    await handleApiError(response);
+    return response.json();
+  },
+};
+
+// Typeahead for the header search box: prefix completions of customer and contact names, company names and
+// emails from the in-memory index, cheap enough to ask for on every keystroke
+export const searchTypeahead = async (prefix, limit = 10) => {
+  try {
+    const params = new URLSearchParams({ prefix, limit });
+    const response = await fetch(`${API_BASE_URL}/search/autocomplete?${params}`, {
+      headers: getAuthHeaders()
     });
+
+    await handleApiError(response);
+    const completions = await response.json();
+
+    return completions.map(({ entityType, id, label }) => ({
+      type: entityType,
+      id,
+      name: label,
+      displayName: `${entityType}: ${label}`
+    }));
   } catch (error) {
-    console.error('Global search error:', error);
+    console.error('Typeahead search error:', error);
     return [];
   }
 };